@@ -17,7 +17,12 @@ android {
     }
 
     buildTypes {
+        debug {
+            // Métricas locales de rendimiento (pantalla de métricas)
+            buildConfigField("boolean", "METRICS_ENABLED", "true")
+        }
         release {
+            buildConfigField("boolean", "METRICS_ENABLED", "false")
             isMinifyEnabled = false
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
@@ -33,6 +38,25 @@ android {
 
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+
+    testOptions {
+        unitTests {
+            // Robolectric infla los layouts reales de la app
+            isIncludeAndroidResources = true
+            all {
+                // Tamaños de RosterLoadTest: por defecto solo los chicos; los grandes
+                // se piden a mano con -PloadTestSizes=1000,10000,100000,1000000
+                val loadTestSizes = project.findProperty("loadTestSizes") as String?
+                it.systemProperty("loadtest.sizes", loadTestSizes ?: "1000,10000")
+                it.systemProperty("loadtest.reportDir",
+                    layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+                if (loadTestSizes != null) {
+                    it.maxHeapSize = "2g"
+                }
+            }
+        }
     }
 }
 
@@ -49,6 +73,8 @@ dependencies {
     implementation("androidx.recyclerview:recyclerview:1.3.1")
 
     testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.11.1")
+    testImplementation("androidx.test:core:1.5.0")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
 }
\ No newline at end of file
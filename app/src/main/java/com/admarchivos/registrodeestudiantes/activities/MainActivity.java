@@ -5,10 +5,20 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.view.MotionEvent;
 import android.view.View;
+import android.widget.ImageView;
 import androidx.appcompat.app.AppCompatActivity;
 import android.graphics.Color;
 import com.google.android.material.button.MaterialButton;
 import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.data.IoScheduler;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
+import com.admarchivos.registrodeestudiantes.startup.StartupAnimation;
+import com.admarchivos.registrodeestudiantes.startup.StartupTiming;
+import com.airbnb.lottie.LottieAnimationView;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieListener;
+import com.airbnb.lottie.LottieTask;
 
 /**
  * Actividad principal de la aplicación - Pantalla de bienvenida
@@ -16,12 +26,23 @@ import com.admarchivos.registrodeestudiantes.R;
  */
 public class MainActivity extends AppCompatActivity {
 
+    // Extra para medir el inicio con la carga síncrona anterior (benchmark/startup-timing.sh)
+    public static final String EXTRA_SYNC_ANIMATION = "sync_animation";
+
+    private LottieAnimationView animationView;
+    private ImageView ivAnimationPlaceholder;
+
+    // Tarea de carga de la animación y su listener, para soltarlo en onDestroy
+    private LottieTask<LottieComposition> animationTask;
+    private LottieListener<LottieComposition> animationListener;
+
     /**
      * Metodo llamado cuando la actividad es creada por primera vez
      * Se encarga de inicializar la interfaz de usuario y configurar los eventos
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTiming timing = StartupTiming.begin();
         super.onCreate(savedInstanceState);
         // Hacer status bar transparente
         getWindow().setStatusBarColor(Color.TRANSPARENT);
@@ -33,6 +54,30 @@ public class MainActivity extends AppCompatActivity {
         // Establece el layout XML que define la interfaz de usuario
         setContentView(R.layout.activity_main);
 
+        // Cargar la animación sin bloquear el primer cuadro
+        animationView = findViewById(R.id.animationView);
+        ivAnimationPlaceholder = findViewById(R.id.ivAnimationPlaceholder);
+        boolean syncAnimation = getIntent().getBooleanExtra(EXTRA_SYNC_ANIMATION, false);
+        if (syncAnimation) {
+            showAnimation(StartupAnimation.loadSync(this));
+            timing.reportFirstFrame(this, "sync", Metrics.STARTUP_FIRST_FRAME_SYNC);
+        } else {
+            loadAnimation(timing);
+            timing.reportFirstFrame(this, "async", Metrics.STARTUP_FIRST_FRAME_ASYNC);
+        }
+
+        // En debug, una pulsación larga sobre el título abre la pantalla de métricas
+        if (Metrics.COMPILED) {
+            findViewById(R.id.tvWelcome).setOnLongClickListener(v -> {
+                startActivity(new Intent(this, MetricsActivity.class));
+                return true;
+            });
+        }
+
+        // Abrir el almacenamiento en segundo plano; si se acaba de elegir SQLite, aquí se importa el log
+        StudentRepository studentRepository = StudentRepository.getInstance(this);
+        IoScheduler.getInstance().read(this, studentRepository::size, null);
+
         // Obtiene referencia al botón del layout usando su ID CORREGIDO
         MaterialButton btnGoToRegister = findViewById(R.id.btnGoToRegister);
 
@@ -93,4 +138,45 @@ public class MainActivity extends AppCompatActivity {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Muestra la animación desde la caché o espera la carga en segundo plano
+     * - Si la actividad se recrea, la composición ya está en memoria y se muestra al instante
+     * - Mientras tanto se ve la imagen liviana de marcador
+     */
+    private void loadAnimation(StartupTiming timing) {
+        LottieComposition cached = StartupAnimation.getCached();
+        if (cached != null) {
+            showAnimation(cached);
+            return;
+        }
+        animationListener = composition -> {
+            Metrics.ANIMATION_READY.record(timing.elapsedNanos());
+            showAnimation(composition);
+        };
+        animationTask = StartupAnimation.load(this);
+        animationTask.addListener(animationListener);
+    }
+
+    /**
+     * Reemplaza el marcador por la animación y la reproduce
+     */
+    private void showAnimation(LottieComposition composition) {
+        if (composition == null) {
+            // Si no se pudo cargar, queda el marcador
+            return;
+        }
+        animationView.setComposition(composition);
+        animationView.playAnimation();
+        ivAnimationPlaceholder.setVisibility(View.GONE);
+    }
+
+    @Override
+    protected void onDestroy() {
+        // La tarea es del proceso: soltar el listener para no retener esta actividad
+        if (animationTask != null) {
+            animationTask.removeListener(animationListener);
+        }
+        super.onDestroy();
+    }
+}
@@ -0,0 +1,132 @@
+package com.admarchivos.registrodeestudiantes.activities;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.appcompat.app.AppCompatActivity;
+import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.data.IoScheduler;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
+import com.admarchivos.registrodeestudiantes.metrics.MetricsReport;
+import com.google.android.material.button.MaterialButton;
+import com.google.android.material.switchmaterial.SwitchMaterial;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pantalla de depuración con las métricas de rendimiento
+ * Solo se puede abrir en compilaciones con métricas (debug), con una
+ * pulsación larga sobre el título de MainActivity.
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    // Archivos del volcado, en el almacenamiento privado de la app
+    private static final String JSON_FILE_NAME = "metrics.json";
+    private static final String TEXT_FILE_NAME = "metrics.txt";
+
+    private TextView tvMetrics;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (!Metrics.COMPILED) {
+            finish();
+            return;
+        }
+        setContentView(R.layout.activity_metrics);
+
+        tvMetrics = findViewById(R.id.tvMetrics);
+        SwitchMaterial switchMetrics = findViewById(R.id.switchMetrics);
+        MaterialButton btnRefresh = findViewById(R.id.btnRefreshMetrics);
+        MaterialButton btnReset = findViewById(R.id.btnResetMetrics);
+        MaterialButton btnSave = findViewById(R.id.btnSaveMetrics);
+
+        switchMetrics.setChecked(Metrics.isEnabled());
+        switchMetrics.setOnCheckedChangeListener((button, checked) -> {
+            Metrics.setEnabled(checked);
+            showMetrics();
+        });
+        btnRefresh.setOnClickListener(v -> showMetrics());
+        btnReset.setOnClickListener(v -> {
+            Metrics.reset();
+            showMetrics();
+        });
+        btnSave.setOnClickListener(v -> saveDump());
+
+        SwitchMaterial switchSqlite = findViewById(R.id.switchSqlite);
+        bindStorageSwitch(switchSqlite);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showMetrics();
+    }
+
+    private void showMetrics() {
+        tvMetrics.setText(MetricsReport.toText());
+    }
+
+    /**
+     * Permite pasar el almacenamiento a SQLite para comparar su rendimiento con el log
+     * El cambio es en un solo sentido, así que una vez hecho el switch queda bloqueado.
+     */
+    private void bindStorageSwitch(SwitchMaterial switchSqlite) {
+        boolean sqlite = StudentRepository.getBackend(this) == StudentRepository.Backend.SQLITE;
+        switchSqlite.setOnCheckedChangeListener(null);
+        switchSqlite.setChecked(sqlite);
+        switchSqlite.setEnabled(!sqlite);
+        switchSqlite.setOnCheckedChangeListener((button, checked) -> {
+            button.setEnabled(false);
+            IoScheduler.getInstance().write(this, () -> {
+                StudentRepository.switchToSqlite(getApplicationContext());
+                return null;
+            }, new IoScheduler.Callback<Void>() {
+                @Override
+                public void onResult(Void result) {
+                    Toast.makeText(MetricsActivity.this,
+                            "Se usará SQLite al volver a abrir la app", Toast.LENGTH_LONG).show();
+                }
+
+                @Override
+                public void onError(Exception error) {
+                    bindStorageSwitch(switchSqlite);
+                    Toast.makeText(MetricsActivity.this,
+                            "No se pudo cambiar el almacenamiento", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+    }
+
+    /**
+     * Guarda el volcado en JSON y en texto dentro de la carpeta privada de la app
+     */
+    private void saveDump() {
+        File directory = getFilesDir();
+        IoScheduler.getInstance().write(this, () -> {
+            File json = new File(directory, JSON_FILE_NAME);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(json), StandardCharsets.UTF_8)) {
+                MetricsReport.writeJson(writer);
+            }
+            try (Writer writer = new OutputStreamWriter(
+                    new FileOutputStream(new File(directory, TEXT_FILE_NAME)), StandardCharsets.UTF_8)) {
+                writer.write(MetricsReport.toText());
+            }
+            return json;
+        }, new IoScheduler.Callback<File>() {
+            @Override
+            public void onResult(File json) {
+                Toast.makeText(MetricsActivity.this, "Guardado en " + json.getPath(), Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Toast.makeText(MetricsActivity.this, "No se pudieron guardar las métricas", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+}
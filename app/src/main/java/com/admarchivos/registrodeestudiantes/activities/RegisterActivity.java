@@ -1,37 +1,102 @@
 package com.admarchivos.registrodeestudiantes.activities;
 
+import android.app.Activity;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.graphics.Color;
+import android.net.Uri;
 import android.os.Bundle;
 import android.text.InputFilter;
 import android.text.TextWatcher;
 import android.text.Editable;
+import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
+import android.widget.CheckBox;
+import android.widget.RadioGroup;
+import android.widget.TextView;
 import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.data.IoScheduler;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.data.StudentWriteBatcher;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
 import com.admarchivos.registrodeestudiantes.models.Student;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
+import com.admarchivos.registrodeestudiantes.search.DuplicateDetector;
+import com.admarchivos.registrodeestudiantes.transfer.ImportReport;
+import com.admarchivos.registrodeestudiantes.transfer.RosterExporter;
+import com.admarchivos.registrodeestudiantes.transfer.RosterImporter;
+import com.admarchivos.registrodeestudiantes.validation.LettersAndSpacesFilter;
+import com.admarchivos.registrodeestudiantes.validation.StudentValidator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * Actividad para registrar nuevos estudiantes
- * Permite capturar datos del estudiante y guardarlos en SharedPreferences
+ * Permite capturar datos del estudiante y guardarlos en el journal de estudiantes
  */
 public class RegisterActivity extends AppCompatActivity {
 
+    // Tipos que se ofrecen al elegir el archivo CSV a importar
+    private static final String[] CSV_MIME_TYPES = {"text/csv", "text/comma-separated-values", "text/plain"};
+
+    // Claves para conservar las opciones de exportación mientras se elige el archivo
+    private static final String STATE_EXPORT_JSON = "export_json";
+    private static final String STATE_EXPORT_GZIP = "export_gzip";
+    private static final String STATE_EXPORT_FROM = "export_from";
+    private static final String STATE_EXPORT_TO = "export_to";
+
+    // Errores de fila que se muestran en el resumen de importación
+    private static final int MAX_SHOWN_ERRORS = 10;
+
+    // Posibles repetidos que se muestran antes de registrar
+    private static final int MAX_SHOWN_DUPLICATES = 3;
+
     // Campos de entrada de texto para los datos del estudiante
     private TextInputEditText etName, etLastName, etEmail, etStudentCode;
 
-    // SharedPreferences para persistencia de datos
-    private SharedPreferences sharedPreferences;
+    // Repositorio compartido de estudiantes (caché sobre el journal)
+    private StudentRepository studentRepository;
+
+    // Agrupa los registros seguidos en una sola escritura
+    private StudentWriteBatcher writeBatcher;
+
+    // Avance de la importación/exportación y bandera para no lanzar dos a la vez
+    private TextView tvTransferStatus;
+    private boolean transferring;
+
+    // Selector de documentos para elegir el CSV a importar
+    private final ActivityResultLauncher<String[]> openCsv = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri != null) {
+                    importCsv(uri);
+                }
+            });
+
+    // Selector para elegir dónde guardar la exportación; el tipo MIME depende
+    // del formato elegido, por eso se arma el Intent en vez de usar CreateDocument
+    private final ActivityResultLauncher<Intent> createExportFile = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(), result -> {
+                Intent data = result.getData();
+                if (result.getResultCode() == Activity.RESULT_OK && data != null && data.getData() != null) {
+                    exportTo(data.getData());
+                }
+            });
+
+    // Opciones elegidas para la exportación en curso
+    private boolean exportJson;
+    private boolean exportGzip;
+    private String exportFromCode;
+    private String exportToCode;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -45,18 +110,60 @@ public class RegisterActivity extends AppCompatActivity {
 
         setContentView(R.layout.activity_register);
 
+        if (savedInstanceState != null) {
+            exportJson = savedInstanceState.getBoolean(STATE_EXPORT_JSON);
+            exportGzip = savedInstanceState.getBoolean(STATE_EXPORT_GZIP);
+            exportFromCode = savedInstanceState.getString(STATE_EXPORT_FROM);
+            exportToCode = savedInstanceState.getString(STATE_EXPORT_TO);
+        }
+
         initViews();
 
-        // Obtener referencia a SharedPreferences con nombre "StudentPrefs"
-        sharedPreferences = getSharedPreferences("StudentPrefs", MODE_PRIVATE);
+        // Obtener el repositorio compartido (se abre en el hilo de E/S al primer uso)
+        studentRepository = StudentRepository.getInstance(this);
+        writeBatcher = StudentWriteBatcher.getInstance(this);
+
+        // Construir de antemano el detector de repetidos, así el primer registro no lo espera
+        IoScheduler.getInstance().read(this, studentRepository::getDuplicateDetector, null);
 
         // Obtener referencias a los botones del layout
         MaterialButton btnSave = findViewById(R.id.btnSave);
         MaterialButton btnViewList = findViewById(R.id.btnViewList);
+        MaterialButton btnImport = findViewById(R.id.btnImport);
+        MaterialButton btnExport = findViewById(R.id.btnExport);
+        tvTransferStatus = findViewById(R.id.tvTransferStatus);
 
         // Configurar eventos táctiles igual que en MainActivity
         setupButtonWithEffects(btnSave, v -> saveStudent(), R.drawable.button_gradient_save_pressed, R.drawable.button_white_rounded);
         setupButtonWithEffects(btnViewList, v -> goToStudentList(), R.drawable.button_gradient_view_pressed, R.drawable.button_white_rounded);
+        setupButtonWithEffects(btnImport, v -> chooseCsvFile(), R.drawable.button_gradient_view_pressed, R.drawable.button_white_rounded);
+        setupButtonWithEffects(btnExport, v -> showExportDialog(), R.drawable.button_gradient_view_pressed, R.drawable.button_white_rounded);
+    }
+
+    /**
+     * Metodo llamado al salir de la pantalla
+     * Pasa al hilo escritor el lote abierto, así las lecturas de la pantalla
+     * siguiente esperan a los registros recién hechos
+     */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        writeBatcher.flush();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        writeBatcher.flush();
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putBoolean(STATE_EXPORT_JSON, exportJson);
+        outState.putBoolean(STATE_EXPORT_GZIP, exportGzip);
+        outState.putString(STATE_EXPORT_FROM, exportFromCode);
+        outState.putString(STATE_EXPORT_TO, exportToCode);
     }
 
     /**
@@ -123,7 +230,7 @@ public class RegisterActivity extends AppCompatActivity {
      */
     private void setupRealTimeValidation() {
         // Aplicar filtro para solo letras y espacios
-        InputFilter lettersFilter = getLettersAndSpacesOnlyFilter();
+        InputFilter lettersFilter = new LettersAndSpacesFilter();
         etName.setFilters(new InputFilter[]{lettersFilter, new InputFilter.LengthFilter(30)});
         etLastName.setFilters(new InputFilter[]{lettersFilter, new InputFilter.LengthFilter(30)});
 
@@ -135,7 +242,7 @@ public class RegisterActivity extends AppCompatActivity {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 if (s != null) {
-                    validateNameField(etName, s.toString());
+                    validateNameField(etName, s);
                 }
             }
 
@@ -151,7 +258,7 @@ public class RegisterActivity extends AppCompatActivity {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 if (s != null) {
-                    validateNameField(etLastName, s.toString());
+                    validateNameField(etLastName, s);
                 }
             }
 
@@ -162,44 +269,16 @@ public class RegisterActivity extends AppCompatActivity {
 
     /**
      * Valida un campo de nombre/apellido en tiempo real
+     * Recibe el texto del campo tal cual, sin copiarlo a un String
      */
-    private void validateNameField(TextInputEditText field, String text) {
-        if (!text.isEmpty() && !isValidName(text)) {
+    private void validateNameField(TextInputEditText field, CharSequence text) {
+        if (text.length() > 0 && !StudentValidator.isValidName(text)) {
             field.setError("Solo se permiten letras y espacios");
         } else {
             field.setError(null);
         }
     }
 
-    /**
-     * Filtro que permite SOLO letras, espacios y caracteres acentuados
-     */
-    private InputFilter getLettersAndSpacesOnlyFilter() {
-        return (source, start, end, dest, dstart, dend) -> {
-            if (source.length() == 0) return null;
-
-            StringBuilder filteredString = new StringBuilder();
-            for (int i = start; i < end; i++) {
-                char c = source.charAt(i);
-                if (Character.isLetter(c) || c == ' ' ||
-                        c == 'á' || c == 'é' || c == 'í' || c == 'ó' || c == 'ú' ||
-                        c == 'Á' || c == 'É' || c == 'Í' || c == 'Ó' || c == 'Ú' ||
-                        c == 'ñ' || c == 'Ñ' || c == 'ü' || c == 'Ü') {
-                    filteredString.append(c);
-                }
-                // Los caracteres no permitidos se ignoran silenciosamente
-            }
-            return filteredString.toString();
-        };
-    }
-
-    /**
-     * Verifica si un texto contiene SOLO letras y espacios
-     */
-    private boolean isValidName(String text) {
-        return text.matches("^[a-zA-ZáéíóúÁÉÍÓÚñÑüÜ\\s]+$");
-    }
-
     private void saveStudent() {
         // Obtener y limpiar los textos de los campos de entrada
         String name = etName.getText() != null ? etName.getText().toString().trim() : "";
@@ -214,20 +293,20 @@ public class RegisterActivity extends AppCompatActivity {
         }
 
         // Validar que nombre y apellido solo contengan letras y espacios
-        if (!isValidName(name)) {
+        if (!StudentValidator.isValidName(name)) {
             etName.setError("Solo se permiten letras y espacios");
             etName.requestFocus();
             return;
         }
 
-        if (!isValidName(lastName)) {
+        if (!StudentValidator.isValidName(lastName)) {
             etLastName.setError("Solo se permiten letras y espacios");
             etLastName.requestFocus();
             return;
         }
 
         // Validar formato de email
-        if (!isValidEmail(email)) {
+        if (!StudentValidator.isValidEmail(email)) {
             etEmail.setError("Ingrese un email válido");
             etEmail.requestFocus();
             return;
@@ -236,40 +315,92 @@ public class RegisterActivity extends AppCompatActivity {
         // Crear nuevo objeto Student con los datos capturados
         Student newStudent = new Student(name, lastName, email, studentCode);
 
-        // Obtener lista actual de estudiantes desde SharedPreferences
-        List<Student> studentList = getStudentsFromSharedPreferences();
-
-        studentList.add(newStudent);
-
-        saveStudentsToSharedPreferences(studentList);
-
-        Toast.makeText(this, "Estudiante registrado exitosamente", Toast.LENGTH_SHORT).show();
-
-        clearFields();
+        // Antes de registrar, buscar estudiantes casi iguales ("José Pérez" y "Jose Perez")
+        long start = Metrics.start();
+        IoScheduler.getInstance().read(this,
+                () -> studentRepository.findPossibleDuplicates(newStudent, MAX_SHOWN_DUPLICATES),
+                new IoScheduler.Callback<List<DuplicateDetector.Match>>() {
+                    @Override
+                    public void onResult(List<DuplicateDetector.Match> matches) {
+                        Metrics.DUPLICATE_CHECK.recordSince(start);
+                        if (matches.isEmpty()) {
+                            submitStudent(newStudent);
+                        } else {
+                            confirmPossibleDuplicate(newStudent, matches);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception error) {
+                        // Sin el aviso se registra igual; el índice único sigue rechazando repetidos exactos
+                        submitStudent(newStudent);
+                    }
+                });
     }
 
     /**
-     * Valida formato de email
+     * Muestra los estudiantes parecidos y deja registrar igual o cancelar
      */
-    private boolean isValidEmail(String email) {
-        String emailPattern = "[a-zA-Z0-9._-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,4}";
-        return email.matches(emailPattern);
+    private void confirmPossibleDuplicate(Student newStudent, List<DuplicateDetector.Match> matches) {
+        StringBuilder message = new StringBuilder("Ya hay estudiantes parecidos registrados:\n");
+        for (DuplicateDetector.Match match : matches) {
+            Student existing = match.student;
+            message.append("\n• ").append(existing.getName()).append(' ').append(existing.getLastName())
+                    .append(" (").append(existing.getStudentCode()).append(")\n  ")
+                    .append(existing.getEmail());
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Posible estudiante repetido")
+                .setMessage(message)
+                .setNegativeButton("Cancelar", null)
+                .setPositiveButton("Registrar igual", (dialog, which) -> submitStudent(newStudent))
+                .show();
     }
 
-    private List<Student> getStudentsFromSharedPreferences() {
-        String studentsJson = sharedPreferences.getString("students_list", "[]");
-        Gson gson = new Gson();
-        Type type = new TypeToken<List<Student>>(){}.getType();
-        List<Student> studentList = gson.fromJson(studentsJson, type);
-        return studentList != null ? studentList : new ArrayList<>();
+    private void submitStudent(Student newStudent) {
+        // Sumar el estudiante al lote abierto; se escribe junto con los que lleguen
+        // enseguida, en el hilo escritor y sin bloquear la interfaz.
+        // El índice único rechaza códigos o emails ya registrados.
+        // Los campos se limpian recién cuando el lote está en el archivo
+        long start = Metrics.start();
+        writeBatcher.submit(newStudent, new StudentWriteBatcher.Listener() {
+            @Override
+            public void onCommitted(StudentRepository.AddResult result) {
+                Metrics.SAVE_STUDENT.recordSince(start);
+                if (result == StudentRepository.AddResult.ADDED) {
+                    Metrics.SAVED_STUDENTS.increment();
+                } else {
+                    Metrics.REJECTED_DUPLICATES.increment();
+                }
+                IoScheduler.getInstance().postToMain(RegisterActivity.this, () -> showSaveResult(result));
+            }
+
+            @Override
+            public void onFailed(Exception error) {
+                IoScheduler.getInstance().postToMain(RegisterActivity.this, () ->
+                        Toast.makeText(RegisterActivity.this, "No se pudo guardar el estudiante", Toast.LENGTH_SHORT).show());
+            }
+        });
     }
 
-    private void saveStudentsToSharedPreferences(List<Student> studentList) {
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        Gson gson = new Gson();
-        String studentsJson = gson.toJson(studentList);
-        editor.putString("students_list", studentsJson);
-        editor.apply();
+    /**
+     * Muestra el resultado de un registro ya escrito
+     */
+    private void showSaveResult(StudentRepository.AddResult result) {
+        switch (result) {
+            case DUPLICATE_CODE:
+                etStudentCode.setError("Ya existe un estudiante con este código");
+                etStudentCode.requestFocus();
+                break;
+            case DUPLICATE_EMAIL:
+                etEmail.setError("Ya existe un estudiante con este email");
+                etEmail.requestFocus();
+                break;
+            default:
+                Toast.makeText(this, "Estudiante registrado exitosamente", Toast.LENGTH_SHORT).show();
+                clearFields();
+                break;
+        }
     }
 
     private void clearFields() {
@@ -283,4 +414,149 @@ public class RegisterActivity extends AppCompatActivity {
         Intent intent = new Intent(this, StudentListActivity.class);
         startActivity(intent);
     }
+
+    /**
+     * Abre el selector de documentos para elegir el CSV a importar
+     */
+    private void chooseCsvFile() {
+        if (transferring) {
+            return;
+        }
+        openCsv.launch(CSV_MIME_TYPES);
+    }
+
+    /**
+     * Muestra las opciones de exportación: formato, compresión y rango de códigos
+     * Al aceptar se abre el selector para elegir dónde guardar el archivo
+     */
+    private void showExportDialog() {
+        if (transferring) {
+            return;
+        }
+        View content = LayoutInflater.from(this).inflate(R.layout.dialog_export, null);
+        RadioGroup rgFormat = content.findViewById(R.id.rgExportFormat);
+        CheckBox cbGzip = content.findViewById(R.id.cbExportGzip);
+        TextInputEditText etFrom = content.findViewById(R.id.etExportFromCode);
+        TextInputEditText etTo = content.findViewById(R.id.etExportToCode);
+
+        new AlertDialog.Builder(this)
+                .setTitle("Exportar estudiantes")
+                .setView(content)
+                .setNegativeButton("Cancelar", null)
+                .setPositiveButton("Exportar", (dialog, which) -> {
+                    exportJson = rgFormat.getCheckedRadioButtonId() == R.id.rbExportJson;
+                    exportGzip = cbGzip.isChecked();
+                    exportFromCode = etFrom.getText() != null ? etFrom.getText().toString().trim() : "";
+                    exportToCode = etTo.getText() != null ? etTo.getText().toString().trim() : "";
+
+                    RosterExporter.Format format = exportJson ? RosterExporter.Format.JSON : RosterExporter.Format.CSV;
+                    Intent intent = new Intent(Intent.ACTION_CREATE_DOCUMENT);
+                    intent.addCategory(Intent.CATEGORY_OPENABLE);
+                    intent.setType(format.mimeType(exportGzip));
+                    intent.putExtra(Intent.EXTRA_TITLE, format.fileName("estudiantes", exportGzip));
+                    createExportFile.launch(intent);
+                })
+                .show();
+    }
+
+    /**
+     * Exporta los estudiantes al archivo elegido, en un hilo lector
+     * - Los registros se leen por lotes y se escriben directo al archivo,
+     *   sin armar la lista completa ni un String gigante en memoria
+     */
+    private void exportTo(Uri uri) {
+        transferring = true;
+        tvTransferStatus.setVisibility(View.VISIBLE);
+        tvTransferStatus.setText("Exportando...");
+
+        RosterExporter exporter = new RosterExporter(studentRepository)
+                .setFormat(exportJson ? RosterExporter.Format.JSON : RosterExporter.Format.CSV)
+                .setGzip(exportGzip)
+                .setCodeRange(exportFromCode, exportToCode);
+        IoScheduler.getInstance().read(this, () -> {
+            OutputStream output = getContentResolver().openOutputStream(uri);
+            if (output == null) {
+                throw new IOException("No se pudo abrir " + uri);
+            }
+            return exporter.export(output, (scanned, total) -> IoScheduler.getInstance().postToMain(this, () ->
+                    tvTransferStatus.setText("Exportando... " + scanned + " de " + total)));
+        }, new IoScheduler.Callback<Integer>() {
+            @Override
+            public void onResult(Integer exported) {
+                transferring = false;
+                tvTransferStatus.setText("Exportados " + exported + " estudiantes");
+                Toast.makeText(RegisterActivity.this, "Exportación terminada", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onError(Exception error) {
+                transferring = false;
+                tvTransferStatus.setText("No se pudo exportar");
+                Toast.makeText(RegisterActivity.this, "No se pudo exportar el archivo", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /**
+     * Importa el CSV: se lee en un hilo lector y cada lote es una escritura aparte
+     * - El archivo se lee por filas y se guarda por lotes, sin cargarlo completo en memoria
+     * - Entre lote y lote el hilo escritor atiende los demás registros
+     * - El avance se muestra después de cada lote
+     * - Al terminar se muestra un resumen con los primeros errores
+     */
+    private void importCsv(Uri uri) {
+        transferring = true;
+        tvTransferStatus.setVisibility(View.VISIBLE);
+        tvTransferStatus.setText("Importando...");
+
+        RosterImporter importer = new RosterImporter(studentRepository, RosterImporter.DEFAULT_BATCH_SIZE,
+                IoScheduler.getInstance().writeExecutor());
+        IoScheduler.getInstance().read(this, () -> {
+            InputStream input = getContentResolver().openInputStream(uri);
+            if (input == null) {
+                throw new IOException("No se pudo abrir " + uri);
+            }
+            return importer.importCsv(new InputStreamReader(input, StandardCharsets.UTF_8),
+                    (rowsRead, imported) -> IoScheduler.getInstance().postToMain(this, () ->
+                            tvTransferStatus.setText("Importando... " + imported + " de " + rowsRead + " filas")));
+        }, new IoScheduler.Callback<ImportReport>() {
+            @Override
+            public void onResult(ImportReport report) {
+                transferring = false;
+                tvTransferStatus.setText("Importados " + report.getImported() + " de " + report.getRowsRead() + " filas");
+                showImportSummary(report);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                transferring = false;
+                tvTransferStatus.setText("No se pudo importar el archivo");
+                Toast.makeText(RegisterActivity.this, "No se pudo importar el archivo", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /**
+     * Muestra el resumen de la importación con los primeros errores por fila
+     */
+    private void showImportSummary(ImportReport report) {
+        StringBuilder message = new StringBuilder();
+        message.append("Importados: ").append(report.getImported())
+                .append("\nRechazados: ").append(report.getRejected());
+        int shown = Math.min(MAX_SHOWN_ERRORS, report.getErrors().size());
+        if (shown > 0) {
+            message.append("\n");
+            for (int i = 0; i < shown; i++) {
+                message.append("\n").append(report.getErrors().get(i));
+            }
+            if (report.getRejected() > shown) {
+                message.append("\n... y ").append(report.getRejected() - shown).append(" más");
+            }
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Importación terminada")
+                .setMessage(message)
+                .setPositiveButton("Aceptar", null)
+                .show();
+    }
 }
\ No newline at end of file
@@ -1,34 +1,91 @@
 package com.admarchivos.registrodeestudiantes.activities;
 
-import android.content.Intent;
-import android.content.SharedPreferences;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.widget.Button;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.admarchivos.registrodeestudiantes.R;
 import com.admarchivos.registrodeestudiantes.adapters.StudentAdapter;
+import com.admarchivos.registrodeestudiantes.data.CompactRoster;
+import com.admarchivos.registrodeestudiantes.data.IoScheduler;
+import com.admarchivos.registrodeestudiantes.data.LiveRoster;
+import com.admarchivos.registrodeestudiantes.data.RosterChange;
+import com.admarchivos.registrodeestudiantes.data.RosterChangeFeed;
+import com.admarchivos.registrodeestudiantes.data.StudentPageLoader;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.metrics.FrameMonitor;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
 import com.admarchivos.registrodeestudiantes.models.Student;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.admarchivos.registrodeestudiantes.search.SortOrder;
+import com.admarchivos.registrodeestudiantes.search.StudentSortIndex;
+import com.google.android.material.button.MaterialButtonToggleGroup;
+import com.google.android.material.textfield.TextInputEditText;
 import java.util.List;
 
 /**
  * Activity para mostrar la lista de estudiantes registrados
- * Permite visualizar todos los estudiantes guardados en SharedPreferences
+ * Permite visualizar todos los estudiantes guardados en el journal de estudiantes
+ * La lista se mantiene al día con el flujo de cambios del repositorio. Si la
+ * actividad se recrea (rotación) se retoma desde su última secuencia; al cerrar
+ * la pantalla se descarta y al volver se lee de nuevo, desde las páginas que el
+ * repositorio todavía tenga en memoria.
  */
-public class StudentListActivity extends AppCompatActivity {
+public class StudentListActivity extends AppCompatActivity implements RosterChangeFeed.Listener {
+
+    // Cuántas filas antes del final se pide la siguiente página
+    private static final int LOAD_MORE_THRESHOLD = 15;
+
+    // Máximo de resultados mostrados por búsqueda
+    private static final int SEARCH_RESULT_LIMIT = 200;
+
+    // Estudiantes por página en los órdenes por apellido, nombre o código
+    private static final int SORTED_PAGE_SIZE = StudentPageLoader.DEFAULT_PAGE_SIZE;
+
+    // Clave para conservar el orden elegido al recrear la actividad
+    private static final String STATE_SORT_ORDER = "sort_order";
 
     // Componentes de la UI
     private RecyclerView recyclerView;
     private StudentAdapter adapter;
-    private List<Student> studentList;
+
+    // Lista que sobrevive a la recreación de la actividad (rotación), para
+    // retomarla desde su última secuencia
+    private ListState listState;
+
+    // Estudiantes mostrados del más reciente al más antiguo: páginas cargadas
+    // más los cambios del flujo, guardados por columnas para ocupar poca memoria
+    private LiveRoster liveRoster;
+
+    // Orden elegido; salvo NEWEST, la lista se pagina desde el índice de orden
+    // y cada cambio de orden invalida las páginas pedidas con el anterior
+    private SortOrder sortOrder = SortOrder.NEWEST;
+    private CompactRoster sortedStudents = new CompactRoster();
+    private int sortGeneration;
+    private boolean sortedLoading;
+    private boolean sortedHasMore;
+    // Última secuencia del flujo que puede estar ya incluida en sortedStudents
+    private long sortedSequence;
+
+    // Búsqueda: cada consulta nueva invalida los resultados de las anteriores
+    private int searchGeneration;
+    private boolean showingSearchResults;
+
+    // Repositorio compartido y lector por páginas, los más recientes primero
+    private StudentRepository studentRepository;
+    private RosterChangeFeed changeFeed;
+    private StudentPageLoader pageLoader;
+    private boolean pageLoading;
+
+    // Mide los cuadros lentos mientras la lista se desplaza (solo con métricas activas)
+    private FrameMonitor frameMonitor;
 
     /**
      * Metodo llamado cuando la actividad es creada
@@ -53,8 +110,18 @@ public class StudentListActivity extends AppCompatActivity {
         // Configurar el RecyclerView para mostrar la lista
         setupRecyclerView();
 
-        // Cargar estudiantes desde SharedPreferences
-        loadStudentsFromSharedPreferences();
+        // Configurar la búsqueda mientras se escribe
+        setupSearch();
+
+        // Retomar la lista anterior o empezar una nueva, y recibir los cambios
+        // desde la última secuencia que cubre
+        studentRepository = StudentRepository.getInstance(this);
+        changeFeed = studentRepository.getChangeFeed();
+        listState = new ViewModelProvider(this).get(ListState.class);
+        restoreList();
+
+        // Configurar los botones de orden
+        setupSortOrder(savedInstanceState);
 
         // Configurar botón de regreso
         Button btnBack = findViewById(R.id.btnBackToRegister);
@@ -64,72 +131,540 @@ public class StudentListActivity extends AppCompatActivity {
     /**
      * Inicializa las vistas y variables necesarias
      * - Encuentra el RecyclerView en el layout
-     * - Inicializa la lista de estudiantes vacía
      */
     private void initViews() {
         recyclerView = findViewById(R.id.recyclerViewStudents);
-        studentList = new ArrayList<>();
+    }
+
+    /**
+     * Retoma la lista de antes de recrear la actividad si es del mismo flujo; si no
+     * (primera apertura, o la pantalla se cerró antes), crea una vacía
+     * La suscripción entrega primero los cambios publicados durante la
+     * recreación, o pide volver a leerla si ya no están en el flujo
+     */
+    private void restoreList() {
+        LiveRoster savedRoster = listState.roster;
+        StudentPageLoader savedLoader = listState.loader;
+        int firstVisible = listState.firstVisible;
+        listState.reset();
+        if (savedRoster != null && savedRoster.getEpoch() == changeFeed.getEpoch()) {
+            liveRoster = savedRoster;
+            pageLoader = savedLoader;
+            submitStudentList();
+            recyclerView.scrollToPosition(firstVisible);
+            changeFeed.subscribe(liveRoster.getEpoch(), liveRoster.getLastSequence(), this);
+        } else {
+            liveRoster = new LiveRoster(changeFeed.getEpoch(), changeFeed.getLatestSequence());
+            changeFeed.subscribe(liveRoster.getEpoch(), liveRoster.getLastSequence(), this);
+            createPageLoader();
+        }
+    }
+
+    /**
+     * Crea el cargador en un hilo lector: espera a los guardados pendientes,
+     * así un estudiante recién registrado siempre aparece en la lista
+     */
+    private void createPageLoader() {
+        LiveRoster roster = liveRoster;
+        IoScheduler.getInstance().read(this, () -> new StudentPageLoader(studentRepository),
+                new IoScheduler.Callback<StudentPageLoader>() {
+                    @Override
+                    public void onResult(StudentPageLoader loader) {
+                        // Ignorar el cargador de una lista que ya se descartó
+                        if (roster == liveRoster) {
+                            onPageLoaderReady(loader);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception error) {
+                        // Si no se puede abrir el almacenamiento, la lista permanece vacía
+                    }
+                });
+    }
+
+    /**
+     * Descarta la lista y la vuelve a leer desde el principio
+     * Se usa cuando el flujo ya no tiene los cambios que faltan
+     */
+    private void reloadList() {
+        liveRoster = new LiveRoster(changeFeed.getEpoch(), changeFeed.getLatestSequence());
+        pageLoader = null;
+        pageLoading = false;
+        if (sortOrder == SortOrder.NEWEST) {
+            if (!showingSearchResults) {
+                submitStudentList();
+            }
+        } else {
+            reloadSortedStudents(0);
+        }
+        createPageLoader();
     }
 
     /**
      * Configura el RecyclerView con su adapter y layout manager
-     * - Crea el adapter con la lista de estudiantes
+     * - Crea el adapter (recibe copias de la lista con submitList)
      * - Establece el LinearLayoutManager para disposición vertical
-     * - Asigna el adapter al RecyclerView
+     * - Asigna el adapter al RecyclerView (ajusta la caché de vistas y el pool de filas)
+     * - Pide la siguiente página al acercarse al final de la lista
      */
     private void setupRecyclerView() {
-        adapter = new StudentAdapter(studentList);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new StudentAdapter();
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        // El tamaño de la lista no depende de su contenido: insertar filas no pide
+        // volver a medir toda la pantalla
+        recyclerView.setHasFixedSize(true);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        frameMonitor = new FrameMonitor(getWindowManager().getDefaultDisplay().getRefreshRate());
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView view, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    frameMonitor.stop();
+                } else {
+                    frameMonitor.start();
+                }
+            }
+
+            @Override
+            public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (dy > 0 && !showingSearchResults && lastVisible >= displayedCount() - LOAD_MORE_THRESHOLD) {
+                    // La página se entrega en un mensaje posterior, fuera del callback de scroll
+                    if (sortOrder == SortOrder.NEWEST) {
+                        loadNextPage();
+                    } else {
+                        loadNextSortedPage();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Configura el campo de búsqueda
+     * - Cada cambio de texto lanza una búsqueda en el índice, en un hilo lector
+     * - Con el campo vacío se vuelve a la lista completa por páginas
+     */
+    private void setupSearch() {
+        TextInputEditText etSearch = findViewById(R.id.etSearch);
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                search(s.toString().trim());
+            }
+        });
+    }
+
+    /**
+     * Configura los botones de orden y restaura el orden elegido antes de recrear
+     */
+    private void setupSortOrder(Bundle savedInstanceState) {
+        MaterialButtonToggleGroup toggleSortOrder = findViewById(R.id.toggleSortOrder);
+        if (savedInstanceState != null) {
+            SortOrder saved = SortOrder.valueOf(savedInstanceState.getString(STATE_SORT_ORDER, SortOrder.NEWEST.name()));
+            toggleSortOrder.check(buttonFor(saved));
+            changeSortOrder(saved);
+        }
+        toggleSortOrder.addOnButtonCheckedListener((group, checkedId, isChecked) -> {
+            if (isChecked) {
+                changeSortOrder(orderFor(checkedId));
+            }
+        });
+    }
+
+    private static SortOrder orderFor(int buttonId) {
+        if (buttonId == R.id.btnSortLastName) {
+            return SortOrder.LAST_NAME;
+        } else if (buttonId == R.id.btnSortFirstName) {
+            return SortOrder.FIRST_NAME;
+        } else if (buttonId == R.id.btnSortCode) {
+            return SortOrder.CODE;
+        }
+        return SortOrder.NEWEST;
+    }
+
+    private static int buttonFor(SortOrder order) {
+        switch (order) {
+            case LAST_NAME:
+                return R.id.btnSortLastName;
+            case FIRST_NAME:
+                return R.id.btnSortFirstName;
+            case CODE:
+                return R.id.btnSortCode;
+            default:
+                return R.id.btnSortNewest;
+        }
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(STATE_SORT_ORDER, sortOrder.name());
+    }
+
+    /**
+     * Cambia el orden de la lista y vuelve al principio
+     * - NEWEST usa las páginas ya cargadas, sin leer nada
+     * - Los demás piden la primera página al índice de orden; si ese orden ya
+     *   se usó antes, el índice no vuelve a ordenar
+     */
+    private void changeSortOrder(SortOrder order) {
+        if (order == sortOrder) {
+            return;
+        }
+        sortOrder = order;
+        sortGeneration++;
+        sortedStudents = new CompactRoster();
+        sortedLoading = false;
+        sortedHasMore = order != SortOrder.NEWEST;
+        if (order == SortOrder.NEWEST) {
+            if (!showingSearchResults) {
+                submitStudentList();
+            }
+        } else {
+            loadNextSortedPage();
+        }
+        recyclerView.scrollToPosition(0);
+    }
+
+    /**
+     * Carga la siguiente página en el orden elegido, en un hilo lector
+     */
+    private void loadNextSortedPage() {
+        if (sortOrder == SortOrder.NEWEST || sortedLoading || !sortedHasMore) {
+            return;
+        }
+        sortedLoading = true;
+        SortOrder order = sortOrder;
+        int generation = sortGeneration;
+        int from = sortedStudents.size();
+        IoScheduler.getInstance().read(this, () -> studentRepository.readSorted(order, from, SORTED_PAGE_SIZE),
+                new IoScheduler.Callback<List<Student>>() {
+                    @Override
+                    public void onResult(List<Student> page) {
+                        // Ignorar páginas de un orden que ya cambió
+                        if (generation != sortGeneration) {
+                            return;
+                        }
+                        sortedLoading = false;
+                        sortedHasMore = !page.isEmpty();
+                        sortedStudents.addAll(page);
+                        sortedSequence = changeFeed.getLatestSequence();
+                        if (!showingSearchResults) {
+                            submitStudentList();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception error) {
+                        if (generation == sortGeneration) {
+                            sortedLoading = false;
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Vuelve a leer el tramo ya mostrado en el orden elegido, que el índice
+     * mantuvo al día con los estudiantes nuevos
+     */
+    private void reloadSortedStudents(int added) {
+        int generation = ++sortGeneration;
+        SortOrder order = sortOrder;
+        int count = Math.max(SORTED_PAGE_SIZE, sortedStudents.size() + added);
+        sortedLoading = true;
+        IoScheduler.getInstance().read(this, () -> studentRepository.readSorted(order, 0, count),
+                new IoScheduler.Callback<List<Student>>() {
+                    @Override
+                    public void onResult(List<Student> students) {
+                        if (generation != sortGeneration) {
+                            return;
+                        }
+                        sortedLoading = false;
+                        sortedHasMore = students.size() == count;
+                        sortedStudents = new CompactRoster();
+                        sortedStudents.addAll(students);
+                        sortedSequence = changeFeed.getLatestSequence();
+                        if (!showingSearchResults) {
+                            submitStudentList();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception error) {
+                        if (generation == sortGeneration) {
+                            sortedLoading = false;
+                        }
+                    }
+                });
     }
 
     /**
-     * Carga la lista de estudiantes desde SharedPreferences
-     * - Obtiene el JSON guardado con la lista de estudiantes
-     * - Convierte el JSON a lista de objetos Student usando Gson
-     * - INVERTE LA LISTA para mostrar los más recientes primero
-     * - Actualiza la lista y notifica al adapter
+     * Inserta los estudiantes nuevos en su lugar dentro del tramo ordenado ya
+     * cargado, sin volver a leerlo; los que caen después del tramo llegan con
+     * las páginas siguientes
+     * Si hay una página en camino, o una ya cargada pudo incluir estos cambios,
+     * se relee el tramo
+     *
+     * @param lastApplied Última secuencia aplicada antes de estos cambios
      */
-    private void loadStudentsFromSharedPreferences() {
-        // Obtener SharedPreferences donde se guardan los datos
-        SharedPreferences sharedPreferences = getSharedPreferences("StudentPrefs", MODE_PRIVATE);
+    private void insertSortedStudents(List<RosterChange> changes, long lastApplied) {
+        if (sortedLoading) {
+            reloadSortedStudents(changes.size());
+            return;
+        }
+        for (RosterChange change : changes) {
+            if (change.sequence > lastApplied
+                    && (change.type != RosterChange.Type.INSERT || change.sequence <= sortedSequence)) {
+                reloadSortedStudents(changes.size());
+                return;
+            }
+        }
+        boolean inserted = false;
+        for (RosterChange change : changes) {
+            if (change.sequence <= lastApplied || change.student == null) {
+                continue;
+            }
+            int index = sortedIndexOf(change.student);
+            if (index < sortedStudents.size() || !sortedHasMore) {
+                sortedStudents.add(index, change.student);
+                inserted = true;
+            }
+        }
+        if (inserted && !showingSearchResults) {
+            submitStudentList();
+        }
+    }
 
-        // Obtener el JSON de estudiantes, si no existe retorna array vacío "[]"
-        String studentsJson = sharedPreferences.getString("students_list", "[]");
+    /**
+     * Búsqueda binaria por clave de orden en el tramo cargado
+     * A igual clave el nuevo va después, como en el índice de orden
+     */
+    private int sortedIndexOf(Student student) {
+        String key = StudentSortIndex.sortKey(student, sortOrder);
+        int low = 0;
+        int high = sortedStudents.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (StudentSortIndex.sortKey(sortedStudents.get(mid), sortOrder).compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
 
-        // Configurar Gson para convertir JSON a objetos Java
-        Gson gson = new Gson();
+    /**
+     * @return Cantidad de filas de la lista en el orden elegido
+     */
+    private int displayedCount() {
+        return sortOrder == SortOrder.NEWEST
+                ? liveRoster.size()
+                : sortedStudents.size();
+    }
 
-        // Crear el TypeToken para que Gson sepa convertir a List<Student>
-        Type type = new TypeToken<List<Student>>(){}.getType();
+    /**
+     * Busca estudiantes y muestra los resultados, o la lista completa si la consulta está vacía
+     */
+    private void search(String query) {
+        int generation = ++searchGeneration;
+        if (query.isEmpty()) {
+            if (showingSearchResults) {
+                showingSearchResults = false;
+                submitStudentList();
+            }
+            return;
+        }
 
-        // Convertir el JSON a lista de estudiantes
-        List<Student> loadedStudents = gson.fromJson(studentsJson, type);
+        IoScheduler.getInstance().read(this, () -> studentRepository.search(query, SEARCH_RESULT_LIMIT),
+                new IoScheduler.Callback<List<Student>>() {
+                    @Override
+                    public void onResult(List<Student> results) {
+                        // Ignorar resultados de una consulta que ya cambió
+                        if (generation == searchGeneration) {
+                            showingSearchResults = true;
+                            adapter.submitList(results);
+                        }
+                    }
 
-        // Si se cargaron estudiantes, actualizar la lista
-        if (loadedStudents != null) {
-            // INVERTIR LA LISTA: los más recientes primero
-            Collections.reverse(loadedStudents);
+                    @Override
+                    public void onError(Exception error) {
+                        // Se mantiene lo que se estaba mostrando
+                    }
+                });
+    }
 
-            // Limpiar lista actual y agregar la lista invertida
-            studentList.clear();
-            studentList.addAll(loadedStudents);
+    @Override
+    protected void onPause() {
+        frameMonitor.stop();
+        super.onPause();
+    }
 
-            // Notificar al adapter que los datos cambiaron
-            adapter.notifyDataSetChanged();
+    /**
+     * Metodo llamado al cerrar la actividad
+     * Deja de recibir cambios y, si la actividad se recrea, guarda la lista para
+     * retomarla (no si quedó una página en camino: su resultado se pierde con la actividad)
+     */
+    @Override
+    protected void onDestroy() {
+        changeFeed.unsubscribe(this);
+        if (isChangingConfigurations() && pageLoader != null && !pageLoading && !liveRoster.needsReload()) {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            int firstVisible = sortOrder == SortOrder.NEWEST && !showingSearchResults
+                    ? Math.max(0, layoutManager.findFirstVisibleItemPosition())
+                    : 0;
+            listState.save(liveRoster, pageLoader, firstVisible);
         }
+        super.onDestroy();
+    }
 
-        // Si loadedStudents es null, la lista permanece vacía
+    /**
+     * Recibe cambios del flujo (en el hilo que los publicó) y los pasa al hilo principal
+     */
+    @Override
+    public void onChanges(List<RosterChange> changes) {
+        IoScheduler.getInstance().postToMain(this, () -> applyChanges(changes));
+    }
+
+    /**
+     * El flujo ya no tiene los cambios que faltan: la lista se vuelve a leer
+     */
+    @Override
+    public void onReset() {
+        IoScheduler.getInstance().postToMain(this, this::reloadList);
+    }
+
+    /**
+     * Aplica los cambios a la lista y actualiza lo que se muestra
+     * - Los cambios ya aplicados (por ejemplo, los repetidos al suscribirse) se ignoran
+     * - Con demasiados cambios sueltos la lista se vuelve a leer
+     * - En los órdenes por apellido, nombre o código los nuevos se insertan en su lugar
+     */
+    private void applyChanges(List<RosterChange> changes) {
+        long lastApplied = liveRoster.getLastSequence();
+        boolean changed = liveRoster.apply(changes);
+        if (liveRoster.needsReload()) {
+            reloadList();
+            return;
+        }
+        if (sortOrder != SortOrder.NEWEST) {
+            // El tramo ordenado no depende de las páginas: recibe los nuevos aunque
+            // el cargador todavía no esté listo
+            insertSortedStudents(changes, lastApplied);
+        } else if (changed && !showingSearchResults) {
+            submitStudentList();
+        }
+    }
+
+    /**
+     * Guarda el cargador listo, aplica los registros pendientes y pide la primera página
+     */
+    private void onPageLoaderReady(StudentPageLoader loader) {
+        pageLoader = loader;
+        liveRoster.setInitialSize(loader.getInitialSize());
+        if (liveRoster.needsReload()) {
+            reloadList();
+            return;
+        }
+        loadNextPage();
+    }
+
+    /**
+     * Carga la siguiente página de estudiantes desde el repositorio
+     * - La lectura ocurre en un hilo lector, sin bloquear la interfaz
+     * - Solo lee del archivo las páginas que no estén en memoria
+     * - Las páginas llegan con los más recientes primero, sin invertir la lista completa
+     * - El adapter calcula en segundo plano que solo cambió el rango insertado
+     */
+    private void loadNextPage() {
+        if (pageLoader == null || pageLoading || !pageLoader.hasMore()) {
+            return;
+        }
+
+        pageLoading = true;
+        StudentPageLoader loader = pageLoader;
+        LiveRoster roster = liveRoster;
+        IoScheduler.getInstance().read(this, () -> {
+            long start = Metrics.start();
+            List<Student> page = loader.loadNextPage();
+            Metrics.PAGE_LOAD.recordSince(start);
+            return page;
+        }, new IoScheduler.Callback<List<Student>>() {
+            @Override
+            public void onResult(List<Student> page) {
+                // Ignorar páginas de una lista que ya se descartó
+                if (roster != liveRoster) {
+                    return;
+                }
+                pageLoading = false;
+                // Los nuevos se insertan arriba, así que la página va al final
+                roster.addPage(page);
+                if (!showingSearchResults) {
+                    submitStudentList();
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                // Si no se puede leer el almacenamiento, la lista se queda como está
+                if (roster == liveRoster) {
+                    pageLoading = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Envía al adapter una vista fija de la lista en el orden elegido, sin copiar estudiantes
+     * AsyncListDiffer compara contra la lista anterior en segundo plano y solo
+     * notifica las filas insertadas, sin volver a enlazar las visibles.
+     * Cada estudiante se arma recién cuando se enlaza su fila.
+     */
+    private void submitStudentList() {
+        if (sortOrder == SortOrder.NEWEST) {
+            adapter.submitList(liveRoster.snapshot());
+        } else {
+            adapter.submitList(sortedStudents.snapshot());
+        }
     }
 
     /**
      * Regresa a la actividad de registro
-     * - Crea un intent para abrir RegisterActivity
-     * - Inicia la actividad y finaliza la actual
+     * - RegisterActivity sigue debajo en la pila, así que basta con cerrar esta
+     *   actividad en lugar de crear una nueva instancia de registro
      */
     private void goBackToRegister() {
-        Intent intent = new Intent(this, RegisterActivity.class);
-        startActivity(intent);
-        finish(); // Cierra esta actividad para liberar memoria
+        finish();
+    }
+
+    /**
+     * Lista y cargador de la actividad que se está recreando, con la fila que se veía arriba
+     * Vive mientras la pantalla siga abierta; al cerrarla se descarta con ella.
+     */
+    public static final class ListState extends ViewModel {
+        LiveRoster roster;
+        StudentPageLoader loader;
+        int firstVisible;
+
+        void save(LiveRoster roster, StudentPageLoader loader, int firstVisible) {
+            this.roster = roster;
+            this.loader = loader;
+            this.firstVisible = firstVisible;
+        }
+
+        void reset() {
+            roster = null;
+            loader = null;
+            firstVisible = 0;
+        }
     }
-}
\ No newline at end of file
+}
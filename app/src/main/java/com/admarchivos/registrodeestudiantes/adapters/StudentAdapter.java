@@ -3,76 +3,180 @@ package com.admarchivos.registrodeestudiantes.adapters;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
 import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
 import java.util.List;
 
 // Adaptador para RecyclerView que maneja la lista de estudiantes
+// Las diferencias entre listas se calculan en segundo plano con AsyncListDiffer,
+// así una inserción, un filtro o un reordenamiento solo actualizan las filas afectadas
+// Los textos de cada fila se arman una vez y se miden en segundo plano antes de
+// que la fila aparezca (ver StudentRowCache)
 public class StudentAdapter extends RecyclerView.Adapter<StudentAdapter.StudentViewHolder> {
 
-    // Lista de estudiantes que se mostrará en el RecyclerView
-    private List<Student> studentList;
+    // Filas por delante del desplazamiento cuyos textos se preparan en segundo plano
+    static final int PREFETCH_ROWS = 12;
 
-    // Constructor que recibe la lista de estudiantes
-    public StudentAdapter(List<Student> studentList) {
-        this.studentList = studentList;
+    // Vistas de item_student guardadas fuera de pantalla: las recién salidas se
+    // reusan sin volver a enlazar y el pool alcanza para un fling sin inflar filas
+    static final int VIEW_CACHE_SIZE = 6;
+    static final int RECYCLED_POOL_SIZE = 16;
+
+    // Lista mostrada; se reemplaza completa con submitList y nunca se modifica en su lugar
+    private final AsyncListDiffer<Student> differ = new AsyncListDiffer<>(this, new StudentDiffCallback());
+
+    // Textos de las filas ya armados, por ID estable
+    private final StudentRowCache rowCache = new StudentRowCache();
+
+    // Último tramo pedido; onScrolled llega en cada cuadro y casi siempre repite el tramo
+    private int prefetchedFrom = -1;
+    private int prefetchedTo = -1;
+
+    // Prepara los textos de las filas que están por aparecer según la dirección del desplazamiento
+    private final RecyclerView.OnScrollListener prefetchListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (dy == 0 || !(layoutManager instanceof LinearLayoutManager)) {
+                return;
+            }
+            LinearLayoutManager linear = (LinearLayoutManager) layoutManager;
+            if (dy > 0) {
+                int from = linear.findLastVisibleItemPosition() + 1;
+                prefetchRows(from, from + PREFETCH_ROWS);
+            } else {
+                int to = linear.findFirstVisibleItemPosition();
+                prefetchRows(to - PREFETCH_ROWS, to);
+            }
+        }
+    };
+
+    // Constructor: los IDs estables permiten a RecyclerView conservar vistas y animaciones
+    public StudentAdapter() {
+        setHasStableIds(true);
+    }
+
+    // Reemplaza la lista mostrada; la diferencia se calcula en un hilo de fondo
+    // La lista enviada no debe modificarse después
+    public void submitList(List<Student> studentList) {
+        differ.submitList(studentList);
+    }
+
+    // Igual que submitList, ejecutando commitCallback cuando la lista ya se aplicó
+    public void submitList(List<Student> studentList, Runnable commitCallback) {
+        differ.submitList(studentList, commitCallback);
+    }
+
+    // Lista que se está mostrando actualmente
+    public List<Student> getCurrentList() {
+        return differ.getCurrentList();
+    }
+
+    // Metodo llamado al conectar el adapter a un RecyclerView
+    // Ajusta la caché de vistas y el pool de item_student y empieza a preparar filas
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        recyclerView.setItemViewCacheSize(VIEW_CACHE_SIZE);
+        recyclerView.getRecycledViewPool().setMaxRecycledViews(0, RECYCLED_POOL_SIZE);
+        recyclerView.addOnScrollListener(prefetchListener);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(prefetchListener);
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    // Pide armar en segundo plano los textos de las filas [from, to)
+    private void prefetchRows(int from, int to) {
+        List<Student> current = differ.getCurrentList();
+        from = Math.max(0, from);
+        to = Math.min(current.size(), to);
+        if (from >= to || (from == prefetchedFrom && to == prefetchedTo)) {
+            return;
+        }
+        prefetchedFrom = from;
+        prefetchedTo = to;
+        List<Student> students = new ArrayList<>(to - from);
+        long[] ids = new long[to - from];
+        for (int position = from; position < to; position++) {
+            Student student = current.get(position);
+            ids[students.size()] = stableIdOf(student);
+            students.add(student);
+        }
+        rowCache.prefetch(students, ids);
     }
 
     // Metodo llamado cuando se necesita crear un nuevo ViewHolder
     @NonNull
     @Override
     public StudentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = Metrics.start();
         // Inflar el layout del item de estudiante
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_student, parent, false);
-        return new StudentViewHolder(view);
+        StudentViewHolder holder = new StudentViewHolder(view);
+        rowCache.captureTextParams(holder.tvFullName, holder.tvEmail, holder.tvStudentCode);
+        Metrics.CREATE_VIEW_HOLDER.recordSince(start);
+        return holder;
     }
 
     // Metodo llamado para enlazar los datos de un estudiante con una vista específica
     @Override
     public void onBindViewHolder(@NonNull StudentViewHolder holder, int position) {
+        long start = Metrics.start();
         // Obtener el estudiante en la posición actual
-        Student student = studentList.get(position);
-        // Enlazar los datos del estudiante con el ViewHolder
-        holder.bind(student);
+        Student student = differ.getCurrentList().get(position);
+        // Enlazar los textos ya armados (o armarlos ahora) con el ViewHolder
+        holder.bind(rowCache.get(student, stableIdOf(student)));
+        Metrics.BIND_VIEW_HOLDER.recordSince(start);
     }
 
     // Metodo que retorna el número total de elementos en la lista
     @Override
     public int getItemCount() {
-        return studentList.size();
+        return differ.getCurrentList().size();
+    }
+
+    // ID estable derivado del código del estudiante
+    @Override
+    public long getItemId(int position) {
+        return stableIdOf(differ.getCurrentList().get(position));
+    }
+
+    // Hash FNV-1a de 64 bits del código (ver StudentDiffCallback.stableIdOf)
+    public static long stableIdOf(Student student) {
+        return StudentDiffCallback.stableIdOf(student);
     }
 
     // ViewHolder que representa cada item de estudiante en el RecyclerView
     static class StudentViewHolder extends RecyclerView.ViewHolder {
-        // Views del layout item_student
-        private ImageView ivStudentIcon;
+        // Views del layout item_student; el ícono es fijo y lo pone el layout
         private TextView tvFullName, tvEmail, tvStudentCode;
 
         // Constructor del ViewHolder - inicializa las views
         public StudentViewHolder(@NonNull View itemView) {
             super(itemView);
             // INICIALIZAR LAS VISTAS UNA SOLA VEZ
-            ivStudentIcon = itemView.findViewById(R.id.ivStudentIcon);
             tvFullName = itemView.findViewById(R.id.tvFullName);
             tvEmail = itemView.findViewById(R.id.tvEmail);
             tvStudentCode = itemView.findViewById(R.id.tvStudentCode);
 
         }
 
-        // Metodo para enlazar los datos del estudiante con las views
-        public void bind(Student student) {
-            // Configurar la imagen - usa una imagen predeterminada para todos los estudiantes
-            ivStudentIcon.setImageResource(R.drawable.graduated);
-
-            // Configurar textos con la información del estudiante
-            tvFullName.setText(student.getFullName());
-            tvEmail.setText(student.getEmail());
-            tvStudentCode.setText("Código: " + student.getStudentCode());
+        // Metodo para enlazar los textos de la fila con las views
+        void bind(StudentRowCache.Row row) {
+            StudentRowCache.setText(tvFullName, row.fullName);
+            StudentRowCache.setText(tvEmail, row.email);
+            StudentRowCache.setText(tvStudentCode, row.code);
         }
     }
-}
\ No newline at end of file
+}
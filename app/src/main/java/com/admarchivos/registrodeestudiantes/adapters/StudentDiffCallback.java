@@ -0,0 +1,43 @@
+package com.admarchivos.registrodeestudiantes.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.Locale;
+import java.util.Objects;
+
+// Compara estudiantes para DiffUtil: por código (identidad) y por todos sus campos (contenido)
+// La identidad usa la misma regla que el índice único y el ID estable de la fila:
+// el código sin espacios en los extremos y sin distinguir mayúsculas
+public class StudentDiffCallback extends DiffUtil.ItemCallback<Student> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Student oldItem, @NonNull Student newItem) {
+        return codeKey(oldItem).equals(codeKey(newItem));
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Student oldItem, @NonNull Student newItem) {
+        // El código también se muestra: un cambio de mayúsculas vuelve a enlazar la fila
+        return Objects.equals(oldItem.getName(), newItem.getName())
+                && Objects.equals(oldItem.getLastName(), newItem.getLastName())
+                && Objects.equals(oldItem.getEmail(), newItem.getEmail())
+                && Objects.equals(oldItem.getStudentCode(), newItem.getStudentCode());
+    }
+
+    // Hash FNV-1a de 64 bits de la clave del código; mismo ID para los mismos items
+    public static long stableIdOf(Student student) {
+        String code = codeKey(student);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            hash ^= code.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static String codeKey(Student student) {
+        String code = student.getStudentCode();
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+}
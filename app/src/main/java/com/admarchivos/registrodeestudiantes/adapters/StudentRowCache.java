@@ -0,0 +1,146 @@
+package com.admarchivos.registrodeestudiantes.adapters;
+
+import android.os.Process;
+import android.util.LruCache;
+import android.widget.TextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Textos de las filas de item_student, armados una sola vez por estudiante
+// - Nombre completo, email y "Código: X" se guardan por ID estable (LRU)
+// - prefetch arma y mide en un hilo de fondo el texto de las filas que están por
+//   aparecer (PrecomputedTextCompat), así al enlazarlas el TextView no calcula
+//   el layout del texto en el hilo principal
+// - Una fila guardada solo se usa si el estudiante no cambió desde que se armó
+final class StudentRowCache {
+
+    // Filas guardadas: unas cuantas pantallas hacia cada lado
+    static final int MAX_ROWS = 512;
+
+    private static final String CODE_PREFIX = "Código: ";
+
+    // Hilo de fondo compartido por todas las listas; solo mide texto, no hace E/S
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "student-rows");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final StudentDiffCallback CONTENTS = new StudentDiffCallback();
+
+    private final LruCache<Long, Row> rows = new LruCache<>(MAX_ROWS);
+
+    // Parámetros de texto de las filas; null hasta crear la primera
+    private volatile TextParams textParams;
+
+    // Solo se atiende el pedido de prefetch más reciente
+    private volatile Object latestRequest;
+
+    // Textos de una fila; precomputados si se armaron con prefetch
+    static final class Row {
+        final Student student;
+        final CharSequence fullName;
+        final CharSequence email;
+        final CharSequence code;
+
+        Row(Student student, CharSequence fullName, CharSequence email, CharSequence code) {
+            this.student = student;
+            this.fullName = fullName;
+            this.email = email;
+            this.code = code;
+        }
+    }
+
+    // Parámetros de medición de los tres TextView de la fila
+    private static final class TextParams {
+        final PrecomputedTextCompat.Params fullName;
+        final PrecomputedTextCompat.Params email;
+        final PrecomputedTextCompat.Params code;
+
+        TextParams(TextView fullName, TextView email, TextView code) {
+            this.fullName = TextViewCompat.getTextMetricsParams(fullName);
+            this.email = TextViewCompat.getTextMetricsParams(email);
+            this.code = TextViewCompat.getTextMetricsParams(code);
+        }
+    }
+
+    // Guarda los parámetros de texto de la primera fila creada (hilo principal)
+    // Todas las filas usan el mismo layout, así que sirven para todas
+    void captureTextParams(TextView fullName, TextView email, TextView code) {
+        if (textParams == null) {
+            textParams = new TextParams(fullName, email, code);
+        }
+    }
+
+    // Devuelve los textos de la fila, armándolos ahora si no estaban (sin medir)
+    Row get(Student student, long id) {
+        Row row = rows.get(id);
+        if (row == null || !CONTENTS.areContentsTheSame(row.student, student)) {
+            row = format(student, null);
+            rows.put(id, row);
+        }
+        return row;
+    }
+
+    // Pide armar y medir en segundo plano las filas de estos estudiantes
+    // Un pedido nuevo reemplaza al anterior: al desplazar rápido solo importan
+    // las filas que están por aparecer ahora
+    void prefetch(List<Student> students, long[] ids) {
+        TextParams params = textParams;
+        if (params == null || students.isEmpty()) {
+            return;
+        }
+        Object request = new Object();
+        latestRequest = request;
+        PREFETCH_EXECUTOR.execute(() -> {
+            for (int i = 0; i < students.size() && latestRequest == request; i++) {
+                Student student = students.get(i);
+                Row cached = rows.get(ids[i]);
+                if (cached == null || !(cached.fullName instanceof PrecomputedTextCompat)
+                        || !CONTENTS.areContentsTheSame(cached.student, student)) {
+                    rows.put(ids[i], format(student, params));
+                }
+            }
+        });
+    }
+
+    // Cantidad de filas guardadas
+    int size() {
+        return rows.size();
+    }
+
+    private static Row format(Student student, TextParams params) {
+        String fullName = student.getFullName();
+        String email = student.getEmail() != null ? student.getEmail() : "";
+        String code = CODE_PREFIX + student.getStudentCode();
+        if (params == null) {
+            return new Row(student, fullName, email, code);
+        }
+        return new Row(student,
+                PrecomputedTextCompat.create(fullName, params.fullName),
+                PrecomputedTextCompat.create(email, params.email),
+                PrecomputedTextCompat.create(code, params.code));
+    }
+
+    // Asigna un texto a un TextView, usando la medición previa si la hay
+    static void setText(TextView view, CharSequence text) {
+        if (text instanceof PrecomputedTextCompat) {
+            try {
+                TextViewCompat.setPrecomputedText(view, (PrecomputedTextCompat) text);
+                return;
+            } catch (IllegalArgumentException e) {
+                // Se midió con otros parámetros (p. ej. otro tamaño de fuente)
+                view.setText(text.toString());
+                return;
+            }
+        }
+        view.setText(text);
+    }
+}
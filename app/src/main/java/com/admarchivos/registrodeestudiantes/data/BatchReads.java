@@ -0,0 +1,59 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lectura de posiciones sueltas con pocas lecturas de rango
+ * Las posiciones se ordenan y las cercanas se leen juntas, en una sola pasada
+ * por el almacenamiento de la más antigua a la más reciente.
+ */
+final class BatchReads {
+
+    // Posiciones separadas por hasta MAX_GAP registros se leen en el mismo rango
+    static final int MAX_GAP = 32;
+    // Largo máximo de un rango leído de una vez
+    static final int MAX_RUN = 1024;
+
+    private BatchReads() {
+    }
+
+    /**
+     * @param source Fuente a leer
+     * @param positions Posiciones de registro, en cualquier orden (pueden repetirse)
+     * @return Estudiantes en el mismo orden que positions
+     */
+    static List<Student> readAt(StudentSource source, int[] positions) throws IOException {
+        int n = positions.length;
+        Student[] result = new Student[n];
+        // Posición en los 32 bits altos e índice en positions en los bajos
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = ((long) positions[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int i = 0;
+        while (i < n) {
+            int start = (int) (order[i] >>> 32);
+            int end = start;
+            int j = i + 1;
+            while (j < n) {
+                int next = (int) (order[j] >>> 32);
+                if (next - end > MAX_GAP || next - start >= MAX_RUN) {
+                    break;
+                }
+                end = next;
+                j++;
+            }
+            List<Student> run = source.read(start, end - start + 1);
+            for (int k = i; k < j; k++) {
+                result[(int) order[k]] = run.get((int) (order[k] >>> 32) - start);
+            }
+            i = j;
+        }
+        return Arrays.asList(result);
+    }
+}
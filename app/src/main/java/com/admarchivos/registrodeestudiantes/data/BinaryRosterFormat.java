@@ -0,0 +1,37 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+/**
+ * Formato binario versionado de la lista de estudiantes
+ *
+ * Estructura del archivo (big-endian):
+ * - Encabezado fijo de {@link #HEADER_SIZE} bytes:
+ *   magic (int), versión (short), cantidad de campos (short),
+ *   cantidad de registros (int), posición de la tabla de desplazamientos (long)
+ *   y bytes reservados en cero
+ * - Registros: por cada estudiante, sus campos en orden nombre, apellido, email
+ *   y código; cada campo es una longitud (unsigned short) seguida de sus bytes
+ *   UTF-8, o {@link #NULL_FIELD} si el campo es null
+ * - Tabla de desplazamientos: un int por registro con la posición donde empieza
+ *
+ * Con la tabla se puede decodificar cualquier fila sin leer las demás.
+ */
+final class BinaryRosterFormat {
+
+    static final int MAGIC = 0x45535455; // "ESTU"
+    static final short VERSION = 1;
+    static final short FIELD_COUNT = 4;
+    static final int HEADER_SIZE = 32;
+
+    // Posiciones dentro del encabezado
+    static final int RECORD_COUNT_OFFSET = 8;
+    static final int TABLE_POSITION_OFFSET = 12;
+
+    // Longitud que marca un campo null
+    static final int NULL_FIELD = 0xFFFF;
+
+    // Longitud máxima en bytes de un campo
+    static final int MAX_FIELD_BYTES = 0xFFFE;
+
+    private BinaryRosterFormat() {
+    }
+}
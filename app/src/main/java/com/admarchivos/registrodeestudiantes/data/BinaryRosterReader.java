@@ -0,0 +1,134 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de archivos en el formato de {@link BinaryRosterFormat}
+ * El archivo se mapea en memoria con FileChannel, por lo que abrirlo no lee los
+ * registros: cada fila se decodifica solo cuando se pide, usando la tabla de
+ * desplazamientos. Es de solo lectura; para agregar estudiantes se escribe un
+ * archivo nuevo con {@link BinaryRosterWriter}.
+ * Es el checkpoint de {@link WalStudentStore}: la lista lee sus páginas de este
+ * mapeo y solo decodifica las filas que pide {@link StudentPageLoader}.
+ */
+public class BinaryRosterReader implements StudentSource {
+
+    // null tras close(): suelta la referencia al mapeo
+    private volatile MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int tablePosition;
+
+    public BinaryRosterReader(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            long length = channel.size();
+            if (length < BinaryRosterFormat.HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de archivo inválido: " + length);
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != BinaryRosterFormat.MAGIC) {
+            throw new IOException("No es un archivo de estudiantes");
+        }
+        short version = buffer.getShort(4);
+        if (version != BinaryRosterFormat.VERSION) {
+            throw new IOException("Versión no soportada: " + version);
+        }
+        if (buffer.getShort(6) != BinaryRosterFormat.FIELD_COUNT) {
+            throw new IOException("Cantidad de campos inesperada");
+        }
+        recordCount = buffer.getInt(BinaryRosterFormat.RECORD_COUNT_OFFSET);
+        long table = buffer.getLong(BinaryRosterFormat.TABLE_POSITION_OFFSET);
+        if (recordCount < 0 || table < BinaryRosterFormat.HEADER_SIZE
+                || table + 4L * recordCount > buffer.capacity()) {
+            throw new IOException("Encabezado dañado");
+        }
+        tablePosition = (int) table;
+    }
+
+    /**
+     * Decodifica un único estudiante
+     *
+     * @param position Posición de registro (0 = el más antiguo)
+     */
+    public Student get(int position) {
+        if (position < 0 || position >= recordCount) {
+            throw new IndexOutOfBoundsException("Posición " + position + " de " + recordCount);
+        }
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("El lector está cerrado");
+        }
+        // Cada lectura usa su propia vista para poder leer desde varios hilos
+        ByteBuffer view = buffer.duplicate();
+        view.position(buffer.getInt(tablePosition + 4 * position));
+        String name = readField(view);
+        String lastName = readField(view);
+        String email = readField(view);
+        String studentCode = readField(view);
+        return new Student(name, lastName, email, studentCode);
+    }
+
+    @Override
+    public List<Student> read(int from, int count) {
+        if (from < 0 || count < 0 || from + count > recordCount) {
+            throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + recordCount);
+        }
+        List<Student> students = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            students.add(get(i));
+        }
+        return students;
+    }
+
+    /**
+     * Decodifica todos los registros, del más antiguo al más reciente
+     */
+    public List<Student> loadAll() {
+        return read(0, recordCount);
+    }
+
+    @Override
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Suelta el mapeo; las lecturas posteriores fallan
+     * Java no permite desmapear a mano: la memoria se libera cuando el
+     * recolector descarta el buffer, aunque alguien conserve este lector.
+     */
+    public void close() {
+        buffer = null;
+    }
+
+    /**
+     * @return true si ya se llamó a {@link #close()}
+     */
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    static String readField(ByteBuffer view) {
+        int length = view.getShort() & 0xFFFF;
+        if (length == BinaryRosterFormat.NULL_FIELD) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
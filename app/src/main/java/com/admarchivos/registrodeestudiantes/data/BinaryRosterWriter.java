@@ -0,0 +1,132 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escribe una lista de estudiantes en el formato de {@link BinaryRosterFormat}
+ * Los estudiantes se escriben a medida que llegan, sin tener la lista en memoria.
+ * Todo se escribe en un archivo temporal que reemplaza al destino en {@link #close()},
+ * así el archivo anterior sigue siendo válido si la escritura se interrumpe.
+ */
+public class BinaryRosterWriter implements Closeable {
+
+    private final File target;
+    private final File tmp;
+    private final FileOutputStream fileOut;
+    private final DataOutputStream out;
+
+    // Desplazamiento de cada registro escrito
+    private int[] offsets = new int[256];
+    private int count;
+    private long position;
+    private boolean closed;
+
+    public BinaryRosterWriter(File target) throws IOException {
+        this.target = target;
+        this.tmp = new File(target.getPath() + ".tmp");
+        this.fileOut = new FileOutputStream(tmp);
+        this.out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+
+        // Encabezado provisional; cantidad y tabla se completan al cerrar
+        out.writeInt(BinaryRosterFormat.MAGIC);
+        out.writeShort(BinaryRosterFormat.VERSION);
+        out.writeShort(BinaryRosterFormat.FIELD_COUNT);
+        out.write(new byte[BinaryRosterFormat.HEADER_SIZE - 8]);
+        position = BinaryRosterFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Agrega un estudiante al final del archivo
+     */
+    public void write(Student student) throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("El archivo de estudiantes supera 2 GB");
+        }
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = (int) position;
+        writeField(student.getName());
+        writeField(student.getLastName());
+        writeField(student.getEmail());
+        writeField(student.getStudentCode());
+    }
+
+    /**
+     * @return Cantidad de estudiantes escritos hasta ahora
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Escribe la tabla de desplazamientos, completa el encabezado y publica el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long tablePosition = position;
+        try {
+            for (int i = 0; i < count; i++) {
+                out.writeInt(offsets[i]);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+            raf.seek(BinaryRosterFormat.RECORD_COUNT_OFFSET);
+            raf.writeInt(count);
+            raf.seek(BinaryRosterFormat.TABLE_POSITION_OFFSET);
+            raf.writeLong(tablePosition);
+            raf.getFD().sync();
+        }
+
+        if (!tmp.renameTo(target)) {
+            tmp.delete();
+            throw new IOException("No se pudo publicar " + target.getName());
+        }
+    }
+
+    /**
+     * Descarta lo escrito sin tocar el archivo destino
+     */
+    public void abort() {
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Se borra igualmente
+        }
+        tmp.delete();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            out.writeShort(BinaryRosterFormat.NULL_FIELD);
+            position += 2;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > BinaryRosterFormat.MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Campo demasiado largo: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+        position += 2 + bytes.length;
+    }
+}
@@ -0,0 +1,296 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de estudiantes compacta, guardada por columnas en lugar de un objeto por fila
+ * - Apellidos y dominios de email se guardan en diccionarios: los repetidos ocupan un id
+ * - Nombre, parte local del email y código van en UTF-8 dentro de un solo byte[]
+ * - Cada {@link Student} se arma recién al pedirlo con get(), por ejemplo en onBindViewHolder
+ * - Admite filas null (registros dañados del almacenamiento)
+ *
+ * Solo admite agregar filas, al final o en el medio. No es segura para escrituras
+ * concurrentes, pero las vistas de {@link #snapshot()} se pueden leer desde otro
+ * hilo mientras el dueño sigue agregando filas.
+ */
+public class CompactRoster extends AbstractList<Student> implements RandomAccess {
+
+    // Ids especiales de apellido/dominio
+    private static final int NULL_ID = -1;
+    private static final int NO_DOMAIN = -2;
+
+    // Inicio de fila que marca un estudiante null
+    private static final int NULL_ROW = -1;
+
+    private final StringDictionary lastNames;
+    private final StringDictionary domains;
+
+    // Por fila: inicio de sus bytes (o NULL_ROW), id de apellido e id de dominio
+    private int[] rowOffsets = new int[16];
+    private int[] lastNameIds = new int[16];
+    private int[] domainIds = new int[16];
+    private int size;
+
+    // Bytes de nombre, parte local del email y código, uno detrás de otro
+    private byte[] data = new byte[256];
+    private int dataLength;
+
+    public CompactRoster() {
+        this(new StringDictionary(), new StringDictionary());
+    }
+
+    /**
+     * Crea una lista que comparte diccionarios con otras (por ejemplo, las páginas del repositorio)
+     */
+    CompactRoster(StringDictionary lastNames, StringDictionary domains) {
+        this.lastNames = lastNames;
+        this.domains = domains;
+    }
+
+    /**
+     * Agrega un estudiante al final (puede ser null)
+     */
+    @Override
+    public boolean add(Student student) {
+        if (size == rowOffsets.length) {
+            int capacity = size * 2;
+            rowOffsets = Arrays.copyOf(rowOffsets, capacity);
+            lastNameIds = Arrays.copyOf(lastNameIds, capacity);
+            domainIds = Arrays.copyOf(domainIds, capacity);
+        }
+        writeRow(size, student);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserta un estudiante antes de la fila index (por ejemplo, en una lista ordenada)
+     * Los índices por fila se copian a arreglos nuevos, así las vistas de
+     * {@link #snapshot()} ya entregadas no cambian; los bytes van al final.
+     */
+    @Override
+    public void add(int index, Student student) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Posición " + index + " de " + size);
+        }
+        if (index == size) {
+            add(student);
+            return;
+        }
+        int capacity = size == rowOffsets.length ? size * 2 : rowOffsets.length;
+        rowOffsets = copyWithGap(rowOffsets, index, capacity);
+        lastNameIds = copyWithGap(lastNameIds, index, capacity);
+        domainIds = copyWithGap(domainIds, index, capacity);
+        writeRow(index, student);
+        size++;
+        modCount++;
+    }
+
+    private int[] copyWithGap(int[] rows, int index, int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(rows, 0, copy, 0, index);
+        System.arraycopy(rows, index, copy, index + 1, size - index);
+        return copy;
+    }
+
+    /**
+     * Escribe los campos de un estudiante al final de los bytes y los apunta desde la fila
+     */
+    private void writeRow(int row, Student student) {
+        if (student == null) {
+            rowOffsets[row] = NULL_ROW;
+            return;
+        }
+        rowOffsets[row] = dataLength;
+        lastNameIds[row] = student.getLastName() == null ? NULL_ID : lastNames.idOf(student.getLastName());
+
+        String email = student.getEmail();
+        String localPart = email;
+        int domainId = NULL_ID;
+        if (email != null) {
+            int at = email.lastIndexOf('@');
+            if (at >= 0) {
+                localPart = email.substring(0, at);
+                domainId = domains.idOf(email.substring(at + 1));
+            } else {
+                domainId = NO_DOMAIN;
+            }
+        }
+        domainIds[row] = domainId;
+
+        writeField(student.getName());
+        writeField(localPart);
+        writeField(student.getStudentCode());
+    }
+
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posición " + index + " de " + size);
+        }
+        return decode(index, data, rowOffsets, lastNameIds, domainIds, lastNames.values(), domains.values());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Bytes que ocupan las filas: los campos en línea más los tres índices
+     *         por fila (sin contar la capacidad libre ni los diccionarios compartidos)
+     */
+    long encodedSize() {
+        return dataLength + 3L * Integer.BYTES * size;
+    }
+
+    /**
+     * Devuelve solo el código de una fila, sin armar el estudiante completo
+     */
+    public String getStudentCode(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posición " + index + " de " + size);
+        }
+        int offset = rowOffsets[index];
+        if (offset == NULL_ROW) {
+            return null;
+        }
+        offset = skipField(data, offset);
+        offset = skipField(data, offset);
+        return readField(data, offset);
+    }
+
+    /**
+     * Vista inmutable de las filas actuales, sin copiarlas
+     * Las filas agregadas después no aparecen en la vista. Sirve para enviar la
+     * lista a AsyncListDiffer, que la lee desde un hilo de fondo.
+     */
+    public List<Student> snapshot() {
+        return new Snapshot(size, data, rowOffsets, lastNameIds, domainIds, lastNames.values(), domains.values());
+    }
+
+    private void writeField(String value) {
+        if (value == null) {
+            ensureData(1);
+            data[dataLength++] = 0;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureData(5 + bytes.length);
+        // Largo + 1 en varint; 0 significa null
+        int length = bytes.length + 1;
+        while (length >= 0x80) {
+            data[dataLength++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        data[dataLength++] = (byte) length;
+        System.arraycopy(bytes, 0, data, dataLength, bytes.length);
+        dataLength += bytes.length;
+    }
+
+    private void ensureData(int extra) {
+        if (dataLength + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + extra));
+        }
+    }
+
+    private static Student decode(int index, byte[] data, int[] rowOffsets, int[] lastNameIds,
+                                  int[] domainIds, String[] lastNameValues, String[] domainValues) {
+        int offset = rowOffsets[index];
+        if (offset == NULL_ROW) {
+            return null;
+        }
+        String name = readField(data, offset);
+        offset = skipField(data, offset);
+        String localPart = readField(data, offset);
+        offset = skipField(data, offset);
+        String code = readField(data, offset);
+
+        int lastNameId = lastNameIds[index];
+        String lastName = lastNameId == NULL_ID ? null : lastNameValues[lastNameId];
+
+        int domainId = domainIds[index];
+        String email;
+        if (domainId == NULL_ID) {
+            email = null;
+        } else if (domainId == NO_DOMAIN) {
+            email = localPart;
+        } else {
+            email = localPart + "@" + domainValues[domainId];
+        }
+        return new Student(name, lastName, email, code);
+    }
+
+    private static String readField(byte[] data, int offset) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[offset++];
+            length |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (length == 0) {
+            return null;
+        }
+        return new String(data, offset, length - 1, StandardCharsets.UTF_8);
+    }
+
+    private static int skipField(byte[] data, int offset) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[offset++];
+            length |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return length == 0 ? offset : offset + length - 1;
+    }
+
+    /**
+     * Vista fija sobre los arreglos capturados al crearla
+     * Los arreglos solo crecen por copia (también al insertar en el medio) y las
+     * filas existentes no se reescriben, así que las posiciones capturadas no
+     * cambian aunque la lista siga creciendo.
+     */
+    private static final class Snapshot extends AbstractList<Student> implements RandomAccess {
+        private final int size;
+        private final byte[] data;
+        private final int[] rowOffsets;
+        private final int[] lastNameIds;
+        private final int[] domainIds;
+        private final String[] lastNameValues;
+        private final String[] domainValues;
+
+        Snapshot(int size, byte[] data, int[] rowOffsets, int[] lastNameIds, int[] domainIds,
+                 String[] lastNameValues, String[] domainValues) {
+            this.size = size;
+            this.data = data;
+            this.rowOffsets = rowOffsets;
+            this.lastNameIds = lastNameIds;
+            this.domainIds = domainIds;
+            this.lastNameValues = lastNameValues;
+            this.domainValues = domainValues;
+        }
+
+        @Override
+        public Student get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Posición " + index + " de " + size);
+            }
+            return decode(index, data, rowOffsets, lastNameIds, domainIds, lastNameValues, domainValues);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Instancia única de Gson para toda la aplicación
+ * Tiene registrado {@link StudentTypeAdapter}, así ni Student ni List&lt;Student&gt;
+ * pasan por reflexión, y la caché de adaptadores de Gson se calienta una sola vez.
+ * Gson es seguro para usarse desde varios hilos.
+ */
+public final class GsonProvider {
+
+    // Tipo de la lista de estudiantes, creado una sola vez
+    public static final Type STUDENT_LIST_TYPE = new TypeToken<List<Student>>(){}.getType();
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Student.class, new StudentTypeAdapter())
+            .create();
+
+    private GsonProvider() {
+    }
+
+    public static Gson get() {
+        return GSON;
+    }
+}
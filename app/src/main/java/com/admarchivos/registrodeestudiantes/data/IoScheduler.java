@@ -0,0 +1,166 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Planificador de E/S para la persistencia de estudiantes
+ * - Un único hilo escritor ejecuta las modificaciones en el orden en que se enviaron
+ * - Un grupo de hilos lectores ejecuta las lecturas en paralelo
+ * - Toda lectura espera a que terminen las escrituras enviadas antes que ella,
+ *   así un estudiante guardado y luego consultado siempre aparece en la lista
+ * - Los resultados se entregan en el hilo principal solo si la actividad sigue viva
+ */
+public final class IoScheduler {
+
+    // Hilos lectores: suficientes para paginar sin competir con la UI
+    private static final int READER_THREADS = 2;
+
+    /**
+     * Recibe en el hilo principal el resultado de una tarea de E/S
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+
+        void onError(Exception error);
+    }
+
+    private static IoScheduler instance;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(namedThreads("student-io-writer"));
+    private final ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS, namedThreads("student-io-reader"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Escrituras enviadas / terminadas; una lectura espera a todas las enviadas antes que ella
+    private final Object writeProgress = new Object();
+    private long submittedWrites;
+    private long completedWrites;
+
+    public static synchronized IoScheduler getInstance() {
+        if (instance == null) {
+            instance = new IoScheduler();
+        }
+        return instance;
+    }
+
+    private IoScheduler() {
+    }
+
+    /**
+     * Encola una modificación en el hilo escritor
+     *
+     * @param owner Dueño del ciclo de vida que recibirá el resultado (puede ser null)
+     * @param task Modificación a ejecutar
+     * @param callback Recibe el resultado en el hilo principal (puede ser null)
+     */
+    public <T> void write(LifecycleOwner owner, Callable<T> task, Callback<T> callback) {
+        synchronized (writeProgress) {
+            submittedWrites++;
+        }
+        writer.execute(() -> {
+            try {
+                run(owner, task, callback);
+            } finally {
+                synchronized (writeProgress) {
+                    completedWrites++;
+                    writeProgress.notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return Ejecutor que encola cada tarea como una escritura más, sin resultado
+     */
+    public Executor writeExecutor() {
+        return task -> write(null, () -> {
+            task.run();
+            return null;
+        }, null);
+    }
+
+    /**
+     * Encola una lectura en el grupo de lectores
+     * La lectura comienza cuando terminan todas las escrituras enviadas antes que ella
+     *
+     * @param owner Dueño del ciclo de vida que recibirá el resultado (puede ser null)
+     * @param task Lectura a ejecutar
+     * @param callback Recibe el resultado en el hilo principal (puede ser null)
+     */
+    public <T> void read(LifecycleOwner owner, Callable<T> task, Callback<T> callback) {
+        final long barrier;
+        synchronized (writeProgress) {
+            barrier = submittedWrites;
+        }
+        readers.execute(() -> {
+            try {
+                awaitWrites(barrier);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deliverError(owner, callback, e);
+                return;
+            }
+            run(owner, task, callback);
+        });
+    }
+
+    /**
+     * Ejecuta una acción en el hilo principal si el dueño sigue vivo
+     */
+    public void postToMain(LifecycleOwner owner, Runnable action) {
+        mainHandler.post(() -> {
+            if (isAlive(owner)) {
+                action.run();
+            }
+        });
+    }
+
+    private void awaitWrites(long barrier) throws InterruptedException {
+        synchronized (writeProgress) {
+            while (completedWrites < barrier) {
+                writeProgress.wait();
+            }
+        }
+    }
+
+    private <T> void run(LifecycleOwner owner, Callable<T> task, Callback<T> callback) {
+        T result;
+        try {
+            result = task.call();
+        } catch (Exception e) {
+            deliverError(owner, callback, e);
+            return;
+        }
+        if (callback != null) {
+            postToMain(owner, () -> callback.onResult(result));
+        }
+    }
+
+    private <T> void deliverError(LifecycleOwner owner, Callback<T> callback, Exception error) {
+        if (callback != null) {
+            postToMain(owner, () -> callback.onError(error));
+        }
+    }
+
+    private static boolean isAlive(LifecycleOwner owner) {
+        return owner == null
+                || owner.getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.INITIALIZED);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
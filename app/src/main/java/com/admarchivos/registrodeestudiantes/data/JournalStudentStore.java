@@ -0,0 +1,403 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Almacenamiento de estudiantes basado en un journal de solo anexado
+ * Cada estudiante se guarda como una línea JSON al final del archivo, por lo que
+ * registrar un estudiante cuesta O(1) sin importar cuántos haya guardados.
+ * Se mantiene en memoria el desplazamiento de cada línea para poder leer
+ * cualquier rango de registros sin recorrer el archivo completo.
+ * Periódicamente el journal se compacta en segundo plano para descartar
+ * registros dañados (por ejemplo, una escritura interrumpida).
+ */
+public class JournalStudentStore implements StudentStore {
+
+    // Nombre del archivo del journal dentro de getFilesDir()
+    public static final String JOURNAL_FILE_NAME = "students.journal";
+
+    // Cantidad de anexados tras la cual se programa una compactación
+    static final int COMPACTION_THRESHOLD = 512;
+
+    private static JournalStudentStore instance;
+
+    private final File journalFile;
+    private final Gson gson = GsonProvider.get();
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Protege el writer, la tabla de desplazamientos y los contadores
+    private final Object lock = new Object();
+    private Writer writer;
+    // offsets[i] = posición en bytes donde empieza el registro i; length = fin del archivo
+    private long[] offsets = new long[64];
+    private int count;
+    private long length;
+    private int appendsSinceCompaction;
+    private boolean compacting;
+
+    /**
+     * Obtiene la instancia única del proceso, migrando los datos antiguos de
+     * SharedPreferences la primera vez que se abre el journal
+     */
+    public static synchronized JournalStudentStore getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            File file = new File(appContext.getFilesDir(), JOURNAL_FILE_NAME);
+            try {
+                PrefsMigration.migrateIfNeeded(appContext, file);
+                instance = new JournalStudentStore(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo abrir el journal de estudiantes", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Abre (o crea) el journal indicado
+     * Si la última línea quedó incompleta por una escritura interrumpida se descarta
+     */
+    public JournalStudentStore(File journalFile) throws IOException {
+        this.journalFile = journalFile;
+        recoverTail();
+        this.writer = openWriter();
+    }
+
+    @Override
+    public void append(Student student) throws IOException {
+        String line = gson.toJson(student);
+        long recordLength = utf8Length(line) + 1;
+        synchronized (lock) {
+            writer.write(line);
+            writer.write('\n');
+            // Se vacía en cada registro para que sobreviva a la muerte del proceso
+            writer.flush();
+            addOffset(length);
+            length += recordLength;
+            appendsSinceCompaction++;
+            maybeScheduleCompaction();
+        }
+    }
+
+    @Override
+    public void appendAll(List<Student> students) throws IOException {
+        long[] recordLengths = new long[students.size()];
+        synchronized (lock) {
+            for (int i = 0; i < recordLengths.length; i++) {
+                String line = gson.toJson(students.get(i));
+                writer.write(line);
+                writer.write('\n');
+                recordLengths[i] = utf8Length(line) + 1;
+            }
+            // Un solo vaciado para todo el lote; los desplazamientos se publican después
+            writer.flush();
+            for (long recordLength : recordLengths) {
+                addOffset(length);
+                length += recordLength;
+            }
+            appendsSinceCompaction += students.size();
+            maybeScheduleCompaction();
+        }
+    }
+
+    private void maybeScheduleCompaction() {
+        if (appendsSinceCompaction >= COMPACTION_THRESHOLD && !compacting) {
+            compacting = true;
+            compactionExecutor.execute(this::compactQuietly);
+        }
+    }
+
+    @Override
+    public List<Student> loadAll() throws IOException {
+        BufferedReader openedReader;
+        synchronized (lock) {
+            // Se abre dentro del lock para no mezclarse con el reemplazo de una compactación
+            openedReader = openReader(0, length);
+        }
+        List<Student> students = new ArrayList<>();
+        try (BufferedReader reader = openedReader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Student student = parse(line);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public List<Student> read(int from, int count) throws IOException {
+        BufferedReader openedReader;
+        synchronized (lock) {
+            if (from < 0 || count < 0 || from + count > this.count) {
+                throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + this.count);
+            }
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            long end = from + count < this.count ? offsets[from + count] : length;
+            // Solo se leen los bytes del rango pedido
+            openedReader = openReader(offsets[from], end);
+        }
+        List<Student> students = new ArrayList<>(count);
+        try (BufferedReader reader = openedReader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                students.add(parse(line));
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return count;
+        }
+    }
+
+    @Override
+    public void close() {
+        compactionExecutor.shutdown();
+        synchronized (lock) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // No hay nada más que hacer al cerrar
+            }
+        }
+    }
+
+    /**
+     * Reescribe el journal conservando solo los registros válidos
+     * Los lectores y escritores solo se bloquean mientras se copia la cola
+     * anexada durante la compactación y se renombra el archivo.
+     */
+    public void compact() throws IOException {
+        long snapshotLength;
+        synchronized (lock) {
+            snapshotLength = length;
+        }
+
+        File compacted = new File(journalFile.getPath() + ".compact");
+        FileOutputStream out = new FileOutputStream(compacted);
+        Writer compactedWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        OffsetTable compactedOffsets = new OffsetTable();
+        try {
+            // Copia principal sin bloquear a los escritores
+            copyValidRecords(0, snapshotLength, compactedWriter, compactedOffsets);
+
+            synchronized (lock) {
+                // Copiar lo que se anexó mientras tanto y sustituir el archivo
+                copyValidRecords(snapshotLength, length, compactedWriter, compactedOffsets);
+                compactedWriter.flush();
+                out.getFD().sync();
+                compactedWriter.close();
+                writer.close();
+                if (!compacted.renameTo(journalFile)) {
+                    writer = openWriter();
+                    throw new IOException("No se pudo reemplazar el journal compactado");
+                }
+                writer = openWriter();
+                offsets = compactedOffsets.offsets;
+                count = compactedOffsets.count;
+                length = compactedOffsets.length;
+                appendsSinceCompaction = 0;
+            }
+        } finally {
+            compactedWriter.close();
+            compacted.delete();
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException ignored) {
+            // Se reintentará en el siguiente umbral de compactación
+        } finally {
+            synchronized (lock) {
+                compacting = false;
+            }
+        }
+    }
+
+    private void copyValidRecords(long from, long to, Writer target, OffsetTable table) throws IOException {
+        try (BufferedReader reader = openReader(from, to)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (parse(line) != null) {
+                    target.write(line);
+                    target.write('\n');
+                    table.add(utf8Length(line) + 1);
+                }
+            }
+        }
+    }
+
+    private void addOffset(long offset) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = offset;
+    }
+
+    /**
+     * Convierte una línea del journal en Student, o null si está dañada
+     */
+    private Student parse(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        try {
+            Student student = gson.fromJson(line, Student.class);
+            return student != null && student.getStudentCode() != null ? student : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private Writer openWriter() throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(journalFile, true), StandardCharsets.UTF_8));
+    }
+
+    private BufferedReader openReader(long from, long to) throws IOException {
+        InputStream in = new FileInputStream(journalFile);
+        if (from > 0 && in.skip(from) != from) {
+            in.close();
+            throw new IOException("Journal truncado");
+        }
+        return new BufferedReader(new InputStreamReader(
+                new BoundedInputStream(in, to - from), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Construye la tabla de desplazamientos y trunca una posible línea final incompleta
+     */
+    private void recoverTail() throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        long position = 0;
+        long startOfLine = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(journalFile))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '\n') {
+                    addOffset(startOfLine);
+                    startOfLine = position;
+                }
+            }
+        }
+        length = startOfLine;
+        if (startOfLine < position) {
+            try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+                raf.setLength(startOfLine);
+            }
+        }
+    }
+
+    /**
+     * Longitud en bytes de un texto codificado en UTF-8, sin crear el arreglo de bytes
+     */
+    static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Tabla de desplazamientos construida durante una compactación
+     */
+    private static final class OffsetTable {
+        long[] offsets = new long[64];
+        int count;
+        long length;
+
+        void add(long recordLength) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = length;
+            length += recordLength;
+        }
+    }
+
+    /**
+     * InputStream que deja de leer tras una cantidad fija de bytes
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+    }
+}
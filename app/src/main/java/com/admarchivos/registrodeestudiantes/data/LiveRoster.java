@@ -0,0 +1,253 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Lista mostrada del más reciente al más antiguo, al día con {@link RosterChangeFeed}
+ * - Las páginas de {@link StudentPageLoader} cubren las posiciones menores que su
+ *   tamaño inicial; los registrados después llegan como INSERT del flujo
+ * - UPDATE y DELETE se guardan aparte, por posición de registro, y se aplican al
+ *   armar cada vista, sin reescribir las listas compactas
+ * - Recuerda la última secuencia aplicada: al recrear la pantalla basta con
+ *   suscribirse desde ahí y aplicar lo que falte, sin volver a leer páginas
+ * Solo se usa desde un hilo (el principal), como {@link CompactRoster}.
+ */
+public class LiveRoster {
+
+    // Con más cambios sueltos que estos conviene volver a leer la lista
+    static final int MAX_PATCHES = 256;
+
+    private final long epoch;
+    private long lastSequence;
+
+    // Registrados después de crear el cargador, en orden de registro
+    private final CompactRoster added = new CompactRoster();
+    // Páginas cargadas, del más reciente al más antiguo
+    private final CompactRoster loaded = new CompactRoster();
+    // Tamaño de la lista al crear el cargador; -1 mientras no se conoce
+    private int initialSize = -1;
+    // INSERT que llegan antes de conocer initialSize
+    private final List<RosterChange> pendingInserts = new ArrayList<>();
+
+    // Por posición de registro: datos actualizados y bajas
+    private final Map<Integer, Student> updated = new HashMap<>();
+    private final TreeSet<Integer> removed = new TreeSet<>();
+    private boolean needsReload;
+
+    /**
+     * @param epoch Época del flujo al que se suscribe
+     * @param lastSequence Secuencia ya cubierta por lo que se va a cargar
+     */
+    public LiveRoster(long epoch, long lastSequence) {
+        this.epoch = epoch;
+        this.lastSequence = lastSequence;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Fija el tamaño inicial del cargador y aplica los registros que esperaban
+     */
+    public void setInitialSize(int initialSize) {
+        this.initialSize = initialSize;
+        for (RosterChange change : pendingInserts) {
+            insert(change);
+        }
+        pendingInserts.clear();
+    }
+
+    /**
+     * Agrega una página del cargador al final
+     */
+    public void addPage(List<Student> page) {
+        loaded.addAll(page);
+    }
+
+    /**
+     * Aplica cambios del flujo; los ya aplicados (secuencia vieja) se ignoran
+     *
+     * @return true si cambió lo que se muestra
+     */
+    public boolean apply(List<RosterChange> changes) {
+        boolean changed = false;
+        for (RosterChange change : changes) {
+            if (change.sequence <= lastSequence) {
+                continue;
+            }
+            lastSequence = change.sequence;
+            switch (change.type) {
+                case INSERT:
+                    if (initialSize < 0) {
+                        pendingInserts.add(change);
+                    } else {
+                        changed |= insert(change);
+                    }
+                    break;
+                case UPDATE:
+                    if (!removed.contains(change.position)) {
+                        updated.put(change.position, change.student);
+                        changed = true;
+                    }
+                    break;
+                case DELETE:
+                    updated.remove(change.position);
+                    changed |= removed.add(change.position);
+                    break;
+            }
+        }
+        if (updated.size() + removed.size() > MAX_PATCHES) {
+            needsReload = true;
+        }
+        return changed;
+    }
+
+    private boolean insert(RosterChange change) {
+        int offset = change.position - initialSize;
+        if (offset < 0 || offset < added.size()) {
+            // Ya lo cubren las páginas o ya se agregó
+            return false;
+        }
+        if (offset > added.size()) {
+            // Faltan registros anteriores: no debería pasar con secuencias consecutivas
+            needsReload = true;
+            return false;
+        }
+        added.add(change.student);
+        return true;
+    }
+
+    /**
+     * @return true si se acumularon demasiados cambios sueltos o faltan registros:
+     *         conviene descartar esta lista y volver a cargarla
+     */
+    public boolean needsReload() {
+        return needsReload;
+    }
+
+    /**
+     * @return Cantidad de filas que muestra {@link #snapshot()}
+     */
+    public int size() {
+        int addedCount = added.size();
+        int loadedCount = loaded.size();
+        int count = addedCount + loadedCount;
+        for (int position : removed) {
+            if (indexOf(position, addedCount, loadedCount) >= 0) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Cantidad de estudiantes de las páginas cargadas
+     */
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Vista fija de lo que se muestra, sin copiar estudiantes
+     * Solo copia los cambios sueltos (pocos) a índices de la vista.
+     */
+    public List<Student> snapshot() {
+        int addedCount = added.size();
+        int loadedCount = loaded.size();
+        int[] removedIndexes = new int[removed.size()];
+        int count = 0;
+        // Posiciones de mayor a menor dan índices de menor a mayor
+        for (int position : removed.descendingSet()) {
+            int index = indexOf(position, addedCount, loadedCount);
+            if (index >= 0) {
+                removedIndexes[count++] = index;
+            }
+        }
+        TreeMap<Integer, Student> updatedIndexes = new TreeMap<>();
+        for (Map.Entry<Integer, Student> entry : updated.entrySet()) {
+            int index = indexOf(entry.getKey(), addedCount, loadedCount);
+            if (index >= 0) {
+                updatedIndexes.put(index, entry.getValue());
+            }
+        }
+        return new View(added.snapshot(), loaded.snapshot(), Arrays.copyOf(removedIndexes, count),
+                updatedIndexes.isEmpty() ? null : updatedIndexes);
+    }
+
+    /**
+     * @return Índice en la lista sin bajas de una posición de registro, o -1 si no se muestra
+     */
+    private int indexOf(int position, int addedCount, int loadedCount) {
+        if (initialSize < 0) {
+            return -1;
+        }
+        if (position >= initialSize) {
+            int offset = position - initialSize;
+            return offset < addedCount ? addedCount - 1 - offset : -1;
+        }
+        int offset = initialSize - 1 - position;
+        return offset < loadedCount ? addedCount + offset : -1;
+    }
+
+    /**
+     * Los registrados (invertidos) seguidos de las páginas, sin las bajas y con
+     * los datos actualizados
+     */
+    private static final class View extends AbstractList<Student> implements RandomAccess {
+        private final List<Student> added;
+        private final List<Student> loaded;
+        private final int[] removedIndexes;
+        private final Map<Integer, Student> updatedIndexes;
+
+        View(List<Student> added, List<Student> loaded, int[] removedIndexes, Map<Integer, Student> updatedIndexes) {
+            this.added = added;
+            this.loaded = loaded;
+            this.removedIndexes = removedIndexes;
+            this.updatedIndexes = updatedIndexes;
+        }
+
+        @Override
+        public Student get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Posición " + index + " de " + size());
+            }
+            // Saltar las bajas anteriores (son pocas, ver MAX_PATCHES)
+            int base = index;
+            for (int removedIndex : removedIndexes) {
+                if (removedIndex > base) {
+                    break;
+                }
+                base++;
+            }
+            if (updatedIndexes != null) {
+                Student student = updatedIndexes.get(base);
+                if (student != null) {
+                    return student;
+                }
+            }
+            int addedCount = added.size();
+            return base < addedCount
+                    ? added.get(addedCount - 1 - base)
+                    : loaded.get(base - addedCount);
+        }
+
+        @Override
+        public int size() {
+            return added.size() + loaded.size() - removedIndexes.length;
+        }
+    }
+}
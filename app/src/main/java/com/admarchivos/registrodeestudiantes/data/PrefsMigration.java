@@ -0,0 +1,69 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Migración única de la lista guardada en SharedPreferences ("StudentPrefs" /
+ * "students_list") hacia el journal de estudiantes
+ */
+final class PrefsMigration {
+
+    static final String PREFS_NAME = "StudentPrefs";
+    static final String KEY_STUDENTS = "students_list";
+    static final String KEY_MIGRATED = "journal_migrated";
+
+    private PrefsMigration() {
+    }
+
+    /**
+     * Copia los estudiantes de SharedPreferences al journal si aún no se hizo
+     * El journal se escribe en un archivo temporal y se renombra, así una
+     * migración interrumpida simplemente se repite en el siguiente arranque.
+     */
+    static void migrateIfNeeded(Context context, File journalFile) throws IOException {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_MIGRATED, false)) {
+            return;
+        }
+
+        String studentsJson = prefs.getString(KEY_STUDENTS, null);
+        if (studentsJson != null) {
+            Gson gson = GsonProvider.get();
+            List<Student> students = gson.fromJson(studentsJson, GsonProvider.STUDENT_LIST_TYPE);
+
+            File tmp = new File(journalFile.getPath() + ".migration");
+            FileOutputStream out = new FileOutputStream(tmp);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                if (students != null) {
+                    for (Student student : students) {
+                        writer.write(gson.toJson(student));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+                out.getFD().sync();
+            }
+            if (!tmp.renameTo(journalFile)) {
+                tmp.delete();
+                throw new IOException("No se pudo mover la migración al journal");
+            }
+        }
+
+        // commit() síncrono: solo ocurre una vez y debe quedar registrado antes de anexar
+        prefs.edit()
+                .remove(KEY_STUDENTS)
+                .putBoolean(KEY_MIGRATED, true)
+                .commit();
+    }
+}
@@ -0,0 +1,40 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+
+/**
+ * Un cambio de la lista de estudiantes publicado por {@link RosterChangeFeed}
+ * La posición es la de registro (0 = el más antiguo) y no cambia con los
+ * demás cambios; una baja deja su posición vacía.
+ */
+public final class RosterChange {
+
+    /**
+     * Tipo de cambio
+     */
+    public enum Type {
+        // Estudiante registrado al final de la lista
+        INSERT,
+        // Datos nuevos del estudiante en esa posición
+        UPDATE,
+        // Estudiante dado de baja; student tiene los datos que tenía
+        DELETE
+    }
+
+    public final long sequence;
+    public final Type type;
+    public final int position;
+    public final Student student;
+
+    public RosterChange(long sequence, Type type, int position, Student student) {
+        this.sequence = sequence;
+        this.type = type;
+        this.position = position;
+        this.student = student;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + position;
+    }
+}
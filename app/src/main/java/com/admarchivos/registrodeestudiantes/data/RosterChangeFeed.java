@@ -0,0 +1,125 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flujo de cambios de la lista de estudiantes, con números de secuencia
+ * - Cada cambio recibe la secuencia siguiente (la primera es 1); el orden de las
+ *   secuencias es el orden en que se aplicaron al repositorio
+ * - Guarda los últimos cambios en un buffer circular: quien se suscribe con la
+ *   última secuencia que vio recibe primero los que se perdió y después los nuevos
+ * - Si esos cambios ya salieron del buffer, o la secuencia es de otro flujo
+ *   (otro proceso), recibe {@link Listener#onReset()} y debe volver a leer todo
+ * Los cambios se entregan en el hilo que los publicó (o en el que se suscribe,
+ * para los perdidos), así que los receptores solo deben pasarlos a su hilo.
+ */
+public class RosterChangeFeed {
+
+    // Cambios recientes que se pueden volver a entregar
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // Distingue los flujos de distintos repositorios del mismo proceso
+    private static final AtomicLong EPOCHS = new AtomicLong();
+
+    /**
+     * Receptor de cambios
+     */
+    public interface Listener {
+        /**
+         * @param changes Cambios con secuencias consecutivas, en orden
+         */
+        void onChanges(List<RosterChange> changes);
+
+        /**
+         * Los cambios desde la secuencia pedida ya no están: hay que volver a leer la lista
+         */
+        void onReset();
+    }
+
+    private final long epoch = EPOCHS.incrementAndGet();
+    private final RosterChange[] buffer;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private long latestSequence;
+
+    public RosterChangeFeed() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RosterChangeFeed(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity debe ser al menos 1");
+        }
+        buffer = new RosterChange[capacity];
+    }
+
+    /**
+     * @return Identificador de este flujo; una secuencia solo vale con su época
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return Secuencia del último cambio publicado (0 si no hubo ninguno)
+     */
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    /**
+     * Suscribe un receptor a partir de la última secuencia que vio
+     * Los cambios posteriores que sigan en el buffer se entregan antes de volver.
+     *
+     * @param epoch Época de la secuencia ({@link #getEpoch()})
+     * @param afterSequence Última secuencia vista; {@link #getLatestSequence()} para solo los nuevos
+     */
+    public synchronized void subscribe(long epoch, long afterSequence, Listener listener) {
+        listeners.add(listener);
+        long oldest = Math.max(1, latestSequence - buffer.length + 1);
+        if (epoch != this.epoch || afterSequence > latestSequence || afterSequence + 1 < oldest) {
+            listener.onReset();
+            return;
+        }
+        if (afterSequence < latestSequence) {
+            List<RosterChange> missed = new ArrayList<>((int) (latestSequence - afterSequence));
+            for (long sequence = afterSequence + 1; sequence <= latestSequence; sequence++) {
+                missed.add(buffer[(int) (sequence % buffer.length)]);
+            }
+            listener.onChanges(Collections.unmodifiableList(missed));
+        }
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Publica un cambio por estudiante, con posiciones consecutivas
+     * El repositorio lo llama mientras tiene su lock, así las secuencias siguen
+     * el orden de las escrituras.
+     *
+     * @param type Tipo de los cambios
+     * @param students Estudiantes afectados, en orden
+     * @param firstPosition Posición de registro del primero
+     */
+    public synchronized void publish(RosterChange.Type type, List<Student> students, int firstPosition) {
+        if (students.isEmpty()) {
+            return;
+        }
+        List<RosterChange> changes = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            RosterChange change = new RosterChange(++latestSequence, type, firstPosition + i, students.get(i));
+            buffer[(int) (change.sequence % buffer.length)] = change;
+            changes.add(change);
+        }
+        List<RosterChange> published = Collections.unmodifiableList(changes);
+        for (Listener listener : listeners) {
+            listener.onChanges(published);
+        }
+    }
+}
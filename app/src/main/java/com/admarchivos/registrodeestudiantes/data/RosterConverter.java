@@ -0,0 +1,82 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Conversión de los formatos existentes al formato binario
+ * Los datos se recorren en streaming, sin cargar la lista completa en memoria.
+ */
+public final class RosterConverter {
+
+    // Registros leídos por lote al convertir desde un StudentStore
+    private static final int BATCH_SIZE = 1024;
+
+    private RosterConverter() {
+    }
+
+    /**
+     * Convierte el JSON de "students_list" (un arreglo de estudiantes) al formato binario
+     *
+     * @param json Lector del JSON; no se cierra
+     * @param target Archivo binario a crear o reemplazar
+     * @return Cantidad de estudiantes convertidos
+     */
+    public static int jsonToBinary(Reader json, File target) throws IOException {
+        Gson gson = GsonProvider.get();
+        BinaryRosterWriter writer = new BinaryRosterWriter(target);
+        try {
+            JsonReader reader = new JsonReader(json);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    Student student = gson.fromJson(reader, Student.class);
+                    if (student != null) {
+                        writer.write(student);
+                    }
+                }
+                reader.endArray();
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        return writer.getCount();
+    }
+
+    /**
+     * Copia todos los estudiantes de un almacenamiento al formato binario
+     *
+     * @param source Almacenamiento de origen (por ejemplo, el journal)
+     * @param target Archivo binario a crear o reemplazar
+     * @return Cantidad de estudiantes convertidos
+     */
+    public static int storeToBinary(StudentStore source, File target) throws IOException {
+        BinaryRosterWriter writer = new BinaryRosterWriter(target);
+        try {
+            int size = source.size();
+            for (int from = 0; from < size; from += BATCH_SIZE) {
+                List<Student> batch = source.read(from, Math.min(BATCH_SIZE, size - from));
+                for (Student student : batch) {
+                    if (student != null) {
+                        writer.write(student);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        return writer.getCount();
+    }
+}
@@ -0,0 +1,21 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Almacenamiento que resuelve búsquedas por sí mismo (por ejemplo con FTS)
+ * {@link StudentRepository} lo usa en lugar de construir su índice en memoria.
+ */
+public interface SearchableStore {
+
+    /**
+     * Busca estudiantes cuyas palabras empiecen con cada palabra de la consulta
+     *
+     * @param query Texto escrito por el usuario
+     * @param limit Máximo de resultados
+     * @return Estudiantes encontrados, los más recientes primero
+     */
+    List<Student> search(String query, int limit) throws IOException;
+}
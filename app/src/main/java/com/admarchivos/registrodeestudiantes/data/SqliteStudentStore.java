@@ -0,0 +1,402 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.search.TextNormalizer;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacenamiento de estudiantes en la base SQLite de la plataforma
+ * - Tabla students con id INTEGER PRIMARY KEY: los ids se asignan seguidos desde
+ *   1 y nunca se borran filas, así la posición de registro p es el id p + 1
+ * - Índice único sobre student_code (sin distinguir mayúsculas)
+ * - Tabla FTS4 con nombre, apellido, email y código ya normalizados (sin tildes,
+ *   en minúsculas), para buscar por prefijos igual que {@link StudentRepository#search}
+ * - Los lotes se insertan con sentencias preparadas dentro de una transacción
+ * - Un rango de posiciones se lee por rango de clave primaria (keyset), sin
+ *   OFFSET: la lista pagina del más reciente al más antiguo sin leer todas las filas
+ *
+ * La primera vez que se crea la base se importan los estudiantes guardados por
+ * el almacenamiento anterior (log, journal o "StudentPrefs"); esos archivos se conservan.
+ */
+public class SqliteStudentStore implements StudentStore, SearchableStore {
+
+    public static final String DATABASE_NAME = "students.db";
+    static final int DATABASE_VERSION = 1;
+
+    private static final String SELECT_COLUMNS = "SELECT name, last_name, email, student_code FROM students ";
+
+    // Ids por consulta en readAt; los ids van en el texto, no como parámetros
+    private static final int READ_AT_BATCH = 500;
+
+    private static SqliteStudentStore instance;
+
+    private final Context appContext;
+    private final Helper helper;
+    private final SQLiteDatabase db;
+
+    // Sentencias preparadas una vez; se usan solo dentro del lock del objeto
+    private final SQLiteStatement insertStudent;
+    private final SQLiteStatement insertSearchText;
+
+    private int count;
+
+    /**
+     * Obtiene la instancia única del proceso
+     */
+    public static synchronized SqliteStudentStore getInstance(Context context) {
+        if (instance == null) {
+            try {
+                instance = new SqliteStudentStore(context, DATABASE_NAME);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo abrir la base de estudiantes", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Abre (o crea y migra) la base indicada
+     *
+     * @param name Nombre de la base, o null para una base en memoria
+     */
+    public SqliteStudentStore(Context context, String name) throws IOException {
+        this.appContext = context.getApplicationContext();
+        this.helper = new Helper(appContext, name);
+        try {
+            db = helper.getWritableDatabase();
+            insertStudent = db.compileStatement(
+                    "INSERT INTO students (name, last_name, email, student_code) VALUES (?, ?, ?, ?)");
+            insertSearchText = db.compileStatement(
+                    "INSERT INTO students_fts (docid, name, last_name, email, student_code) VALUES (?, ?, ?, ?, ?)");
+            count = (int) DatabaseUtils.queryNumEntries(db, "students");
+        } catch (SQLException e) {
+            throw new IOException("No se pudo abrir la base de estudiantes", e);
+        }
+        // Solo después de confirmar la importación se marca la lista antigua como migrada
+        if (helper.importedPrefs) {
+            markPrefsMigrated(appContext);
+        }
+    }
+
+    @Override
+    public void append(Student student) throws IOException {
+        List<Student> single = new ArrayList<>(1);
+        single.add(student);
+        appendAll(single);
+    }
+
+    @Override
+    public synchronized void appendAll(List<Student> students) throws IOException {
+        db.beginTransaction();
+        try {
+            for (Student student : students) {
+                insert(insertStudent, insertSearchText, student);
+            }
+            db.setTransactionSuccessful();
+        } catch (SQLException e) {
+            // Por ejemplo un código repetido: no se guarda nada del lote
+            throw new IOException("No se pudo guardar el lote de estudiantes", e);
+        } finally {
+            db.endTransaction();
+        }
+        count += students.size();
+    }
+
+    @Override
+    public List<Student> loadAll() throws IOException {
+        return read(0, size());
+    }
+
+    @Override
+    public List<Student> read(int from, int count) throws IOException {
+        synchronized (this) {
+            if (from < 0 || count < 0 || from + count > this.count) {
+                throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + this.count);
+            }
+        }
+        List<Student> students = new ArrayList<>(count);
+        if (count == 0) {
+            return students;
+        }
+        // Posición p = id p + 1: el rango es una búsqueda por clave primaria
+        try (Cursor cursor = db.rawQuery(SELECT_COLUMNS + "WHERE id > ? AND id <= ? ORDER BY id",
+                new String[]{Integer.toString(from), Integer.toString(from + count)})) {
+            while (cursor.moveToNext()) {
+                students.add(studentAt(cursor));
+            }
+        } catch (SQLException e) {
+            throw new IOException("No se pudo leer la base de estudiantes", e);
+        }
+        return students;
+    }
+
+    /**
+     * Lee posiciones sueltas con consultas por clave primaria de hasta
+     * READ_AT_BATCH ids cada una
+     */
+    @Override
+    public List<Student> readAt(int[] positions) throws IOException {
+        synchronized (this) {
+            for (int position : positions) {
+                if (position < 0 || position >= count) {
+                    throw new IndexOutOfBoundsException("Posición " + position + " de " + count);
+                }
+            }
+        }
+        Map<Integer, Student> byPosition = new HashMap<>(positions.length * 2);
+        for (int from = 0; from < positions.length; from += READ_AT_BATCH) {
+            int to = Math.min(positions.length, from + READ_AT_BATCH);
+            StringBuilder ids = new StringBuilder();
+            for (int i = from; i < to; i++) {
+                if (ids.length() > 0) {
+                    ids.append(',');
+                }
+                ids.append(positions[i] + 1);
+            }
+            try (Cursor cursor = db.rawQuery("SELECT id, name, last_name, email, student_code FROM students"
+                    + " WHERE id IN (" + ids + ")", null)) {
+                while (cursor.moveToNext()) {
+                    byPosition.put((int) cursor.getLong(0) - 1, new Student(cursor.getString(1),
+                            cursor.getString(2), cursor.getString(3), cursor.getString(4)));
+                }
+            } catch (SQLException e) {
+                throw new IOException("No se pudo leer la base de estudiantes", e);
+            }
+        }
+        List<Student> students = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            students.add(byPosition.get(position));
+        }
+        return students;
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public List<Student> search(String query, int limit) throws IOException {
+        String match = matchExpression(query);
+        List<Student> students = new ArrayList<>();
+        if (match == null || limit <= 0) {
+            return students;
+        }
+        try (Cursor cursor = db.rawQuery(SELECT_COLUMNS
+                        + "WHERE id IN (SELECT docid FROM students_fts WHERE students_fts MATCH ?)"
+                        + " ORDER BY id DESC LIMIT " + limit,
+                new String[]{match})) {
+            while (cursor.moveToNext()) {
+                students.add(studentAt(cursor));
+            }
+        } catch (SQLException e) {
+            throw new IOException("No se pudo buscar en la base de estudiantes", e);
+        }
+        return students;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            insertStudent.close();
+            insertSearchText.close();
+        }
+        helper.close();
+    }
+
+    /**
+     * Convierte la consulta en una expresión MATCH de prefijos: "jos per" -> "jos* per*"
+     * Las palabras normalizadas solo tienen letras y dígitos, así que no hay que escapar nada.
+     *
+     * @return La expresión, o null si la consulta no tiene palabras
+     */
+    static String matchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        TextNormalizer.tokenize(query, token -> {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append(token).append('*');
+        });
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Inserta un estudiante y su texto de búsqueda
+     *
+     * @return false si se ignoró (solo con INSERT OR IGNORE)
+     */
+    private static boolean insert(SQLiteStatement students, SQLiteStatement searchText, Student student) {
+        bindNullable(students, 1, student.getName());
+        bindNullable(students, 2, student.getLastName());
+        bindNullable(students, 3, student.getEmail());
+        bindNullable(students, 4, student.getStudentCode());
+        long id = students.executeInsert();
+        if (id == -1) {
+            return false;
+        }
+        searchText.bindLong(1, id);
+        bindNullable(searchText, 2, normalized(student.getName()));
+        bindNullable(searchText, 3, normalized(student.getLastName()));
+        bindNullable(searchText, 4, normalized(student.getEmail()));
+        bindNullable(searchText, 5, normalized(student.getStudentCode()));
+        searchText.executeInsert();
+        return true;
+    }
+
+    private static void bindNullable(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    // Palabras normalizadas separadas por espacios, como las tokeniza TextNormalizer
+    private static String normalized(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder words = new StringBuilder(text.length());
+        TextNormalizer.tokenize(text, token -> {
+            if (words.length() > 0) {
+                words.append(' ');
+            }
+            words.append(token);
+        });
+        return words.toString();
+    }
+
+    private static Student studentAt(Cursor cursor) {
+        return new Student(cursor.getString(0), cursor.getString(1), cursor.getString(2), cursor.getString(3));
+    }
+
+    private static void markPrefsMigrated(Context context) {
+        context.getSharedPreferences(PrefsMigration.PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .remove(PrefsMigration.KEY_STUDENTS)
+                .putBoolean(PrefsMigration.KEY_MIGRATED, true)
+                .commit();
+    }
+
+    /**
+     * Crea el esquema e importa los datos anteriores en la misma transacción
+     */
+    private static final class Helper extends SQLiteOpenHelper {
+
+        // Estudiantes leídos por lote al importar otro almacenamiento
+        private static final int IMPORT_BATCH = 1024;
+
+        private final Context context;
+        private boolean importedPrefs;
+
+        Helper(Context context, String name) {
+            super(context, name, null, DATABASE_VERSION);
+            this.context = context;
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE students ("
+                    + "id INTEGER PRIMARY KEY, "
+                    + "name TEXT, "
+                    + "last_name TEXT, "
+                    + "email TEXT, "
+                    + "student_code TEXT NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX students_student_code ON students (student_code COLLATE NOCASE)");
+            db.execSQL("CREATE VIRTUAL TABLE students_fts USING fts4(name, last_name, email, student_code)");
+            try {
+                importPrevious(db);
+            } catch (IOException e) {
+                // Se deshace la creación y se reintenta en el próximo arranque
+                throw new SQLException("No se pudieron importar los estudiantes anteriores", e);
+            }
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            // Única versión del esquema
+        }
+
+        /**
+         * Importa del almacenamiento que la app usaba antes, el más nuevo que exista
+         * Los repetidos se omiten (INSERT OR IGNORE) en lugar de abortar la importación.
+         */
+        private void importPrevious(SQLiteDatabase db) throws IOException {
+            SQLiteStatement students = db.compileStatement(
+                    "INSERT OR IGNORE INTO students (name, last_name, email, student_code) VALUES (?, ?, ?, ?)");
+            SQLiteStatement searchText = db.compileStatement(
+                    "INSERT INTO students_fts (docid, name, last_name, email, student_code) VALUES (?, ?, ?, ?, ?)");
+            try {
+                File dir = context.getFilesDir();
+                File checkpoint = new File(dir, WalStudentStore.CHECKPOINT_FILE_NAME);
+                File log = new File(dir, WalStudentStore.LOG_FILE_NAME);
+                File journal = new File(dir, JournalStudentStore.JOURNAL_FILE_NAME);
+                if (checkpoint.exists() || log.exists()) {
+                    // Solo lectura: importar no debe crear ni recortar los archivos
+                    WalStudentStore.Snapshot source = WalStudentStore.openSnapshot(checkpoint, log);
+                    try {
+                        importStore(source, students, searchText);
+                    } finally {
+                        source.close();
+                    }
+                } else if (journal.exists()) {
+                    JournalStudentStore source = new JournalStudentStore(journal);
+                    try {
+                        importStore(source, students, searchText);
+                    } finally {
+                        source.close();
+                    }
+                } else {
+                    importPrefs(students, searchText);
+                }
+            } finally {
+                students.close();
+                searchText.close();
+            }
+        }
+
+        private void importStore(StudentSource source, SQLiteStatement students, SQLiteStatement searchText)
+                throws IOException {
+            int size = source.size();
+            for (int from = 0; from < size; from += IMPORT_BATCH) {
+                for (Student student : source.read(from, Math.min(IMPORT_BATCH, size - from))) {
+                    if (student != null && student.getStudentCode() != null) {
+                        insert(students, searchText, student);
+                    }
+                }
+            }
+        }
+
+        private void importPrefs(SQLiteStatement students, SQLiteStatement searchText) {
+            SharedPreferences prefs = context.getSharedPreferences(PrefsMigration.PREFS_NAME, Context.MODE_PRIVATE);
+            if (prefs.getBoolean(PrefsMigration.KEY_MIGRATED, false)) {
+                return;
+            }
+            String studentsJson = prefs.getString(PrefsMigration.KEY_STUDENTS, null);
+            if (studentsJson != null) {
+                List<Student> saved = GsonProvider.get().fromJson(studentsJson, GsonProvider.STUDENT_LIST_TYPE);
+                if (saved != null) {
+                    for (Student student : saved) {
+                        if (student != null && student.getStudentCode() != null) {
+                            insert(students, searchText, student);
+                        }
+                    }
+                }
+            }
+            importedPrefs = true;
+        }
+    }
+}
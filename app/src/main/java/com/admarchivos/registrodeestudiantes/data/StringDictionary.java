@@ -0,0 +1,49 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diccionario de cadenas repetidas: cada valor distinto se guarda una sola vez
+ * y se referencia por un id entero. Los ids nunca cambian ni se liberan, así
+ * un arreglo de valores capturado sigue siendo válido para todos los ids que
+ * existían al capturarlo aunque después se agreguen más.
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] values = new String[16];
+    private int count;
+
+    /**
+     * @return Id del valor, agregándolo si no existía
+     */
+    int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count] = value;
+        ids.put(value, count);
+        return count++;
+    }
+
+    String valueOf(int id) {
+        return values[id];
+    }
+
+    /**
+     * @return Arreglo actual de valores, válido para los ids ya asignados
+     */
+    String[] values() {
+        return values;
+    }
+
+    int size() {
+        return count;
+    }
+}
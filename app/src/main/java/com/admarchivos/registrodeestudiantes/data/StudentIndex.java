@@ -0,0 +1,206 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice único de estudiantes por código y, de forma secundaria, por email
+ * Permite detectar duplicados en O(1) al registrar. Se guarda en disco junto con
+ * la cantidad de registros que cubre; al abrirlo solo se indexan los registros
+ * que se agregaron después de la última instantánea.
+ */
+public class StudentIndex {
+
+    public static final String INDEX_FILE_NAME = "students.idx";
+
+    // Cada cuántas altas se vuelve a guardar la instantánea en disco
+    static final int SNAPSHOT_INTERVAL = 1024;
+
+    private static final int MAGIC = 0x53494458; // "SIDX"
+    private static final int VERSION = 1;
+    private static final int CATCH_UP_BATCH = 1024;
+
+    private final File indexFile;
+    private final Map<String, Integer> byCode = new HashMap<>();
+    private final Map<String, Integer> byEmail = new HashMap<>();
+
+    // Cantidad de registros del almacenamiento que cubre el índice
+    private int indexedCount;
+    private int addsSinceSnapshot;
+
+    /**
+     * Abre el índice y lo pone al día con el almacenamiento
+     *
+     * @param indexFile Archivo de la instantánea (null para un índice solo en memoria)
+     * @param store Almacenamiento a indexar
+     */
+    public static StudentIndex open(File indexFile, StudentStore store) throws IOException {
+        StudentIndex index = new StudentIndex(indexFile);
+        int storeSize = store.size();
+        if (indexFile != null && indexFile.exists()) {
+            try {
+                index.loadSnapshot();
+            } catch (IOException e) {
+                index.clear();
+            }
+            // Una instantánea que cubre más de lo guardado no es de este almacenamiento
+            if (index.indexedCount > storeSize) {
+                index.clear();
+            }
+        }
+
+        // Indexar solo la cola que falta, por lotes
+        int caughtUp = storeSize - index.indexedCount;
+        while (index.indexedCount < storeSize) {
+            int count = Math.min(CATCH_UP_BATCH, storeSize - index.indexedCount);
+            List<Student> batch = store.read(index.indexedCount, count);
+            for (Student student : batch) {
+                index.put(student, index.indexedCount);
+                index.indexedCount++;
+            }
+        }
+        if (caughtUp > 0) {
+            index.saveSnapshot();
+        }
+        return index;
+    }
+
+    private StudentIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * @return true si ya hay un estudiante con ese código
+     */
+    public boolean containsCode(String studentCode) {
+        return byCode.containsKey(codeKey(studentCode));
+    }
+
+    /**
+     * @return true si ya hay un estudiante con ese email
+     */
+    public boolean containsEmail(String email) {
+        return email != null && byEmail.containsKey(emailKey(email));
+    }
+
+    /**
+     * @return Posición de registro del estudiante con ese código, o -1 si no existe
+     */
+    public int positionOfCode(String studentCode) {
+        Integer position = byCode.get(codeKey(studentCode));
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Registra en el índice un estudiante recién guardado
+     * Debe llamarse con cada escritura para mantener el índice consistente.
+     * No falla: el estudiante ya está guardado, y si la instantánea no se puede
+     * escribir se reintenta más adelante (al abrir se indexa lo que falte).
+     */
+    public void add(Student student, int position) {
+        put(student, position);
+        indexedCount = Math.max(indexedCount, position + 1);
+        addsSinceSnapshot++;
+        if (addsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+            try {
+                saveSnapshot();
+            } catch (IOException ignored) {
+                // Se reintentará después de otras SNAPSHOT_INTERVAL altas o al cerrar
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad de códigos indexados
+     */
+    public int size() {
+        return byCode.size();
+    }
+
+    /**
+     * Guarda la instantánea del índice (archivo temporal + renombrado)
+     */
+    public void saveSnapshot() throws IOException {
+        addsSinceSnapshot = 0;
+        if (indexFile == null) {
+            return;
+        }
+        File tmp = new File(indexFile.getPath() + ".tmp");
+        FileOutputStream fileOut = new FileOutputStream(tmp);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(indexedCount);
+            out.writeInt(byCode.size());
+            for (Map.Entry<String, Integer> entry : byCode.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(byEmail.size());
+            for (Map.Entry<String, Integer> entry : byEmail.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        if (!tmp.renameTo(indexFile)) {
+            tmp.delete();
+            throw new IOException("No se pudo guardar el índice de estudiantes");
+        }
+    }
+
+    private void loadSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Formato de índice desconocido");
+            }
+            indexedCount = in.readInt();
+            int codes = in.readInt();
+            for (int i = 0; i < codes; i++) {
+                byCode.put(in.readUTF(), in.readInt());
+            }
+            int emails = in.readInt();
+            for (int i = 0; i < emails; i++) {
+                byEmail.put(in.readUTF(), in.readInt());
+            }
+        }
+    }
+
+    private void put(Student student, int position) {
+        if (student == null) {
+            return;
+        }
+        // Ante duplicados antiguos se conserva el primero registrado
+        byCode.putIfAbsent(codeKey(student.getStudentCode()), position);
+        if (student.getEmail() != null) {
+            byEmail.putIfAbsent(emailKey(student.getEmail()), position);
+        }
+    }
+
+    private void clear() {
+        byCode.clear();
+        byEmail.clear();
+        indexedCount = 0;
+    }
+
+    // Los códigos y emails se comparan sin distinguir mayúsculas
+    static String codeKey(String studentCode) {
+        return studentCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,80 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cargador por páginas de la lista de estudiantes, del más reciente al más antiguo
+ * Cada página se lee directamente de la fuente (almacenamiento o archivo binario
+ * mapeado), por lo que solo se materializan los estudiantes que la pantalla va
+ * necesitando.
+ * Cada página es el rango de posiciones anterior a la última leída; con
+ * {@link SqliteStudentStore} eso es una búsqueda por clave primaria (keyset),
+ * sin OFFSET, así la página mil cuesta lo mismo que la primera.
+ * Es seguro usarlo desde los hilos lectores de {@link IoScheduler}.
+ */
+public class StudentPageLoader {
+
+    // Tamaño de página por defecto: suficiente para llenar varias pantallas
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final StudentSource source;
+    private final int pageSize;
+
+    // Cantidad de estudiantes al crear el cargador; los posteriores llegan por RosterChangeFeed
+    private final int initialSize;
+
+    // Posición (exclusiva) hasta donde aún quedan estudiantes por cargar
+    private int nextEnd;
+
+    public StudentPageLoader(StudentSource source) {
+        this(source, DEFAULT_PAGE_SIZE);
+    }
+
+    public StudentPageLoader(StudentSource source, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize debe ser positivo");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.initialSize = source.size();
+        this.nextEnd = initialSize;
+    }
+
+    /**
+     * @return Cantidad de estudiantes que cubren las páginas de este cargador
+     */
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    /**
+     * @return true si todavía quedan estudiantes más antiguos por cargar
+     */
+    public synchronized boolean hasMore() {
+        return nextEnd > 0;
+    }
+
+    /**
+     * Lee la siguiente página, con los estudiantes más recientes primero
+     *
+     * @return Página nueva (vacía si ya no quedan estudiantes)
+     */
+    public synchronized List<Student> loadNextPage() throws IOException {
+        int from = Math.max(0, nextEnd - pageSize);
+        List<Student> page = source.read(from, nextEnd - from);
+        nextEnd = from;
+
+        // Recorrer al revés para entregar los más recientes primero
+        List<Student> newestFirst = new ArrayList<>(page.size());
+        for (int i = page.size() - 1; i >= 0; i--) {
+            Student student = page.get(i);
+            if (student != null) {
+                newestFirst.add(student);
+            }
+        }
+        return newestFirst;
+    }
+}
@@ -0,0 +1,722 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.search.DuplicateDetector;
+import com.admarchivos.registrodeestudiantes.search.SortOrder;
+import com.admarchivos.registrodeestudiantes.search.StudentSearchIndex;
+import com.admarchivos.registrodeestudiantes.search.StudentSortIndex;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repositorio único del proceso para los estudiantes registrados
+ * Mantiene en memoria las páginas ya leídas del almacenamiento, de modo que
+ * pasar entre la pantalla de registro y la lista no vuelve a deserializar nada.
+ * Las escrituras se aplican de forma incremental y se publican en el flujo de
+ * cambios ({@link #getChangeFeed()}).
+ * Un índice único por código (y por email) rechaza duplicados en O(1), y un
+ * detector por bloques avisa de estudiantes casi repetidos.
+ * Para listas muy grandes se limita la cantidad de páginas en memoria y se
+ * descartan las menos usadas.
+ * El almacenamiento se abre de forma diferida en la primera operación de E/S,
+ * por lo que obtener la instancia es barato desde el hilo principal; las
+ * lecturas y escrituras deben hacerse desde {@link IoScheduler}.
+ */
+public class StudentRepository implements StudentStore {
+
+    // Cantidad de estudiantes por página de caché
+    public static final int PAGE_SIZE = 256;
+
+    // Estudiantes leídos por lote al construir índices (búsqueda, repetidos, órdenes)
+    private static final int SEARCH_BUILD_BATCH = 1024;
+
+    // Páginas en memoria por defecto (~16 mil estudiantes)
+    public static final int DEFAULT_MAX_CACHED_PAGES = 64;
+
+    // Preferencia con el motor de almacenamiento elegido
+    static final String STORAGE_PREFS = "StudentStorage";
+    static final String KEY_BACKEND = "backend";
+    // Índice único de la base SQLite: la importación omite repetidos, así que las
+    // posiciones pueden no coincidir con las del log
+    static final String SQLITE_INDEX_FILE_NAME = "students-sqlite.idx";
+
+    /**
+     * Motor de almacenamiento del repositorio compartido
+     */
+    public enum Backend {
+        // Checkpoint binario más log con checksums (WalStudentStore)
+        WAL,
+        // Base SQLite con índice único y búsqueda FTS (SqliteStudentStore)
+        SQLITE
+    }
+
+    /**
+     * Resultado de intentar registrar un estudiante
+     */
+    public enum AddResult {
+        ADDED,
+        DUPLICATE_CODE,
+        DUPLICATE_EMAIL
+    }
+
+    private static StudentRepository instance;
+
+    private final Context appContext;
+    // Instantánea del índice único; con contexto va en filesDir (ver index())
+    private final File indexFile;
+    private StudentStore store;
+    private StudentIndex index;
+    private StudentSearchIndex searchIndex;
+    // Se publica ya construido y al día (ver getDuplicateDetector)
+    private volatile DuplicateDetector duplicateDetector;
+    private final StudentSortIndex sortIndex = new StudentSortIndex();
+    private final RosterChangeFeed changeFeed = new RosterChangeFeed();
+
+    // Caché LRU: número de página -> estudiantes de esa página, guardados por columnas
+    private final LinkedHashMap<Integer, CompactRoster> pages;
+    // Apellidos y dominios compartidos por todas las páginas; solo crecen con valores distintos
+    private final StringDictionary lastNameDictionary = new StringDictionary();
+    private final StringDictionary domainDictionary = new StringDictionary();
+    private int maxCachedPages = DEFAULT_MAX_CACHED_PAGES;
+    private int size;
+
+    /**
+     * Obtiene el repositorio compartido por todas las actividades
+     */
+    public static synchronized StudentRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new StudentRepository(context.getApplicationContext(), null, null);
+        }
+        return instance;
+    }
+
+    /**
+     * Pasa el repositorio compartido a SQLite; se aplica en el próximo inicio del proceso
+     * Se borra la base que hubiera de un cambio anterior, así al abrirla se crea de
+     * nuevo e importa el log tal como esté en ese momento. El cambio es en un solo
+     * sentido: lo registrado en SQLite no se copia de vuelta al log.
+     */
+    public static void switchToSqlite(Context context) {
+        if (getBackend(context) == Backend.SQLITE) {
+            return;
+        }
+        // Con el log en uso, ni la base ni su índice están abiertos en este proceso
+        context.deleteDatabase(SqliteStudentStore.DATABASE_NAME);
+        new File(context.getFilesDir(), SQLITE_INDEX_FILE_NAME).delete();
+        context.getSharedPreferences(STORAGE_PREFS, Context.MODE_PRIVATE).edit()
+                .putString(KEY_BACKEND, Backend.SQLITE.name())
+                .commit();
+    }
+
+    public static Backend getBackend(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(STORAGE_PREFS, Context.MODE_PRIVATE);
+        String backend = prefs.getString(KEY_BACKEND, Backend.WAL.name());
+        return Backend.SQLITE.name().equals(backend) ? Backend.SQLITE : Backend.WAL;
+    }
+
+    public StudentRepository(StudentStore store) {
+        this(store, null);
+    }
+
+    /**
+     * @param indexFile Archivo de la instantánea del índice único (null: solo en memoria)
+     */
+    StudentRepository(StudentStore store, File indexFile) {
+        this(null, store, indexFile);
+        this.size = store.size();
+    }
+
+    private StudentRepository(Context appContext, StudentStore store, File indexFile) {
+        this.appContext = appContext;
+        this.store = store;
+        this.indexFile = indexFile;
+        this.pages = new LinkedHashMap<Integer, CompactRoster>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CompactRoster> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Cambia el límite de páginas en memoria, descartando las más frías si sobran
+     *
+     * @param maxCachedPages Cantidad máxima de páginas (mínimo 1)
+     */
+    public synchronized void setMaxCachedPages(int maxCachedPages) {
+        if (maxCachedPages < 1) {
+            throw new IllegalArgumentException("maxCachedPages debe ser al menos 1");
+        }
+        this.maxCachedPages = maxCachedPages;
+        while (pages.size() > maxCachedPages) {
+            Integer eldest = pages.keySet().iterator().next();
+            pages.remove(eldest);
+        }
+    }
+
+    /**
+     * @return Cantidad de páginas actualmente en memoria
+     */
+    public synchronized int getCachedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @return Flujo de cambios con números de secuencia, para aplicar solo lo nuevo
+     */
+    public RosterChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Registra un estudiante si su código y su email no existen todavía
+     *
+     * @param student Estudiante a guardar
+     * @return ADDED si se guardó, o el motivo por el que se rechazó
+     */
+    public AddResult add(Student student) throws IOException {
+        synchronized (this) {
+            StudentIndex studentIndex = index();
+            if (studentIndex.containsCode(student.getStudentCode())) {
+                return AddResult.DUPLICATE_CODE;
+            }
+            if (studentIndex.containsEmail(student.getEmail())) {
+                return AddResult.DUPLICATE_EMAIL;
+            }
+
+            store().append(student);
+            int position = size++;
+            applyAdded(student, position);
+            changeFeed.publish(RosterChange.Type.INSERT, Collections.singletonList(student), position);
+        }
+        return AddResult.ADDED;
+    }
+
+    /**
+     * Registra un lote de estudiantes con una sola escritura al almacenamiento
+     * Se rechazan los códigos o emails ya registrados, incluidos los repetidos
+     * dentro del mismo lote.
+     *
+     * @param students Estudiantes a guardar, en orden
+     * @return Resultado de cada estudiante, en el mismo orden
+     */
+    public AddResult[] addAll(List<Student> students) throws IOException {
+        AddResult[] results = new AddResult[students.size()];
+        List<Student> accepted = new ArrayList<>(students.size());
+        synchronized (this) {
+            StudentIndex studentIndex = index();
+            Set<String> batchCodes = new HashSet<>();
+            Set<String> batchEmails = new HashSet<>();
+            for (int i = 0; i < results.length; i++) {
+                Student student = students.get(i);
+                String codeKey = StudentIndex.codeKey(student.getStudentCode());
+                String email = student.getEmail();
+                if (studentIndex.containsCode(student.getStudentCode()) || !batchCodes.add(codeKey)) {
+                    results[i] = AddResult.DUPLICATE_CODE;
+                } else if (email != null && (studentIndex.containsEmail(email)
+                        || !batchEmails.add(StudentIndex.emailKey(email)))) {
+                    batchCodes.remove(codeKey);
+                    results[i] = AddResult.DUPLICATE_EMAIL;
+                } else {
+                    results[i] = AddResult.ADDED;
+                    accepted.add(student);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return results;
+            }
+
+            store().appendAll(accepted);
+            int firstPosition = size;
+            for (Student student : accepted) {
+                applyAdded(student, size++);
+            }
+            changeFeed.publish(RosterChange.Type.INSERT, accepted, firstPosition);
+        }
+        return results;
+    }
+
+    /**
+     * Actualiza índices y caché con un estudiante ya guardado
+     * No lanza excepciones: el estudiante ya está en el almacenamiento, y cortar
+     * a mitad de un lote dejaría guardados sin indexar ni publicar.
+     */
+    private void applyAdded(Student student, int position) {
+        index.add(student, position);
+        sortIndex.add(student, position);
+        if (searchIndex != null) {
+            searchIndex.add(student, position);
+        }
+        if (duplicateDetector != null) {
+            duplicateDetector.add(student, position);
+        }
+        // Solo se actualiza la página si ya está en memoria
+        CompactRoster page = pages.get(position / PAGE_SIZE);
+        if (page != null) {
+            page.add(student);
+        }
+    }
+
+    /**
+     * Igual que {@link #add(Student)}, pero un duplicado se considera un error
+     */
+    @Override
+    public void appendAll(List<Student> students) throws IOException {
+        for (AddResult result : addAll(students)) {
+            if (result != AddResult.ADDED) {
+                throw new IllegalArgumentException("El lote contiene estudiantes duplicados");
+            }
+        }
+    }
+
+    @Override
+    public void append(Student student) throws IOException {
+        AddResult result = add(student);
+        if (result != AddResult.ADDED) {
+            throw new IllegalArgumentException("Estudiante duplicado (" + result + "): " + student.getStudentCode());
+        }
+    }
+
+    /**
+     * @return true si ya hay un estudiante registrado con ese código
+     */
+    public synchronized boolean containsCode(String studentCode) throws IOException {
+        return index().containsCode(studentCode);
+    }
+
+    /**
+     * Devuelve el índice de búsqueda, construyéndolo la primera vez
+     * Se construye fuera del lock (ver {@link #buildOutsideLock}) leyendo el
+     * almacenamiento por lotes sin pasar por la caché de páginas; después se
+     * mantiene al día con cada registro.
+     */
+    public StudentSearchIndex getSearchIndex() throws IOException {
+        synchronized (this) {
+            if (searchIndex != null) {
+                return searchIndex;
+            }
+        }
+        StudentSearchIndex built = new StudentSearchIndex();
+        buildOutsideLock(new DetachedBuild() {
+            @Override
+            public boolean isPublished() {
+                return searchIndex != null;
+            }
+
+            @Override
+            public void add(Student student, int position) {
+                built.add(student, position);
+            }
+
+            @Override
+            public void publish() {
+                searchIndex = built;
+            }
+        });
+        synchronized (this) {
+            return searchIndex;
+        }
+    }
+
+    /**
+     * Devuelve el detector de casi repetidos, construyéndolo la primera vez
+     * Igual que el índice de búsqueda, se construye fuera del lock y después se
+     * mantiene al día con cada registro.
+     */
+    public DuplicateDetector getDuplicateDetector() throws IOException {
+        DuplicateDetector detector = duplicateDetector;
+        if (detector != null) {
+            return detector;
+        }
+        DuplicateDetector built = new DuplicateDetector();
+        buildOutsideLock(new DetachedBuild() {
+            @Override
+            public boolean isPublished() {
+                return duplicateDetector != null;
+            }
+
+            @Override
+            public void add(Student student, int position) {
+                built.add(student, position);
+            }
+
+            @Override
+            public void publish() {
+                duplicateDetector = built;
+            }
+        });
+        return duplicateDetector;
+    }
+
+    /**
+     * Estructura derivada de la lista que se construye sin el lock del repositorio
+     */
+    private interface DetachedBuild {
+        /**
+         * @return true si otro hilo ya la publicó (se llama con el lock)
+         */
+        boolean isPublished();
+
+        /**
+         * Agrega un estudiante leído; las posiciones llegan en orden creciente (sin el lock)
+         */
+        void add(Student student, int position) throws IOException;
+
+        /**
+         * Se llama sin el lock al terminar cada pasada de lectura
+         */
+        default void afterRead() {
+        }
+
+        /**
+         * Publica la estructura ya al día; desde aquí la actualiza applyAdded (con el lock)
+         */
+        void publish();
+    }
+
+    /**
+     * Construye una estructura derivada sin bloquear registros ni lecturas
+     * Lee por lotes, sin el lock, lo guardado hasta el tamaño observado; luego
+     * vuelve a mirar el tamaño y lee lo registrado mientras tanto, hasta que no
+     * falta nada y la publica con el lock tomado. Las posiciones ya guardadas no
+     * cambian, así que leerlas sin el lock es seguro.
+     */
+    private void buildOutsideLock(DetachedBuild build) throws IOException {
+        int indexed = 0;
+        while (true) {
+            StudentStore source;
+            int target;
+            synchronized (this) {
+                if (build.isPublished()) {
+                    return;
+                }
+                source = store();
+                target = size;
+                if (indexed == target) {
+                    build.publish();
+                    return;
+                }
+            }
+            for (int from = indexed; from < target; from += SEARCH_BUILD_BATCH) {
+                List<Student> batch = source.read(from, Math.min(SEARCH_BUILD_BATCH, target - from));
+                for (int i = 0; i < batch.size(); i++) {
+                    build.add(batch.get(i), from + i);
+                }
+            }
+            build.afterRead();
+            indexed = target;
+        }
+    }
+
+    /**
+     * Busca estudiantes registrados que parecen ser el mismo que uno nuevo
+     * Solo compara con los estudiantes de sus bloques (ver {@link DuplicateDetector}),
+     * así el costo no depende del tamaño de la lista. Los candidatos se leen de
+     * una vez y fuera del lock.
+     *
+     * @param student Estudiante a registrar
+     * @param limit Máximo de resultados
+     * @return Posibles repetidos, el más parecido primero
+     */
+    public List<DuplicateDetector.Match> findPossibleDuplicates(Student student, int limit)
+            throws IOException {
+        DuplicateDetector detector = getDuplicateDetector();
+        int[] positions = detector.candidates(student);
+        return detector.findMatches(student, positions, Arrays.asList(lookupAt(positions)),
+                DuplicateDetector.DEFAULT_MIN_SCORE, limit);
+    }
+
+    /**
+     * Reporte de posibles repetidos de toda la lista
+     * Lee el almacenamiento por lotes sin pasar por la caché de páginas.
+     *
+     * @param minScore Puntaje mínimo (ver {@link DuplicateDetector#DEFAULT_MIN_SCORE})
+     * @return Pares de posiciones, el más parecido primero
+     */
+    public synchronized List<DuplicateDetector.Pair> duplicateReport(double minScore) throws IOException {
+        int count = size();
+        return DuplicateDetector.report(batchSource(count), count, minScore);
+    }
+
+    /**
+     * Busca estudiantes por prefijos de nombre, apellido, email o código
+     *
+     * @param query Texto escrito por el usuario
+     * @param limit Máximo de resultados
+     * @return Estudiantes encontrados, los más recientes primero
+     */
+    public List<Student> search(String query, int limit) throws IOException {
+        StudentStore source;
+        synchronized (this) {
+            source = store();
+        }
+        // SQLite busca con su tabla FTS, sin índice en memoria
+        if (source instanceof SearchableStore) {
+            return ((SearchableStore) source).search(query, limit);
+        }
+        // El índice solo tiene posiciones ya guardadas; se leen de una vez y fuera del lock
+        return studentsAt(getSearchIndex().search(query, limit));
+    }
+
+    /**
+     * Lee un tramo de la lista en el orden pedido
+     * La primera vez que se usa un orden se calculan las claves de todos los
+     * estudiantes y se ordena; después el orden se mantiene al registrar y
+     * cambiar entre órdenes ya usados no vuelve a ordenar.
+     *
+     * @param order Orden de la lista (distinto de NEWEST)
+     * @param from Índice dentro de la lista ordenada
+     * @param count Cantidad máxima de estudiantes
+     */
+    public List<Student> readSorted(SortOrder order, int from, int count) throws IOException {
+        if (order == SortOrder.NEWEST) {
+            throw new IllegalArgumentException("NEWEST se pagina con StudentPageLoader");
+        }
+        if (!sortIndex.isBuilt(order)) {
+            buildSortView(order);
+        }
+        // La vista solo tiene posiciones ya guardadas; se leen de una vez y fuera del lock
+        return studentsAt(sortIndex.range(order, from, count));
+    }
+
+    /**
+     * @return true si el orden ya está calculado y leerlo no requiere ordenar
+     */
+    public boolean isSortReady(SortOrder order) {
+        return sortIndex.isBuilt(order);
+    }
+
+    /**
+     * Ordena todos los estudiantes leyendo el almacenamiento por lotes, sin
+     * pasar por la caché de páginas ni tomar el lock (ver {@link #buildOutsideLock})
+     * Las claves se calculan y se ordenan una vez tras la primera pasada; lo
+     * registrado mientras tanto se inserta en su lugar antes de publicar la vista.
+     */
+    private void buildSortView(SortOrder order) throws IOException {
+        StudentSortIndex.Draft draft = new StudentSortIndex.Draft(order, size());
+        buildOutsideLock(new DetachedBuild() {
+            @Override
+            public boolean isPublished() {
+                return sortIndex.isBuilt(order);
+            }
+
+            @Override
+            public void add(Student student, int position) {
+                draft.add(student, position);
+            }
+
+            @Override
+            public void afterRead() {
+                draft.sort();
+            }
+
+            @Override
+            public void publish() {
+                sortIndex.publish(draft);
+            }
+        });
+    }
+
+    /**
+     * Acceso secuencial a las primeras count posiciones, leyendo el almacenamiento
+     * por lotes sin pasar por la caché de páginas
+     */
+    private StudentSortIndex.PositionLookup batchSource(int count) {
+        StudentStore source = store();
+        return new StudentSortIndex.PositionLookup() {
+            private List<Student> batch = Collections.emptyList();
+            private int batchStart;
+
+            @Override
+            public Student get(int position) throws IOException {
+                if (position >= batchStart + batch.size()) {
+                    batchStart = position;
+                    batch = source.read(position, Math.min(SEARCH_BUILD_BATCH, count - position));
+                }
+                return batch.get(position - batchStart);
+            }
+        };
+    }
+
+    /**
+     * Devuelve los estudiantes de posiciones dispersas (resultados de búsqueda u orden)
+     * Los que están en páginas en memoria se toman con el lock; el resto se lee
+     * después, sin el lock, con una sola lectura por lotes ({@link StudentStore#readAt})
+     * y sin llenar la caché de páginas con páginas casi sin usar. Las posiciones
+     * ya guardadas no cambian, así que leerlas sin el lock es seguro.
+     */
+    private List<Student> studentsAt(int[] positions) throws IOException {
+        Student[] found = lookupAt(positions);
+        List<Student> result = new ArrayList<>(positions.length);
+        for (Student student : found) {
+            if (student != null) {
+                result.add(student);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Igual que {@link #studentsAt}, pero en el mismo orden que positions y con
+     * null en lugar de los registros dañados
+     */
+    private Student[] lookupAt(int[] positions) throws IOException {
+        Student[] found = new Student[positions.length];
+        // Índices en positions de las que no están en memoria; una fila dañada de
+        // una página en memoria queda null en found, pero no falta
+        int[] missingIndexes = new int[positions.length];
+        int missing = 0;
+        StudentStore source;
+        synchronized (this) {
+            source = store();
+            for (int i = 0; i < positions.length; i++) {
+                CompactRoster page = pages.get(positions[i] / PAGE_SIZE);
+                if (page != null) {
+                    found[i] = page.get(positions[i] % PAGE_SIZE);
+                } else {
+                    missingIndexes[missing++] = i;
+                }
+            }
+        }
+        if (missing > 0) {
+            int[] missingPositions = new int[missing];
+            for (int i = 0; i < missing; i++) {
+                missingPositions[i] = positions[missingIndexes[i]];
+            }
+            List<Student> read = source.readAt(missingPositions);
+            for (int i = 0; i < missing; i++) {
+                found[missingIndexes[i]] = read.get(i);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized List<Student> read(int from, int count) throws IOException {
+        store();
+        if (from < 0 || count < 0 || from + count > size) {
+            throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + size);
+        }
+        List<Student> result = new ArrayList<>(count);
+        int position = from;
+        int end = from + count;
+        while (position < end) {
+            List<Student> page = getPage(position / PAGE_SIZE);
+            int offset = position % PAGE_SIZE;
+            int take = Math.min(end - position, page.size() - offset);
+            result.addAll(page.subList(offset, offset + take));
+            position += take;
+        }
+        return result;
+    }
+
+    /**
+     * Lee un rango directo del almacenamiento, sin pasar por la caché de páginas
+     * Pensado para recorridos completos (como la exportación) que no deben
+     * desalojar las páginas que está mostrando la lista. Los registros dañados
+     * llegan como null.
+     */
+    public synchronized List<Student> readDirect(int from, int count) throws IOException {
+        StudentStore source = store();
+        if (from < 0 || count < 0 || from + count > size) {
+            throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + size);
+        }
+        return source.read(from, count);
+    }
+
+    /**
+     * Obtiene un estudiante por posición de registro
+     *
+     * @param position Posición (0 = el más antiguo)
+     */
+    public synchronized Student get(int position) throws IOException {
+        store();
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Posición " + position + " de " + size);
+        }
+        return getPage(position / PAGE_SIZE).get(position % PAGE_SIZE);
+    }
+
+    @Override
+    public synchronized List<Student> loadAll() throws IOException {
+        store();
+        return read(0, size);
+    }
+
+    /**
+     * Abre el almacenamiento si hace falta, por lo que no debe llamarse desde el hilo principal
+     */
+    @Override
+    public synchronized int size() {
+        store();
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (index != null) {
+            try {
+                index.saveSnapshot();
+            } catch (IOException ignored) {
+                // Se pondrá al día desde el almacenamiento al reabrir
+            }
+        }
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Devuelve el índice único, abriéndolo y poniéndolo al día la primera vez
+     */
+    private StudentIndex index() throws IOException {
+        if (index == null) {
+            StudentStore source = store();
+            File file = indexFile == null && appContext != null
+                    ? new File(appContext.getFilesDir(), source instanceof SqliteStudentStore
+                            ? SQLITE_INDEX_FILE_NAME : StudentIndex.INDEX_FILE_NAME)
+                    : indexFile;
+            index = StudentIndex.open(file, source);
+        }
+        return index;
+    }
+
+    /**
+     * Devuelve el almacenamiento, abriéndolo (y migrando los datos antiguos) la primera vez
+     */
+    private StudentStore store() {
+        if (store == null) {
+            store = getBackend(appContext) == Backend.SQLITE
+                    ? SqliteStudentStore.getInstance(appContext)
+                    : WalStudentStore.getInstance(appContext);
+            size = store.size();
+        }
+        return store;
+    }
+
+    /**
+     * Devuelve la página pedida, leyéndola del almacenamiento si no está en memoria
+     */
+    private CompactRoster getPage(int pageIndex) throws IOException {
+        CompactRoster page = pages.get(pageIndex);
+        if (page == null) {
+            int from = pageIndex * PAGE_SIZE;
+            int count = Math.min(PAGE_SIZE, size - from);
+            // Se guarda por columnas; los estudiantes se vuelven a armar al leerlos
+            page = new CompactRoster(lastNameDictionary, domainDictionary);
+            page.addAll(store.read(from, count));
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,40 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Fuente de estudiantes de solo lectura, por posición de registro
+ * La implementan los almacenamientos ({@link StudentStore}) y los archivos
+ * binarios mapeados ({@link BinaryRosterReader}); {@link StudentPageLoader}
+ * pagina cualquiera de ellos.
+ */
+public interface StudentSource {
+
+    /**
+     * Lee un rango de estudiantes por posición de registro
+     * Un registro dañado se devuelve como null para conservar las posiciones
+     *
+     * @param from Posición del primer estudiante (0 = el más antiguo)
+     * @param count Cantidad de estudiantes a leer
+     * @return Lista nueva con los estudiantes del rango, en orden de registro
+     */
+    List<Student> read(int from, int count) throws IOException;
+
+    /**
+     * Lee estudiantes de posiciones sueltas (resultados de búsqueda, de un orden
+     * o de un bloque de casi repetidos) con pocas lecturas de rango
+     *
+     * @param positions Posiciones de registro, en cualquier orden
+     * @return Estudiantes en el mismo orden que positions (null si el registro está dañado)
+     */
+    default List<Student> readAt(int[] positions) throws IOException {
+        return BatchReads.readAt(this, positions);
+    }
+
+    /**
+     * @return Cantidad de estudiantes guardados
+     */
+    int size();
+}
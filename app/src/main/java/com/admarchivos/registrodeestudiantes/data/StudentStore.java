@@ -0,0 +1,40 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Abstracción del motor de almacenamiento de estudiantes
+ * Las actividades trabajan contra esta interfaz y no contra el formato físico
+ * (journal, SharedPreferences, etc.). Las lecturas por posición vienen de
+ * {@link StudentSource}.
+ */
+public interface StudentStore extends StudentSource {
+
+    /**
+     * Agrega un estudiante al final del almacenamiento
+     *
+     * @param student Estudiante a guardar (no nulo)
+     */
+    void append(Student student) throws IOException;
+
+    /**
+     * Agrega varios estudiantes al final con una sola escritura al almacenamiento
+     *
+     * @param students Estudiantes a guardar, en orden
+     */
+    void appendAll(List<Student> students) throws IOException;
+
+    /**
+     * Lee todos los estudiantes en orden de registro (el más antiguo primero)
+     *
+     * @return Lista nueva con todos los estudiantes guardados
+     */
+    List<Student> loadAll() throws IOException;
+
+    /**
+     * Libera los recursos abiertos (archivos, hilos)
+     */
+    void close();
+}
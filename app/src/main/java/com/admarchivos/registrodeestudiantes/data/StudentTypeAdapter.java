@@ -0,0 +1,76 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Conversión JSON de Student escrita a mano, sin reflexión
+ * Produce y acepta exactamente el mismo JSON que el Gson reflexivo
+ * ({"name", "lastName", "email", "studentCode"}), así los datos ya guardados
+ * se siguen leyendo igual. Los campos desconocidos se ignoran.
+ */
+public class StudentTypeAdapter extends TypeAdapter<Student> {
+
+    static final String NAME = "name";
+    static final String LAST_NAME = "lastName";
+    static final String EMAIL = "email";
+    static final String STUDENT_CODE = "studentCode";
+
+    @Override
+    public void write(JsonWriter out, Student student) throws IOException {
+        if (student == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(NAME).value(student.getName());
+        out.name(LAST_NAME).value(student.getLastName());
+        out.name(EMAIL).value(student.getEmail());
+        out.name(STUDENT_CODE).value(student.getStudentCode());
+        out.endObject();
+    }
+
+    @Override
+    public Student read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String name = null;
+        String lastName = null;
+        String email = null;
+        String studentCode = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case NAME:
+                    name = in.nextString();
+                    break;
+                case LAST_NAME:
+                    lastName = in.nextString();
+                    break;
+                case EMAIL:
+                    email = in.nextString();
+                    break;
+                case STUDENT_CODE:
+                    studentCode = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new Student(name, lastName, email, studentCode);
+    }
+}
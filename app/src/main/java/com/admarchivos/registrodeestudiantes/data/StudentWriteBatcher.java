@@ -0,0 +1,304 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Agrupa los registros que llegan seguidos en una sola escritura (group commit)
+ * - El primer estudiante de un lote programa su cierre en el hilo propio del
+ *   agrupador; ahí se espera hasta juntar maxBatchSize estudiantes, hasta que
+ *   pasen maxDelayMillis o hasta que se pida {@link #flush()}, lo primero que ocurra
+ * - Recién el lote cerrado pasa al ejecutor escritor, que nunca queda esperando
+ *   estudiantes y sigue atendiendo las demás escrituras mientras el lote se junta
+ * - El lote se guarda con un solo {@link StudentRepository#addAll}: una escritura
+ *   y un vaciado del journal para todos, con los duplicados resueltos dentro del lote
+ * - Cada estudiante se confirma a su {@link Listener} recién después de esa
+ *   escritura, así un registro confirmado ya está en el archivo y sobrevive a la
+ *   muerte del proceso. Los que esperan en memoria todavía no se confirmaron.
+ * - En la app el ejecutor es el hilo escritor de {@link IoScheduler}: las lecturas
+ *   esperan a los lotes ya cerrados igual que a cualquier escritura.
+ *   {@link #flush()} cierra el lote abierto y lo pasa al ejecutor antes de
+ *   volver, así una lectura encolada después (por ejemplo al abrir la lista)
+ *   siempre ve a un estudiante recién registrado
+ * - Puede usarse desde muchos hilos a la vez (registro manual, importaciones,
+ *   sincronización): submit no toma locks, solo encola en una cola sin bloqueo, y
+ *   un único hilo cierra los lotes en orden, así ningún registro pisa a otro
+ */
+public class StudentWriteBatcher {
+
+    // Estudiantes por lote y espera máxima del primero antes de escribir
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 50;
+
+    /**
+     * Destino de los lotes; en la app es {@link StudentRepository#addAll}
+     */
+    public interface Sink {
+        StudentRepository.AddResult[] addAll(List<Student> students) throws IOException;
+    }
+
+    /**
+     * Recibe el resultado de un registro, en el hilo que escribió el lote
+     */
+    public interface Listener {
+        void onCommitted(StudentRepository.AddResult result);
+
+        void onFailed(Exception error);
+    }
+
+    /**
+     * Recibe el tamaño y la duración de cada escritura, para las métricas
+     */
+    public interface FlushObserver {
+        void onFlushed(int batchSize, long flushNanos);
+    }
+
+    private static StudentWriteBatcher instance;
+
+    private final Sink sink;
+    private final Executor writer;
+    // Hilo propio donde se espera a que el lote se complete; termina si no hay lotes
+    private final ThreadPoolExecutor batchCloser;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private volatile FlushObserver flushObserver;
+
+    // Lote abierto: los productores encolan sin locks y solo el hilo del agrupador desencola
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private volatile boolean flushRequested;
+    // Hilo del agrupador mientras espera que el lote se complete
+    private volatile Thread waitingCloser;
+    // Desencolar y pasar al ejecutor es un solo paso, así los lotes llegan en orden
+    private final Object drainLock = new Object();
+
+    // Solo los escribe el ejecutor escritor
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong committedCount = new AtomicLong();
+    private final AtomicInteger largestBatchSize = new AtomicInteger();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+
+    /**
+     * Obtiene el agrupador del proceso, que escribe en el repositorio compartido
+     * desde el hilo escritor de IoScheduler y publica sus lotes en {@link Metrics}
+     */
+    public static synchronized StudentWriteBatcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new StudentWriteBatcher(StudentRepository.getInstance(context)::addAll,
+                    IoScheduler.getInstance().writeExecutor(),
+                    DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MILLIS);
+            instance.setFlushObserver((batchSize, flushNanos) -> {
+                Metrics.WRITE_BATCHES.increment();
+                Metrics.BATCHED_STUDENTS.add(batchSize);
+                Metrics.WRITE_FLUSH.record(flushNanos);
+            });
+        }
+        return instance;
+    }
+
+    /**
+     * @param sink Destino de los lotes
+     * @param writer Ejecutor de un solo hilo donde se escriben los lotes cerrados
+     * @param maxBatchSize Estudiantes que cierran un lote sin esperar más
+     * @param maxDelayMillis Espera máxima desde el primer estudiante del lote
+     */
+    public StudentWriteBatcher(Sink sink, Executor writer, int maxBatchSize, long maxDelayMillis) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize debe ser al menos 1");
+        }
+        this.sink = sink;
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+        this.batchCloser = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-write-batcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.batchCloser.allowCoreThreadTimeOut(true);
+    }
+
+    public void setFlushObserver(FlushObserver flushObserver) {
+        this.flushObserver = flushObserver;
+    }
+
+    /**
+     * Agrega un estudiante al lote abierto
+     *
+     * @param student Estudiante a registrar
+     * @param listener Recibe el resultado cuando el lote se escribió
+     */
+    public void submit(Student student, Listener listener) {
+        pending.add(new Pending(student, listener));
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            wakeCloser();
+        }
+        // Solo el primero de un lote programa su cierre
+        if (commitScheduled.compareAndSet(false, true)) {
+            batchCloser.execute(this::closeNext);
+        }
+    }
+
+    /**
+     * Cierra el lote abierto y lo pasa al ejecutor escritor sin esperar más
+     * estudiantes (por ejemplo en onPause)
+     * No espera la escritura, que sigue en el ejecutor y confirma a cada Listener,
+     * pero al volver el lote ya está encolado: lo que se encole después en el
+     * ejecutor (o una lectura de IoScheduler) corre cuando ya se escribió.
+     */
+    public void flush() {
+        drainToWriter();
+        // El hilo del agrupador ya no tiene nada que esperar
+        if (commitScheduled.get()) {
+            flushRequested = true;
+            wakeCloser();
+        }
+    }
+
+    /**
+     * @return Cantidad de estudiantes esperando escritura
+     */
+    public int getPendingCount() {
+        return Math.max(0, pendingCount.get());
+    }
+
+    /**
+     * @return Cantidad de lotes escritos
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * @return Cantidad de estudiantes escritos en lotes (incluidos los rechazados por duplicados)
+     */
+    public long getCommittedCount() {
+        return committedCount.get();
+    }
+
+    public int getLargestBatchSize() {
+        return largestBatchSize.get();
+    }
+
+    /**
+     * @return Tiempo total dentro de {@link Sink#addAll}, en nanosegundos
+     */
+    public long getTotalFlushNanos() {
+        return totalFlushNanos.get();
+    }
+
+    /**
+     * Espera a que el lote se complete o venza, lo toma y lo pasa al ejecutor escritor
+     * Corre en el hilo del agrupador, de a un lote por vez; si flush ya tomó el
+     * lote, encuentra la cola vacía.
+     */
+    private void closeNext() {
+        Pending first = pending.peek();
+        if (first != null) {
+            long deadline = first.submittedNanos + maxDelayNanos;
+            long remaining;
+            waitingCloser = Thread.currentThread();
+            try {
+                while (pendingCount.get() < maxBatchSize && !flushRequested
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                }
+            } finally {
+                waitingCloser = null;
+            }
+        }
+        flushRequested = false;
+        // Se libera antes de desencolar: lo que llegue después programa otro
+        // cierre, que encuentra la cola vacía si este lote ya lo tomó
+        commitScheduled.set(false);
+
+        drainToWriter();
+    }
+
+    /**
+     * Toma todo el lote abierto y lo pasa al ejecutor escritor
+     */
+    private void drainToWriter() {
+        synchronized (drainLock) {
+            List<Pending> batch = new ArrayList<>();
+            Pending entry;
+            while ((entry = pending.poll()) != null) {
+                batch.add(entry);
+            }
+            pendingCount.addAndGet(-batch.size());
+            if (!batch.isEmpty()) {
+                writer.execute(() -> commit(batch));
+            }
+        }
+    }
+
+    private void wakeCloser() {
+        Thread waiting = waitingCloser;
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<Student> students = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            students.add(entry.student);
+        }
+
+        long start = System.nanoTime();
+        StudentRepository.AddResult[] results;
+        try {
+            results = sink.addAll(students);
+        } catch (Exception e) {
+            // Nada del lote se confirmó
+            for (Pending entry : batch) {
+                entry.listener.onFailed(e);
+            }
+            return;
+        }
+        long flushNanos = System.nanoTime() - start;
+
+        flushCount.incrementAndGet();
+        committedCount.addAndGet(batch.size());
+        if (batch.size() > largestBatchSize.get()) {
+            largestBatchSize.set(batch.size());
+        }
+        totalFlushNanos.addAndGet(flushNanos);
+        FlushObserver observer = flushObserver;
+        if (observer != null) {
+            observer.onFlushed(batch.size(), flushNanos);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).listener.onCommitted(results[i]);
+        }
+    }
+
+    private static final class Pending {
+        final Student student;
+        final Listener listener;
+        final long submittedNanos = System.nanoTime();
+
+        Pending(Student student, Listener listener) {
+            this.student = student;
+            this.listener = listener;
+        }
+    }
+}
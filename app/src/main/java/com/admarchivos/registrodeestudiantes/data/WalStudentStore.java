@@ -0,0 +1,618 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Almacenamiento durable: checkpoint binario más un log de escritura anticipada
+ * - El checkpoint es un archivo {@link BinaryRosterFormat} con los estudiantes
+ *   hasta cierta posición; se abre mapeado, sin leer los registros
+ * - El log (WAL) guarda los estudiantes posteriores. Cada registro lleva su
+ *   longitud y un CRC32, y cada anexado termina con un fsync: lo confirmado
+ *   sobrevive a la muerte del proceso y a un corte de energía
+ * - Al abrir se reproduce solo el log; el tiempo de recuperación depende de
+ *   las escrituras recientes y no del tamaño de la lista. Un registro final
+ *   incompleto o con checksum inválido se descarta junto con lo que le sigue
+ * - Cada {@link #CHECKPOINT_THRESHOLD} anexados se escribe en segundo plano un
+ *   checkpoint nuevo (archivo temporal + rename atómico) y se recorta el log.
+ *   Los lectores solo esperan el cambio de referencias al final.
+ *
+ * El encabezado del log indica desde qué posición continúa; si el proceso muere
+ * entre publicar el checkpoint y recortar el log, al abrir se saltan los
+ * registros que el checkpoint ya contiene. Un log con el encabezado dañado o que
+ * continúa más allá del checkpoint no se puede aplicar: se aparta con el sufijo
+ * {@link #CORRUPT_LOG_SUFFIX} y se abre solo el checkpoint.
+ */
+public class WalStudentStore implements StudentStore {
+
+    public static final String CHECKPOINT_FILE_NAME = "students.checkpoint";
+    public static final String LOG_FILE_NAME = "students.wal";
+    // Sufijo del log apartado al abrir, que queda para recuperarlo a mano
+    public static final String CORRUPT_LOG_SUFFIX = ".corrupt";
+
+    // Anexados en el log tras los cuales se programa un checkpoint
+    static final int CHECKPOINT_THRESHOLD = 4096;
+
+    // Encabezado del log: magic, versión, reservado, posición base y CRC32 de lo anterior
+    static final int LOG_MAGIC = 0x4557414C; // "EWAL"
+    static final short LOG_VERSION = 1;
+    static final int LOG_HEADER_SIZE = 16;
+
+    // Cada registro: longitud (int), CRC32 (int) y los cuatro campos
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = BinaryRosterFormat.FIELD_COUNT * (2 + BinaryRosterFormat.MAX_FIELD_BYTES);
+
+    private static WalStudentStore instance;
+
+    private final File checkpointFile;
+    private final File logFile;
+    private final ExecutorService checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-wal-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Protege el log abierto, el checkpoint vigente y la cola en memoria
+    private final Object lock = new Object();
+    // Un checkpoint a la vez: comparten el archivo temporal
+    private final Object checkpointLock = new Object();
+    private RandomAccessFile log;
+    private long logLength;
+    private BinaryRosterReader checkpoint;
+    private int checkpointCount;
+    // Estudiantes del log que el checkpoint todavía no contiene, en orden
+    private List<Student> tail = new ArrayList<>();
+    private boolean checkpointing;
+    // Lecturas del checkpoint en curso fuera del lock
+    private int checkpointReads;
+    // Checkpoints reemplazados que se cierran cuando no quedan lecturas en curso
+    private final List<BinaryRosterReader> retiredCheckpoints = new ArrayList<>();
+    private int recoveredRecords;
+    private boolean logQuarantined;
+
+    /**
+     * Obtiene la instancia única del proceso
+     * La primera vez migra los datos anteriores: SharedPreferences al journal y
+     * el journal a un checkpoint, que luego se borra
+     */
+    public static synchronized WalStudentStore getInstance(Context context) {
+        if (instance == null) {
+            File dir = context.getApplicationContext().getFilesDir();
+            File journal = new File(dir, JournalStudentStore.JOURNAL_FILE_NAME);
+            File checkpointFile = new File(dir, CHECKPOINT_FILE_NAME);
+            File logFile = new File(dir, LOG_FILE_NAME);
+            try {
+                if (!checkpointFile.exists() && !logFile.exists()) {
+                    PrefsMigration.migrateIfNeeded(context.getApplicationContext(), journal);
+                    if (journal.exists()) {
+                        JournalStudentStore journalStore = new JournalStudentStore(journal);
+                        try {
+                            RosterConverter.storeToBinary(journalStore, checkpointFile);
+                        } finally {
+                            journalStore.close();
+                        }
+                    }
+                }
+                // Si ya hay checkpoint, el journal es un resto de la migración
+                if (checkpointFile.exists()) {
+                    journal.delete();
+                }
+                instance = new WalStudentStore(checkpointFile, logFile);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo abrir el almacenamiento de estudiantes", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Abre (o crea) el checkpoint y el log indicados y reproduce el log
+     * Si el log no se puede aplicar sobre el checkpoint se aparta y se empieza
+     * uno vacío, en lugar de impedir que la app abra.
+     */
+    public WalStudentStore(File checkpointFile, File logFile) throws IOException {
+        this.checkpointFile = checkpointFile;
+        this.logFile = logFile;
+        if (checkpointFile.exists()) {
+            checkpoint = new BinaryRosterReader(checkpointFile);
+            checkpointCount = checkpoint.size();
+        }
+        if (!logFile.exists() || !recover()) {
+            if (logFile.exists()) {
+                quarantineLog();
+            }
+            writeLog(checkpointCount, tail);
+        }
+        log = new RandomAccessFile(logFile, "rw");
+        logLength = log.length();
+    }
+
+    /**
+     * Abre el checkpoint y el log solo para leerlos, como al importarlos
+     * No crea, recorta ni aparta archivos: si falta el log se lee solo el
+     * checkpoint, y un log que no se puede aplicar se ignora.
+     */
+    public static Snapshot openSnapshot(File checkpointFile, File logFile) throws IOException {
+        BinaryRosterReader checkpoint = checkpointFile.exists() ? new BinaryRosterReader(checkpointFile) : null;
+        List<Student> tail = new ArrayList<>();
+        if (logFile.exists()) {
+            replayLog(logFile, checkpoint != null ? checkpoint.size() : 0, tail);
+        }
+        return new Snapshot(checkpoint, tail);
+    }
+
+    @Override
+    public void append(Student student) throws IOException {
+        List<Student> single = new ArrayList<>(1);
+        single.add(student);
+        appendAll(single);
+    }
+
+    @Override
+    public void appendAll(List<Student> students) throws IOException {
+        if (students.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(students.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Student student : students) {
+            writeRecord(out, student);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        synchronized (lock) {
+            FileChannel channel = log.getChannel();
+            try {
+                long position = logLength;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                // Un fsync por lote: al volver, el lote está en el disco
+                channel.force(false);
+            } catch (IOException e) {
+                // No dejar un registro a medias delante de los próximos anexados
+                channel.truncate(logLength);
+                throw e;
+            }
+            logLength += buffer.capacity();
+            tail.addAll(students);
+            maybeScheduleCheckpoint();
+        }
+    }
+
+    @Override
+    public List<Student> loadAll() throws IOException {
+        return read(0, size());
+    }
+
+    @Override
+    public List<Student> read(int from, int count) {
+        BinaryRosterReader base;
+        int baseCount;
+        List<Student> students = new ArrayList<>(count);
+        synchronized (lock) {
+            if (from < 0 || count < 0 || from + count > checkpointCount + tail.size()) {
+                throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + size());
+            }
+            base = checkpoint;
+            baseCount = checkpointCount;
+            for (int position = Math.max(from, baseCount); position < from + count; position++) {
+                students.add(tail.get(position - baseCount));
+            }
+            if (from >= baseCount) {
+                return students;
+            }
+            checkpointReads++;
+        }
+        // El checkpoint es inmutable: se decodifica fuera del lock
+        List<Student> fromCheckpoint = new ArrayList<>();
+        try {
+            for (int position = from; position < Math.min(from + count, baseCount); position++) {
+                fromCheckpoint.add(readCheckpoint(base, position));
+            }
+        } finally {
+            synchronized (lock) {
+                checkpointReads--;
+                closeRetiredCheckpoints();
+            }
+        }
+        fromCheckpoint.addAll(students);
+        return fromCheckpoint;
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return checkpointCount + tail.size();
+        }
+    }
+
+    /**
+     * @return Registros del log reproducidos al abrir
+     */
+    public int getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * @return true si al abrir se apartó un log que no se podía aplicar
+     */
+    public boolean isLogQuarantined() {
+        return logQuarantined;
+    }
+
+    /**
+     * @return Estudiantes guardados solo en el log
+     */
+    public int getLogRecordCount() {
+        synchronized (lock) {
+            return tail.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        checkpointExecutor.shutdown();
+        synchronized (lock) {
+            try {
+                log.close();
+            } catch (IOException ignored) {
+                // No hay nada más que hacer al cerrar
+            }
+            if (checkpoint != null) {
+                retiredCheckpoints.add(checkpoint);
+            }
+            closeRetiredCheckpoints();
+        }
+    }
+
+    /**
+     * Escribe un checkpoint con todo lo guardado y recorta el log
+     * La copia se hace sin el lock; lectores y escritores solo esperan a que
+     * se reescriba la parte del log anexada mientras tanto.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            writeCheckpoint();
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        BinaryRosterReader base;
+        int baseCount;
+        List<Student> covered;
+        synchronized (lock) {
+            base = checkpoint;
+            baseCount = checkpointCount;
+            covered = new ArrayList<>(tail);
+            if (covered.isEmpty()) {
+                return;
+            }
+            checkpointReads++;
+        }
+
+        try {
+            // Archivo temporal + fsync + rename, ver BinaryRosterWriter
+            BinaryRosterWriter writer = new BinaryRosterWriter(checkpointFile);
+            try {
+                for (int position = 0; position < baseCount; position++) {
+                    writer.write(base.get(position));
+                }
+                for (Student student : covered) {
+                    writer.write(student);
+                }
+            } catch (IOException | RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            writer.close();
+        } finally {
+            synchronized (lock) {
+                checkpointReads--;
+                closeRetiredCheckpoints();
+            }
+        }
+        BinaryRosterReader published = new BinaryRosterReader(checkpointFile);
+
+        synchronized (lock) {
+            int newCount = baseCount + covered.size();
+            List<Student> remaining = new ArrayList<>(tail.subList(covered.size(), tail.size()));
+            log.close();
+            try {
+                writeLog(newCount, remaining);
+            } finally {
+                log = new RandomAccessFile(logFile, "rw");
+            }
+            logLength = log.length();
+            // Los lectores que tomaron el anterior lo siguen usando sin el lock
+            if (checkpoint != null) {
+                retiredCheckpoints.add(checkpoint);
+            }
+            checkpoint = published;
+            checkpointCount = newCount;
+            tail = remaining;
+            closeRetiredCheckpoints();
+        }
+    }
+
+    /**
+     * Cierra los checkpoints reemplazados si nadie los está leyendo
+     * Se llama con el lock tomado.
+     */
+    private void closeRetiredCheckpoints() {
+        if (checkpointReads > 0) {
+            return;
+        }
+        for (BinaryRosterReader retired : retiredCheckpoints) {
+            retired.close();
+        }
+        retiredCheckpoints.clear();
+    }
+
+    /**
+     * @return Checkpoint vigente, para las pruebas
+     */
+    BinaryRosterReader currentCheckpoint() {
+        synchronized (lock) {
+            return checkpoint;
+        }
+    }
+
+    private void maybeScheduleCheckpoint() {
+        if (tail.size() >= CHECKPOINT_THRESHOLD && !checkpointing) {
+            checkpointing = true;
+            checkpointExecutor.execute(this::checkpointQuietly);
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException ignored) {
+            // Se reintentará en el siguiente anexado; el log sigue siendo válido
+        } finally {
+            synchronized (lock) {
+                checkpointing = false;
+            }
+        }
+    }
+
+    /**
+     * Reproduce el log sobre el checkpoint y trunca un final incompleto o dañado
+     *
+     * @return false, sin reproducir nada, si el encabezado está dañado o el log
+     *         continúa desde una posición que el checkpoint no alcanza
+     */
+    private boolean recover() throws IOException {
+        long validLength = replayLog(logFile, checkpointCount, tail);
+        if (validLength < 0) {
+            return false;
+        }
+        recoveredRecords = tail.size();
+        if (validLength < logFile.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+                raf.setLength(validLength);
+                raf.getFD().sync();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Agrega a tail los registros válidos del log que el checkpoint no contiene
+     *
+     * @return Longitud de la parte válida del log, o -1 si no se puede aplicar
+     */
+    private static long replayLog(File logFile, int checkpointCount, List<Student> tail) throws IOException {
+        long validLength = LOG_HEADER_SIZE;
+        int position;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+            position = readLogHeader(in);
+            if (position < 0 || position > checkpointCount) {
+                return -1;
+            }
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[256];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                try {
+                    in.readFully(payload, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                // Los registros que el checkpoint ya contiene se saltan
+                if (position >= checkpointCount) {
+                    tail.add(decode(ByteBuffer.wrap(payload, 0, length)));
+                }
+                position++;
+                validLength += RECORD_HEADER_SIZE + length;
+            }
+        }
+        return validLength;
+    }
+
+    /**
+     * @return Posición base del log, o -1 si el encabezado está incompleto o dañado
+     */
+    private static int readLogHeader(DataInputStream in) throws IOException {
+        byte[] header = new byte[LOG_HEADER_SIZE];
+        try {
+            in.readFully(header);
+        } catch (EOFException e) {
+            return -1;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        CRC32 crc = new CRC32();
+        crc.update(header, 0, LOG_HEADER_SIZE - 4);
+        if (buffer.getInt(0) != LOG_MAGIC || buffer.getShort(4) != LOG_VERSION
+                || buffer.getInt(12) != (int) crc.getValue()) {
+            return -1;
+        }
+        return buffer.getInt(8);
+    }
+
+    /**
+     * Renombra el log que no se pudo aplicar; reemplaza uno apartado antes
+     */
+    private void quarantineLog() throws IOException {
+        File corrupt = new File(logFile.getPath() + CORRUPT_LOG_SUFFIX);
+        if (corrupt.exists() && !corrupt.delete()) {
+            throw new IOException("No se pudo reemplazar " + corrupt.getName());
+        }
+        if (!logFile.renameTo(corrupt)) {
+            throw new IOException("No se pudo apartar el log");
+        }
+        logQuarantined = true;
+    }
+
+    /**
+     * Crea el log con su encabezado y los registros indicados y lo publica con rename
+     */
+    private void writeLog(int basePosition, List<Student> students) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(LOG_HEADER_SIZE + students.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(LOG_MAGIC);
+        out.writeShort(LOG_VERSION);
+        out.writeShort(0);
+        out.writeInt(basePosition);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, LOG_HEADER_SIZE - 4);
+        out.writeInt((int) crc.getValue());
+        for (Student student : students) {
+            writeRecord(out, student);
+        }
+
+        File tmp = new File(logFile.getPath() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp)) {
+            bytes.writeTo(file);
+            file.getFD().sync();
+        }
+        if (!tmp.renameTo(logFile)) {
+            tmp.delete();
+            throw new IOException("No se pudo publicar el log");
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, Student student) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        DataOutputStream record = new DataOutputStream(bytes);
+        writeField(record, student.getName());
+        writeField(record, student.getLastName());
+        writeField(record, student.getEmail());
+        writeField(record, student.getStudentCode());
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    private static void writeField(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(BinaryRosterFormat.NULL_FIELD);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > BinaryRosterFormat.MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Campo demasiado largo: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Student decode(ByteBuffer payload) {
+        String name = BinaryRosterReader.readField(payload);
+        String lastName = BinaryRosterReader.readField(payload);
+        String email = BinaryRosterReader.readField(payload);
+        String studentCode = BinaryRosterReader.readField(payload);
+        return new Student(name, lastName, email, studentCode);
+    }
+
+    /**
+     * Lee una fila del checkpoint, o null si esa fila está dañada
+     */
+    private static Student readCheckpoint(BinaryRosterReader reader, int position) {
+        try {
+            return reader.get(position);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Vista de solo lectura del checkpoint y el log, ver {@link #openSnapshot}
+     */
+    public static final class Snapshot implements StudentSource {
+
+        private final BinaryRosterReader checkpoint;
+        private final int checkpointCount;
+        private final List<Student> tail;
+
+        private Snapshot(BinaryRosterReader checkpoint, List<Student> tail) {
+            this.checkpoint = checkpoint;
+            this.checkpointCount = checkpoint != null ? checkpoint.size() : 0;
+            this.tail = tail;
+        }
+
+        @Override
+        public List<Student> read(int from, int count) {
+            if (from < 0 || count < 0 || from + count > size()) {
+                throw new IndexOutOfBoundsException("Rango " + from + "+" + count + " de " + size());
+            }
+            List<Student> students = new ArrayList<>(count);
+            for (int position = from; position < from + count; position++) {
+                students.add(position < checkpointCount
+                        ? readCheckpoint(checkpoint, position)
+                        : tail.get(position - checkpointCount));
+            }
+            return students;
+        }
+
+        @Override
+        public int size() {
+            return checkpointCount + tail.size();
+        }
+
+        public void close() {
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+    }
+}
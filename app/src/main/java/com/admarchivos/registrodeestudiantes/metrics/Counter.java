@@ -0,0 +1,40 @@
+package com.admarchivos.registrodeestudiantes.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de eventos, seguro entre hilos y sin bloqueos
+ */
+public final class Counter {
+
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            value.incrementAndGet();
+        }
+    }
+
+    public void add(long amount) {
+        if (Metrics.isEnabled()) {
+            value.addAndGet(amount);
+        }
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    void reset() {
+        value.set(0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.admarchivos.registrodeestudiantes.metrics;
+
+import android.view.Choreographer;
+
+/**
+ * Mide el intervalo entre cuadros mientras está activo y cuenta los cuadros lentos
+ * Un cuadro es lento si tarda más de 1.5 veces el período de refresco de la pantalla.
+ * Se activa solo mientras la lista se desplaza, para no pedir cuadros en reposo.
+ */
+public final class FrameMonitor implements Choreographer.FrameCallback {
+
+    private final long jankThresholdNanos;
+    private long lastFrameNanos;
+    private boolean running;
+
+    /**
+     * @param refreshRate Cuadros por segundo de la pantalla
+     */
+    public FrameMonitor(float refreshRate) {
+        float rate = refreshRate > 0 ? refreshRate : 60f;
+        this.jankThresholdNanos = (long) (1_000_000_000L / rate * 1.5f);
+    }
+
+    public void start() {
+        if (running || !Metrics.isEnabled()) {
+            return;
+        }
+        running = true;
+        lastFrameNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            long interval = frameTimeNanos - lastFrameNanos;
+            Metrics.FRAME_INTERVAL.record(interval);
+            Metrics.FRAMES.increment();
+            if (interval > jankThresholdNanos) {
+                Metrics.JANK_FRAMES.increment();
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
@@ -0,0 +1,92 @@
+package com.admarchivos.registrodeestudiantes.metrics;
+
+import com.admarchivos.registrodeestudiantes.BuildConfig;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Métricas locales de los caminos críticos de la app
+ * Todas las métricas se crean al cargar la clase, así medir nunca reserva memoria.
+ *
+ * En release {@link #COMPILED} es false: las mediciones protegidas con
+ * {@link #isEnabled()} quedan como código muerto y el resto retorna de inmediato.
+ * En debug se pueden pausar desde la pantalla de métricas.
+ */
+public final class Metrics {
+
+    // Se decide al compilar (buildConfigField METRICS_ENABLED)
+    public static final boolean COMPILED = BuildConfig.METRICS_ENABLED;
+
+    private static volatile boolean enabled = COMPILED;
+
+    // Inicio de la app
+    public static final Histogram STARTUP_FIRST_FRAME_ASYNC = new Histogram("inicio.primer_cuadro_async");
+    public static final Histogram STARTUP_FIRST_FRAME_SYNC = new Histogram("inicio.primer_cuadro_sync");
+    public static final Histogram ANIMATION_READY = new Histogram("inicio.animacion_lista");
+
+    // Lista de estudiantes
+    public static final Histogram PAGE_LOAD = new Histogram("lista.cargar_pagina");
+    public static final Histogram CREATE_VIEW_HOLDER = new Histogram("lista.crear_fila");
+    public static final Histogram BIND_VIEW_HOLDER = new Histogram("lista.enlazar_fila");
+    public static final Histogram FRAME_INTERVAL = new Histogram("lista.intervalo_cuadro");
+    public static final Counter FRAMES = new Counter("lista.cuadros");
+    public static final Counter JANK_FRAMES = new Counter("lista.cuadros_lentos");
+
+    // Registro
+    public static final Histogram SAVE_STUDENT = new Histogram("registro.guardar");
+    public static final Counter SAVED_STUDENTS = new Counter("registro.guardados");
+    public static final Counter REJECTED_DUPLICATES = new Counter("registro.duplicados");
+    public static final Histogram WRITE_FLUSH = new Histogram("registro.escribir_lote");
+    public static final Counter WRITE_BATCHES = new Counter("registro.lotes");
+    public static final Counter BATCHED_STUDENTS = new Counter("registro.estudiantes_en_lotes");
+    public static final Histogram DUPLICATE_CHECK = new Histogram("registro.buscar_repetidos");
+
+    private static final List<Histogram> HISTOGRAMS = Collections.unmodifiableList(Arrays.asList(
+            STARTUP_FIRST_FRAME_ASYNC, STARTUP_FIRST_FRAME_SYNC, ANIMATION_READY, PAGE_LOAD, CREATE_VIEW_HOLDER, BIND_VIEW_HOLDER, FRAME_INTERVAL, SAVE_STUDENT, WRITE_FLUSH, DUPLICATE_CHECK));
+    private static final List<Counter> COUNTERS = Collections.unmodifiableList(Arrays.asList(
+            FRAMES, JANK_FRAMES, SAVED_STUDENTS, REJECTED_DUPLICATES, WRITE_BATCHES, BATCHED_STUDENTS));
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return COMPILED && enabled;
+    }
+
+    /**
+     * Pausa o reanuda las mediciones (sin efecto si no se compilaron)
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Inicia una medición
+     *
+     * @return Tiempo actual en nanosegundos, o 0 si las métricas están desactivadas
+     */
+    public static long start() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    public static List<Histogram> histograms() {
+        return HISTOGRAMS;
+    }
+
+    public static List<Counter> counters() {
+        return COUNTERS;
+    }
+
+    /**
+     * Vuelve todas las métricas a cero
+     */
+    public static void reset() {
+        for (Histogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+        for (Counter counter : COUNTERS) {
+            counter.reset();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.admarchivos.registrodeestudiantes.metrics;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Volcado de las métricas actuales en JSON o en texto legible
+ * Los tiempos se informan en microsegundos.
+ */
+public final class MetricsReport {
+
+    private MetricsReport() {
+    }
+
+    /**
+     * Escribe las métricas como JSON:
+     * {"timestamp", "enabled", "counters": {nombre: valor},
+     *  "histograms": {nombre: {count, mean_us, p50_us, p90_us, p99_us, max_us}}}
+     */
+    public static void writeJson(Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("timestamp").value(System.currentTimeMillis());
+        json.name("enabled").value(Metrics.isEnabled());
+
+        json.name("counters").beginObject();
+        for (Counter counter : Metrics.counters()) {
+            json.name(counter.getName()).value(counter.get());
+        }
+        json.endObject();
+
+        json.name("histograms").beginObject();
+        for (Histogram histogram : Metrics.histograms()) {
+            json.name(histogram.getName()).beginObject();
+            json.name("count").value(histogram.getCount());
+            json.name("mean_us").value(micros(histogram.getMean()));
+            json.name("p50_us").value(micros(histogram.getPercentile(50)));
+            json.name("p90_us").value(micros(histogram.getPercentile(90)));
+            json.name("p99_us").value(micros(histogram.getPercentile(99)));
+            json.name("max_us").value(micros(histogram.getMax()));
+            json.endObject();
+        }
+        json.endObject();
+
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * @return Las métricas en texto, una por línea
+     */
+    public static String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(Metrics.isEnabled() ? "Métricas activas" : "Métricas pausadas").append("\n\n");
+        for (Counter counter : Metrics.counters()) {
+            text.append(counter.getName()).append(": ").append(counter.get()).append('\n');
+        }
+        text.append('\n');
+        for (Histogram histogram : Metrics.histograms()) {
+            text.append(histogram.getName()).append('\n');
+            if (histogram.getCount() == 0) {
+                text.append("  sin datos\n");
+                continue;
+            }
+            text.append(String.format(Locale.ROOT,
+                    "  n=%d  prom=%.1fµs  p50=%.1fµs  p90=%.1fµs  p99=%.1fµs  máx=%.1fµs%n",
+                    histogram.getCount(),
+                    micros(histogram.getMean()),
+                    micros(histogram.getPercentile(50)),
+                    micros(histogram.getPercentile(90)),
+                    micros(histogram.getPercentile(99)),
+                    micros(histogram.getMax())));
+        }
+        return text.toString();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,530 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detección de estudiantes casi repetidos ("José Pérez" y "Jose Perez", o un
+ * email con un error de tipeo)
+ * - Los nombres se comparan normalizados con {@link TextNormalizer}, igual que la búsqueda
+ * - Solo se comparan pares que comparten un bloque: la clave fonética de primer
+ *   nombre y primer apellido, o la parte local del email sin signos ni dígitos.
+ *   Así nunca se compara toda la lista contra sí misma.
+ * - Al registrar se puntúan solo los estudiantes más recientes de los bloques
+ *   del nuevo ({@link #findMatches}); el reporte completo ({@link #report}) ordena
+ *   la lista por nombre fonético y por email y compara cada estudiante con sus vecinos
+ *   (sorted neighborhood), en tiempo casi lineal
+ * Se actualiza de forma incremental al registrar estudiantes.
+ */
+public class DuplicateDetector {
+
+    // Puntaje desde el que dos estudiantes se consideran posiblemente repetidos
+    public static final double DEFAULT_MIN_SCORE = 0.8;
+
+    // Estudiantes más recientes que se comparan de cada bloque al registrar
+    static final int MAX_BLOCK_CANDIDATES = 64;
+
+    // Vecinos con los que se compara cada estudiante en el reporte
+    static final int REPORT_WINDOW = 8;
+
+    // Peso del nombre en el puntaje; el resto es el email
+    private static final double NAME_WEIGHT = 0.6;
+
+    // Partes locales de email más cortas no forman bloque ("a@", "jp@")
+    private static final int MIN_EMAIL_KEY_LENGTH = 3;
+
+    // Clave de bloque -> posiciones (crecientes) de los estudiantes del bloque
+    private final Map<String, Postings> blocks = new HashMap<>();
+
+    /**
+     * Posible repetido de un estudiante
+     */
+    public static final class Match {
+        public final Student student;
+        public final int position;
+        public final double score;
+
+        Match(Student student, int position, double score) {
+            this.student = student;
+            this.position = position;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Par de posiciones posiblemente repetidas del reporte (first < second)
+     */
+    public static final class Pair {
+        public final int first;
+        public final int second;
+        public final double score;
+
+        Pair(int first, int second, double score) {
+            this.first = first;
+            this.second = second;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Agrega un estudiante a sus bloques
+     *
+     * @param student Estudiante registrado
+     * @param position Posición de registro (deben llegar en orden creciente)
+     */
+    public synchronized void add(Student student, int position) {
+        if (student == null) {
+            return;
+        }
+        for (String key : blockKeys(student)) {
+            Postings list = blocks.get(key);
+            if (list == null) {
+                list = new Postings();
+                blocks.put(key, list);
+            }
+            list.add(position);
+        }
+    }
+
+    /**
+     * Busca posibles repetidos de un estudiante que se va a registrar
+     *
+     * @param student Estudiante nuevo
+     * @param students Acceso a los estudiantes registrados por posición
+     * @param minScore Puntaje mínimo (entre 0 y 1)
+     * @param limit Máximo de resultados
+     * @return Posibles repetidos, el más parecido primero
+     */
+    public List<Match> findMatches(Student student, StudentSortIndex.PositionLookup students,
+                                   double minScore, int limit) throws IOException {
+        if (student == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int[] positions = candidates(student);
+        List<Student> found = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            found.add(students.get(position));
+        }
+        return findMatches(student, positions, found, minScore, limit);
+    }
+
+    /**
+     * Igual que {@link #findMatches(Student, StudentSortIndex.PositionLookup, double, int)},
+     * con los candidatos ya leídos, para leerlos de una vez
+     *
+     * @param positions Posiciones devueltas por {@link #candidates}
+     * @param students Estudiante de cada posición, en el mismo orden (los null se omiten)
+     */
+    public List<Match> findMatches(Student student, int[] positions, List<Student> students,
+                                   double minScore, int limit) {
+        if (student == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String name = nameText(student);
+        String email = emailText(student);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            Student candidate = students.get(i);
+            if (candidate == null) {
+                continue;
+            }
+            double score = score(name, email, nameText(candidate), emailText(candidate));
+            if (score >= minScore) {
+                matches.add(new Match(candidate, positions[i], score));
+            }
+        }
+        Collections.sort(matches, (a, b) -> a.score != b.score
+                ? Double.compare(b.score, a.score)
+                : Integer.compare(b.position, a.position));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * @return Posiciones que comparten algún bloque con el estudiante, las más
+     *         recientes de cada bloque, sin repetir y en orden creciente
+     */
+    public synchronized int[] candidates(Student student) {
+        if (student == null) {
+            return new int[0];
+        }
+        int[] result = new int[0];
+        int count = 0;
+        for (String key : blockKeys(student)) {
+            Postings list = blocks.get(key);
+            if (list == null) {
+                continue;
+            }
+            int from = Math.max(0, list.count - MAX_BLOCK_CANDIDATES);
+            result = Arrays.copyOf(result, count + list.count - from);
+            System.arraycopy(list.positions, from, result, count, list.count - from);
+            count += list.count - from;
+        }
+        Arrays.sort(result, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || result[unique - 1] != result[i]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    /**
+     * Reporte de posibles repetidos de toda la lista (sorted neighborhood)
+     * Calcula las claves y los textos a comparar de cada estudiante una sola vez,
+     * ordena por nombre fonético y por email y compara cada estudiante con los
+     * siguientes {@link #REPORT_WINDOW} - 1 de cada orden.
+     *
+     * @param students Estudiantes por posición de registro, pedidos en orden creciente
+     *                 (los null se omiten)
+     * @param count Cantidad de posiciones
+     * @param minScore Puntaje mínimo (entre 0 y 1)
+     * @return Pares encontrados, el más parecido primero
+     */
+    public static List<Pair> report(StudentSortIndex.PositionLookup students, int count,
+                                    double minScore) throws IOException {
+        String[] names = new String[count];
+        String[] emails = new String[count];
+        String[] nameKeys = new String[count];
+        Integer[] present = new Integer[count];
+        int n = 0;
+        for (int position = 0; position < count; position++) {
+            Student student = students.get(position);
+            if (student == null) {
+                continue;
+            }
+            names[position] = nameText(student);
+            emails[position] = emailText(student);
+            // A igual nombre se ordena por email, así los homónimos con emails
+            // parecidos quedan cerca aunque haya muchos
+            nameKeys[position] = phonetic(student.getLastName()) + ' ' + phonetic(student.getName())
+                    + '\u0000' + emails[position];
+            present[n++] = position;
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<Pair> pairs = new ArrayList<>();
+        for (String[] keys : new String[][]{nameKeys, emails}) {
+            Integer[] byKey = Arrays.copyOf(present, n);
+            Arrays.sort(byKey, (a, b) -> {
+                int result = keys[a].compareTo(keys[b]);
+                return result != 0 ? result : Integer.compare(a, b);
+            });
+            for (int i = 0; i < n; i++) {
+                int a = byKey[i];
+                if (keys[a].isEmpty()) {
+                    continue;
+                }
+                for (int j = i + 1; j < n && j < i + REPORT_WINDOW; j++) {
+                    int b = byKey[j];
+                    int first = Math.min(a, b);
+                    int second = Math.max(a, b);
+                    if (!seen.add(((long) first << 32) | second)) {
+                        continue;
+                    }
+                    double score = score(names[first], emails[first], names[second], emails[second]);
+                    if (score >= minScore) {
+                        pairs.add(new Pair(first, second, score));
+                    }
+                }
+            }
+        }
+        Collections.sort(pairs, (a, b) -> a.score != b.score
+                ? Double.compare(b.score, a.score)
+                : a.first != b.first ? Integer.compare(a.first, b.first) : Integer.compare(a.second, b.second));
+        return pairs;
+    }
+
+    /**
+     * Puntaje de parecido entre dos estudiantes, entre 0 (distintos) y 1 (iguales)
+     * El nombre se compara con Jaro-Winkler (premia el mismo comienzo) y el email
+     * con distancia de edición, que tolera letras cambiadas o invertidas.
+     */
+    public static double score(Student a, Student b) {
+        return score(nameText(a), emailText(a), nameText(b), emailText(b));
+    }
+
+    private static double score(String nameA, String emailA, String nameB, String emailB) {
+        return NAME_WEIGHT * jaroWinkler(nameA, nameB)
+                + (1 - NAME_WEIGHT) * editSimilarity(emailA, emailB);
+    }
+
+    /**
+     * Claves de bloque de un estudiante: fonética del nombre y email sin signos
+     */
+    static List<String> blockKeys(Student student) {
+        List<String> keys = new ArrayList<>(2);
+        String first = phonetic(firstToken(student.getName()));
+        String last = phonetic(firstToken(student.getLastName()));
+        if (!first.isEmpty() || !last.isEmpty()) {
+            keys.add("n:" + first + ' ' + last);
+        }
+        String email = emailKey(student.getEmail());
+        if (email.length() >= MIN_EMAIL_KEY_LENGTH) {
+            keys.add("e:" + email);
+        }
+        return keys;
+    }
+
+    /**
+     * Clave fonética de un texto en español, palabra por palabra
+     * Sobre el texto normalizado (sin tildes ni mayúsculas) unifica los sonidos
+     * que se confunden al escribir: b/v/w, s/z/c suave, k/c dura/qu, j/g suave,
+     * y/ll, la h muda y las letras repetidas. "Vázquez" y "Basques" dan "baskes".
+     */
+    public static String phonetic(CharSequence text) {
+        StringBuilder key = new StringBuilder();
+        TextNormalizer.tokenize(text, token -> {
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            appendPhonetic(token, key);
+        });
+        return key.toString();
+    }
+
+    private static void appendPhonetic(String token, StringBuilder key) {
+        int length = token.length();
+        char last = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            char next = i + 1 < length ? token.charAt(i + 1) : 0;
+            char code;
+            switch (c) {
+                case 'h':
+                    continue;
+                case 'c':
+                    if (next == 'h') {
+                        // "ch" queda como c: la c sola siempre pasa a k o s
+                        code = 'c';
+                        i++;
+                    } else {
+                        code = next == 'e' || next == 'i' ? 's' : 'k';
+                    }
+                    break;
+                case 'q':
+                    code = 'k';
+                    if (next == 'u') {
+                        i++;
+                    }
+                    break;
+                case 'g':
+                    if (next == 'e' || next == 'i') {
+                        code = 'j';
+                    } else {
+                        code = 'g';
+                        // "gue" y "gui": la u no suena
+                        char afterU = i + 2 < length ? token.charAt(i + 2) : 0;
+                        if (next == 'u' && (afterU == 'e' || afterU == 'i')) {
+                            i++;
+                        }
+                    }
+                    break;
+                case 'v':
+                case 'w':
+                    code = 'b';
+                    break;
+                case 'z':
+                    code = 's';
+                    break;
+                case 'l':
+                    if (next == 'l') {
+                        code = 'y';
+                        i++;
+                    } else {
+                        code = 'l';
+                    }
+                    break;
+                case 'y':
+                    code = isVowel(next) ? 'y' : 'i';
+                    break;
+                default:
+                    code = c;
+                    break;
+            }
+            if (code != last) {
+                key.append(code);
+                last = code;
+            }
+        }
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static String firstToken(String text) {
+        String[] first = new String[1];
+        TextNormalizer.tokenize(text, token -> {
+            if (first[0] == null) {
+                first[0] = token;
+            }
+        });
+        return first[0] != null ? first[0] : "";
+    }
+
+    /**
+     * Nombre y apellido normalizados, palabras separadas por un espacio
+     */
+    private static String nameText(Student student) {
+        StringBuilder text = new StringBuilder();
+        TextNormalizer.TokenSink sink = token -> {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(token);
+        };
+        TextNormalizer.tokenize(student.getName(), sink);
+        TextNormalizer.tokenize(student.getLastName(), sink);
+        return text.toString();
+    }
+
+    private static String emailText(Student student) {
+        String email = student.getEmail();
+        if (email == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(email.length());
+        for (int i = 0; i < email.length(); i++) {
+            text.append(TextNormalizer.fold(email.charAt(i)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parte local del email solo con letras: "Jose.Perez_12@..." da "joseperez"
+     */
+    private static String emailKey(String email) {
+        if (email == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (TextNormalizer.isWordChar(c) && (c < '0' || c > '9')) {
+                key.append(TextNormalizer.fold(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Similitud de Jaro-Winkler entre 0 y 1
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (lengthA == 0 || lengthB == 0) {
+            return 0;
+        }
+        int range = Math.max(0, Math.max(lengthA, lengthB) / 2 - 1);
+        boolean[] matchedA = new boolean[lengthA];
+        boolean[] matchedB = new boolean[lengthB];
+        int matches = 0;
+        for (int i = 0; i < lengthA; i++) {
+            int from = Math.max(0, i - range);
+            int to = Math.min(lengthB - 1, i + range);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < lengthA; i++) {
+            if (!matchedA[i]) {
+                continue;
+            }
+            while (!matchedB[j]) {
+                j++;
+            }
+            if (a.charAt(i) != b.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+        double m = matches;
+        double jaro = (m / lengthA + m / lengthB + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < 4 && prefix < lengthA && prefix < lengthB && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    /**
+     * 1 menos la distancia de edición (con letras invertidas) sobre el largo mayor
+     */
+    static double editSimilarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (lengthA == 0 || lengthB == 0) {
+            return 0;
+        }
+        // Tres filas de la matriz: dos anteriores y la actual
+        int[] previous2 = new int[lengthB + 1];
+        int[] previous = new int[lengthB + 1];
+        int[] current = new int[lengthB + 1];
+        for (int j = 0; j <= lengthB; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= lengthA; i++) {
+            current[0] = i;
+            for (int j = 1; j <= lengthB; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return 1 - (double) previous[lengthB] / Math.max(lengthA, lengthB);
+    }
+
+    /**
+     * Lista creciente de posiciones sin objetos Integer
+     */
+    private static final class Postings {
+        int[] positions = new int[2];
+        int count;
+
+        void add(int position) {
+            // Un estudiante puede repetir una clave (mismo nombre y email)
+            if (count > 0 && positions[count - 1] == position) {
+                return;
+            }
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+}
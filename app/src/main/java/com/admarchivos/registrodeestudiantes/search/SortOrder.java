@@ -0,0 +1,15 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+/**
+ * Órdenes disponibles para la lista de estudiantes
+ */
+public enum SortOrder {
+    // Los más recientes primero (orden de registro invertido, sin índice)
+    NEWEST,
+    // Apellido, después nombre y código
+    LAST_NAME,
+    // Nombre, después apellido y código
+    FIRST_NAME,
+    // Código de estudiante
+    CODE
+}
@@ -0,0 +1,126 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Índice de búsqueda por prefijo sobre nombre, apellido, email y código
+ * Cada palabra normalizada (sin tildes, en minúsculas) apunta a la lista de
+ * posiciones de registro de los estudiantes que la contienen. Una consulta
+ * busca cada palabra como prefijo y se queda con los estudiantes que coinciden
+ * con todas, por ejemplo "jos per" encuentra a "José Pérez".
+ * Se actualiza de forma incremental al registrar estudiantes.
+ */
+public class StudentSearchIndex {
+
+    // Palabra normalizada -> posiciones (crecientes) de los estudiantes que la contienen
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private int size;
+
+    /**
+     * Agrega un estudiante al índice
+     *
+     * @param student Estudiante a indexar
+     * @param position Posición de registro (deben llegar en orden creciente)
+     */
+    public synchronized void add(Student student, int position) {
+        if (student == null) {
+            return;
+        }
+        TextNormalizer.TokenSink sink = token -> {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+            }
+            list.add(position);
+        };
+        TextNormalizer.tokenize(student.getName(), sink);
+        TextNormalizer.tokenize(student.getLastName(), sink);
+        TextNormalizer.tokenize(student.getEmail(), sink);
+        TextNormalizer.tokenize(student.getStudentCode(), sink);
+        size = Math.max(size, position + 1);
+    }
+
+    /**
+     * @return Cantidad de posiciones cubiertas por el índice
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Busca estudiantes cuyas palabras empiecen con cada palabra de la consulta
+     *
+     * @param query Texto escrito por el usuario
+     * @param limit Máximo de resultados
+     * @return Posiciones de registro encontradas, las más recientes primero
+     */
+    public synchronized int[] search(String query, int limit) {
+        List<String> terms = new ArrayList<>();
+        TextNormalizer.tokenize(query, terms::add);
+        if (terms.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        // Intersección de los conjuntos de cada prefijo
+        BitSet matches = null;
+        for (String term : terms) {
+            BitSet termMatches = matchPrefix(term);
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.and(termMatches);
+            }
+            if (matches.isEmpty()) {
+                return new int[0];
+            }
+        }
+
+        int[] result = new int[Math.min(limit, matches.cardinality())];
+        int count = 0;
+        for (int position = matches.length() - 1; position >= 0 && count < result.length;
+                position = matches.previousSetBit(position - 1)) {
+            result[count++] = position;
+        }
+        return result;
+    }
+
+    private BitSet matchPrefix(String prefix) {
+        BitSet bits = new BitSet(size);
+        // Todas las palabras entre prefix y prefix + MAX_VALUE comparten el prefijo
+        SortedMap<String, Postings> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (Map.Entry<String, Postings> entry : range.entrySet()) {
+            Postings list = entry.getValue();
+            for (int i = 0; i < list.count; i++) {
+                bits.set(list.positions[i]);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Lista creciente de posiciones sin objetos Integer
+     */
+    private static final class Postings {
+        int[] positions = new int[2];
+        int count;
+
+        void add(int position) {
+            // Un estudiante puede repetir una palabra (p. ej. nombre y email)
+            if (count > 0 && positions[count - 1] == position) {
+                return;
+            }
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Vistas ordenadas de la lista de estudiantes, una por {@link SortOrder}
+ * - La clave de orden de cada estudiante se calcula una sola vez al construir
+ *   la vista (ver {@link TextNormalizer#appendSortKey}); comparar es un compareTo
+ * - Cada vista se construye la primera vez que se pide y queda en memoria, así
+ *   volver a un orden ya usado no vuelve a ordenar
+ * - Los estudiantes nuevos se insertan en su lugar en todas las vistas construidas
+ */
+public class StudentSortIndex {
+
+    // Separa los campos de la clave; ordena antes que cualquier carácter
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<SortOrder, SortedView> views = new EnumMap<>(SortOrder.class);
+
+    /**
+     * @return true si la vista de ese orden ya está construida
+     */
+    public synchronized boolean isBuilt(SortOrder order) {
+        return order == SortOrder.NEWEST || views.containsKey(order);
+    }
+
+    /**
+     * Construye la vista de un orden a partir de todos los estudiantes
+     *
+     * @param students Estudiantes por posición de registro, pedidos en orden creciente
+     *                 (los null se omiten)
+     * @param count Cantidad de posiciones
+     */
+    public synchronized void build(SortOrder order, PositionLookup students, int count) throws IOException {
+        if (isBuilt(order)) {
+            return;
+        }
+        Draft draft = new Draft(order, count);
+        for (int position = 0; position < count; position++) {
+            draft.add(students.get(position), position);
+        }
+        publish(draft);
+    }
+
+    /**
+     * Publica una vista armada aparte; si el orden ya estaba construido, se descarta
+     * Debe incluir a todos los estudiantes registrados hasta ese momento.
+     */
+    public synchronized void publish(Draft draft) {
+        if (!isBuilt(draft.order)) {
+            draft.sort();
+            views.put(draft.order, draft.view);
+        }
+    }
+
+    /**
+     * Inserta un estudiante nuevo en todas las vistas construidas
+     *
+     * @param position Posición de registro
+     */
+    public synchronized void add(Student student, int position) {
+        if (student == null) {
+            return;
+        }
+        StringBuilder key = new StringBuilder();
+        for (Map.Entry<SortOrder, SortedView> entry : views.entrySet()) {
+            entry.getValue().insert(keyOf(student, entry.getKey(), key), position);
+        }
+    }
+
+    /**
+     * Devuelve un tramo de la vista ordenada
+     *
+     * @param order Orden ya construido
+     * @param from Índice en la vista ordenada
+     * @param count Cantidad máxima
+     * @return Posiciones de registro de los estudiantes en ese tramo
+     */
+    public synchronized int[] range(SortOrder order, int from, int count) {
+        SortedView view = views.get(order);
+        if (view == null) {
+            throw new IllegalStateException("Orden sin construir: " + order);
+        }
+        int end = Math.min(view.size, from + count);
+        return from >= end ? new int[0] : Arrays.copyOfRange(view.positions, from, end);
+    }
+
+    /**
+     * @return Cantidad de estudiantes en la vista del orden
+     */
+    public synchronized int size(SortOrder order) {
+        SortedView view = views.get(order);
+        return view == null ? 0 : view.size;
+    }
+
+    /**
+     * Clave de orden de un estudiante; las vistas ordenan comparando estas claves
+     * con compareTo (a igual clave, por posición de registro)
+     */
+    public static String sortKey(Student student, SortOrder order) {
+        return keyOf(student, order, new StringBuilder());
+    }
+
+    /**
+     * Calcula la clave de un estudiante para un orden
+     */
+    static String keyOf(Student student, SortOrder order, StringBuilder key) {
+        key.setLength(0);
+        switch (order) {
+            case LAST_NAME:
+                TextNormalizer.appendSortKey(student.getLastName(), key);
+                key.append(FIELD_SEPARATOR);
+                TextNormalizer.appendSortKey(student.getName(), key);
+                key.append(FIELD_SEPARATOR);
+                TextNormalizer.appendSortKey(student.getStudentCode(), key);
+                break;
+            case FIRST_NAME:
+                TextNormalizer.appendSortKey(student.getName(), key);
+                key.append(FIELD_SEPARATOR);
+                TextNormalizer.appendSortKey(student.getLastName(), key);
+                key.append(FIELD_SEPARATOR);
+                TextNormalizer.appendSortKey(student.getStudentCode(), key);
+                break;
+            case CODE:
+                TextNormalizer.appendSortKey(student.getStudentCode(), key);
+                break;
+            default:
+                throw new IllegalArgumentException("Orden sin clave: " + order);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Acceso por posición a los estudiantes, para construir una vista
+     */
+    public interface PositionLookup {
+        Student get(int position) throws IOException;
+    }
+
+    /**
+     * Vista de un orden que se arma fuera del índice, sin bloquearlo
+     * Los estudiantes se agregan en orden de registro; la primera llamada a
+     * {@link #sort} ordena lo acumulado una sola vez y desde ahí cada alta se
+     * inserta en su lugar. Solo la usa un hilo hasta publicarla.
+     */
+    public static final class Draft {
+        private final SortOrder order;
+        private final SortedView view;
+        private final StringBuilder key = new StringBuilder();
+        private boolean sorted;
+
+        /**
+         * @param capacity Cantidad de estudiantes esperada
+         */
+        public Draft(SortOrder order, int capacity) {
+            if (order == SortOrder.NEWEST) {
+                throw new IllegalArgumentException("NEWEST no tiene vista ordenada");
+            }
+            this.order = order;
+            this.view = new SortedView(Math.max(16, capacity + capacity / 4));
+        }
+
+        /**
+         * @param student Estudiante (null si el registro está dañado: se omite)
+         * @param position Posición de registro, creciente
+         */
+        public void add(Student student, int position) {
+            if (student == null) {
+                return;
+            }
+            String studentKey = keyOf(student, order, key);
+            if (sorted) {
+                view.insert(studentKey, position);
+            } else {
+                view.append(studentKey, position);
+            }
+        }
+
+        /**
+         * Ordena lo acumulado; las altas siguientes se insertan en su lugar
+         */
+        public void sort() {
+            if (sorted) {
+                return;
+            }
+            int n = view.size;
+            String[] keys = view.keys;
+            int[] positions = view.positions;
+            Integer[] byKey = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                byKey[i] = i;
+            }
+            Arrays.sort(byKey, (a, b) -> {
+                int result = keys[a].compareTo(keys[b]);
+                return result != 0 ? result : Integer.compare(positions[a], positions[b]);
+            });
+            String[] sortedKeys = new String[keys.length];
+            int[] sortedPositions = new int[positions.length];
+            for (int i = 0; i < n; i++) {
+                sortedKeys[i] = keys[byKey[i]];
+                sortedPositions[i] = positions[byKey[i]];
+            }
+            view.keys = sortedKeys;
+            view.positions = sortedPositions;
+            sorted = true;
+        }
+    }
+
+    /**
+     * Claves y posiciones en orden; a igual clave, por posición de registro
+     */
+    private static final class SortedView {
+        String[] keys;
+        int[] positions;
+        int size;
+
+        SortedView(int capacity) {
+            keys = new String[capacity];
+            positions = new int[capacity];
+        }
+
+        void append(String key, int position) {
+            grow();
+            keys[size] = key;
+            positions[size] = position;
+            size++;
+        }
+
+        void insert(String key, int position) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int result = keys[mid].compareTo(key);
+                if (result < 0 || (result == 0 && positions[mid] < position)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            grow();
+            System.arraycopy(keys, low, keys, low + 1, size - low);
+            System.arraycopy(positions, low, positions, low + 1, size - low);
+            keys[low] = key;
+            positions[low] = position;
+            size++;
+        }
+
+        private void grow() {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+        }
+    }
+}
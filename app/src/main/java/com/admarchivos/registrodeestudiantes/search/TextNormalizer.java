@@ -0,0 +1,121 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+/**
+ * Normalización de texto para búsquedas y comparaciones
+ * Pasa a minúsculas y quita las tildes y diéresis de los caracteres que
+ * RegisterActivity permite en nombres (á, é, í, ó, ú, ñ, ü y sus mayúsculas),
+ * de modo que "Núñez", "nunez" y "NUÑEZ" se consideran iguales.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Convierte un carácter a minúscula sin tilde
+     */
+    public static char fold(char c) {
+        switch (c) {
+            case 'á': case 'Á': case 'à': case 'À': case 'ä': case 'Ä':
+                return 'a';
+            case 'é': case 'É': case 'è': case 'È': case 'ë': case 'Ë':
+                return 'e';
+            case 'í': case 'Í': case 'ì': case 'Ì': case 'ï': case 'Ï':
+                return 'i';
+            case 'ó': case 'Ó': case 'ò': case 'Ò': case 'ö': case 'Ö':
+                return 'o';
+            case 'ú': case 'Ú': case 'ù': case 'Ù': case 'ü': case 'Ü':
+                return 'u';
+            case 'ñ': case 'Ñ':
+                return 'n';
+            default:
+                if (c >= 'A' && c <= 'Z') {
+                    return (char) (c + ('a' - 'A'));
+                }
+                return c < 0x80 ? c : Character.toLowerCase(c);
+        }
+    }
+
+    /**
+     * @return true si el carácter forma parte de una palabra (letra o dígito)
+     */
+    public static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || (c >= 0x80 && Character.isLetterOrDigit(c));
+    }
+
+    /**
+     * Divide un texto en palabras normalizadas
+     * Separa por cualquier carácter que no sea letra o dígito, así un email como
+     * "maria.jose@uni.edu" produce "maria", "jose", "uni" y "edu".
+     *
+     * @param text Texto a dividir (puede ser null)
+     * @param sink Recibe cada palabra normalizada
+     */
+    public static void tokenize(CharSequence text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder();
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (isWordChar(c)) {
+                token.append(fold(c));
+            } else if (token.length() > 0) {
+                sink.onToken(token.toString());
+                token.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Agrega al builder la clave de orden de un texto
+     * Las claves se comparan con compareTo y ordenan como el español:
+     * - Sin distinguir mayúsculas ni tildes ("Álvarez" junto a "alvarez")
+     * - La ñ va después de la n y antes de la o
+     * - Los números se comparan por valor ("2024-9" antes que "2024-10")
+     *
+     * @param text Texto a convertir (null se trata como vacío)
+     * @param key Destino de la clave
+     */
+    public static void appendSortKey(CharSequence text, StringBuilder key) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                // Tramo de dígitos: sin ceros a la izquierda y precedido por su largo
+                int start = i;
+                while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                    i++;
+                }
+                int firstSignificant = start;
+                while (firstSignificant < i - 1 && text.charAt(firstSignificant) == '0') {
+                    firstSignificant++;
+                }
+                key.append((char) ('0' + Math.min(i - firstSignificant, 40)));
+                for (int d = firstSignificant; d < i; d++) {
+                    key.append(text.charAt(d));
+                }
+                continue;
+            }
+            if (c == 'ñ' || c == 'Ñ') {
+                key.append('n').append('\uffff');
+            } else {
+                key.append(fold(c));
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Receptor de palabras producidas por {@link #tokenize}
+     */
+    public interface TokenSink {
+        void onToken(String token);
+    }
+}
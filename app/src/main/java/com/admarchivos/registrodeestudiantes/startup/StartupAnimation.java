@@ -0,0 +1,52 @@
+package com.admarchivos.registrodeestudiantes.startup;
+
+import android.content.Context;
+import com.admarchivos.registrodeestudiantes.R;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieCompositionFactory;
+import com.airbnb.lottie.LottieTask;
+
+/**
+ * Carga de la animación de bienvenida (res/raw/students, ~233 KB de JSON)
+ * - Se interpreta en un hilo de fondo, sin bloquear onCreate
+ * - La composición queda en memoria para todo el proceso, así al recrear
+ *   MainActivity (rotación, volver atrás) se muestra sin volver a leerla
+ * Solo se usa desde el hilo principal.
+ */
+public final class StartupAnimation {
+
+    private static LottieComposition composition;
+    private static LottieTask<LottieComposition> task;
+
+    private StartupAnimation() {
+    }
+
+    /**
+     * @return La composición ya cargada, o null si todavía no está lista
+     */
+    public static LottieComposition getCached() {
+        return composition;
+    }
+
+    /**
+     * Inicia la carga en segundo plano, o devuelve la que ya está en curso
+     * Los listeners de la tarea se llaman en el hilo principal.
+     */
+    public static LottieTask<LottieComposition> load(Context context) {
+        if (task == null) {
+            task = LottieCompositionFactory.fromRawRes(context.getApplicationContext(), R.raw.students);
+            task.addListener(result -> composition = result);
+            // Si falla se permite reintentar en la próxima creación de la actividad
+            task.addFailureListener(error -> task = null);
+        }
+        return task;
+    }
+
+    /**
+     * Carga la animación en el hilo actual, sin caché (solo para comparar tiempos de inicio)
+     */
+    public static LottieComposition loadSync(Context context) {
+        LottieCompositionFactory.clearCache(context);
+        return LottieCompositionFactory.fromRawResSync(context, R.raw.students, null).getValue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.admarchivos.registrodeestudiantes.startup;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import com.admarchivos.registrodeestudiantes.metrics.Histogram;
+import com.admarchivos.registrodeestudiantes.metrics.Metrics;
+
+/**
+ * Mide el tiempo hasta el primer cuadro de una actividad
+ * El inicio es el arranque del proceso (API 24+) o, en versiones anteriores,
+ * el momento en que se llama a {@link #begin()}. El resultado se guarda en las
+ * métricas y, solo si las métricas están compiladas (debug), se escribe en
+ * logcat con la etiqueta {@value #TAG} para que benchmark/startup-timing.sh lo recoja.
+ */
+public final class StartupTiming {
+
+    public static final String TAG = "StartupTiming";
+
+    // Solo la primera actividad del proceso mide un inicio en frío
+    private static boolean firstActivity = true;
+
+    private final long createdNanos;
+    private final boolean coldStart;
+
+    private StartupTiming(long createdNanos, boolean coldStart) {
+        this.createdNanos = createdNanos;
+        this.coldStart = coldStart;
+    }
+
+    /**
+     * Llamar al comienzo de onCreate, antes de setContentView
+     */
+    public static StartupTiming begin() {
+        boolean cold = firstActivity;
+        firstActivity = false;
+        return new StartupTiming(SystemClock.elapsedRealtimeNanos(), cold);
+    }
+
+    /**
+     * Registra el tiempo cuando la actividad dibuje su primer cuadro
+     *
+     * @param mode Etiqueta del modo medido (por ejemplo "async" o "sync")
+     * @param histogram Histograma donde guardar el tiempo
+     */
+    public void reportFirstFrame(Activity activity, String mode, Histogram histogram) {
+        View decorView = activity.getWindow().getDecorView();
+        ViewTreeObserver.OnDrawListener listener = new ViewTreeObserver.OnDrawListener() {
+            private boolean reported;
+
+            @Override
+            public void onDraw() {
+                if (reported) {
+                    return;
+                }
+                reported = true;
+                long now = SystemClock.elapsedRealtimeNanos();
+                // No se puede quitar el listener dentro de onDraw: se posterga
+                ViewTreeObserver.OnDrawListener self = this;
+                decorView.post(() -> decorView.getViewTreeObserver().removeOnDrawListener(self));
+                long start = startNanos();
+                histogram.record(now - start);
+                if (Metrics.COMPILED) {
+                    Log.i(TAG, "modo=" + mode
+                            + " frio=" + coldStart
+                            + " primer_cuadro_ms=" + (now - start) / 1_000_000
+                            + " desde_onCreate_ms=" + (now - createdNanos) / 1_000_000);
+                }
+            }
+        };
+        decorView.getViewTreeObserver().addOnDrawListener(listener);
+    }
+
+    /**
+     * @return Nanosegundos desde que empezó el proceso (o la actividad)
+     */
+    public long elapsedNanos() {
+        return SystemClock.elapsedRealtimeNanos() - startNanos();
+    }
+
+    private long startNanos() {
+        if (coldStart && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return Process.getStartElapsedRealtime() * 1_000_000L;
+        }
+        return createdNanos;
+    }
+}
@@ -0,0 +1,150 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV fila por fila, sin cargar el archivo en memoria
+ * Admite campos entre comillas (con comillas dobles escapadas como ""),
+ * saltos de línea dentro de comillas y finales de línea \n o \r\n.
+ * El separador (coma o punto y coma, como exporta Excel en español) se
+ * detecta a partir de la primera línea.
+ */
+public class CsvReader implements Closeable {
+
+    // Límite por campo para que un archivo mal formado no agote la memoria
+    static final int MAX_FIELD_LENGTH = 4096;
+
+    private static final int DETECTION_LIMIT = 8192;
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final StringBuilder field = new StringBuilder();
+    // Línea física actual y línea donde empezó la última fila
+    private int physicalLine = 1;
+    private int rowStartLine;
+    private boolean eof;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.delimiter = detectDelimiter(this.reader);
+    }
+
+    /**
+     * @return Separador detectado
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * @return Número de línea (desde 1) donde empezó la última fila leída
+     */
+    public int getLineNumber() {
+        return rowStartLine;
+    }
+
+    /**
+     * Lee la siguiente fila
+     *
+     * @return Campos de la fila, o null al llegar al final del archivo
+     */
+    public List<String> readRow() throws IOException {
+        if (eof) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean anyChar = false;
+        rowStartLine = physicalLine;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                eof = true;
+                if (quoted) {
+                    throw new IOException("Comillas sin cerrar desde la línea " + rowStartLine);
+                }
+                if (!anyChar) {
+                    return null;
+                }
+                row.add(field.toString());
+                return row;
+            }
+            anyChar = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        physicalLine++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                physicalLine++;
+                row.add(field.toString());
+                return row;
+            } else {
+                append((char) c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Campo demasiado largo en la línea " + rowStartLine);
+        }
+        field.append(c);
+    }
+
+    /**
+     * Elige entre coma y punto y coma según cuál aparece más en la primera línea
+     */
+    private static char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(DETECTION_LIMIT);
+        int commas = 0;
+        int semicolons = 0;
+        for (int i = 0; i < DETECTION_LIMIT; i++) {
+            int c = reader.read();
+            if (c == -1 || c == '\n' || c == '\r') {
+                break;
+            }
+            if (c == ',') {
+                commas++;
+            } else if (c == ';') {
+                semicolons++;
+            }
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+}
@@ -0,0 +1,92 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumen de una importación de estudiantes
+ * Solo se guardan en detalle los primeros {@link #MAX_REPORTED_ERRORS} errores;
+ * el resto solo se cuenta, para que el informe ocupe memoria acotada.
+ */
+public class ImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 200;
+
+    /**
+     * Error de una fila del archivo
+     */
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * @return Número de línea del archivo (desde 1)
+         */
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Línea " + line + ": " + message;
+        }
+    }
+
+    private final List<RowError> errors = new ArrayList<>();
+    private int rowsRead;
+    private int imported;
+    private int rejected;
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void reject(int line, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    /**
+     * @return Filas de datos leídas (sin contar el encabezado ni las vacías)
+     */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * @return Estudiantes guardados
+     */
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * @return Filas rechazadas por datos inválidos o duplicados
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return Detalle de los primeros errores
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
@@ -0,0 +1,208 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import com.admarchivos.registrodeestudiantes.data.GsonProvider;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.search.TextNormalizer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación de estudiantes a CSV o JSON
+ * Los registros se leen del almacenamiento por lotes y se escriben directo al
+ * flujo de salida, así la memoria usada no depende del tamaño de la lista.
+ * El orden es el de registro (el más antiguo primero) y el CSV usa el mismo
+ * encabezado que entiende {@link RosterImporter}.
+ */
+public class RosterExporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 512;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Formato del archivo exportado
+     */
+    public enum Format {
+        CSV("csv", "text/csv"),
+        JSON("json", "application/json");
+
+        private final String extension;
+        private final String mimeType;
+
+        Format(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        /**
+         * @return Nombre de archivo sugerido, con .gz si va comprimido
+         */
+        public String fileName(String baseName, boolean gzip) {
+            return baseName + "." + extension + (gzip ? ".gz" : "");
+        }
+
+        public String mimeType(boolean gzip) {
+            return gzip ? "application/gzip" : mimeType;
+        }
+    }
+
+    /**
+     * Recibe el avance de la exportación después de cada lote
+     */
+    public interface ProgressListener {
+        void onProgress(int scanned, int total);
+    }
+
+    private final StudentRepository repository;
+    private final int batchSize;
+    private Format format = Format.CSV;
+    private boolean gzip;
+    private String fromCode;
+    private String toCode;
+
+    public RosterExporter(StudentRepository repository) {
+        this(repository, DEFAULT_BATCH_SIZE);
+    }
+
+    public RosterExporter(StudentRepository repository, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize debe ser positivo");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+    }
+
+    public RosterExporter setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Comprime la salida con gzip
+     */
+    public RosterExporter setGzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    /**
+     * Exporta solo los códigos dentro del rango, ambos extremos incluidos
+     * La comparación ignora mayúsculas y espacios alrededor, como el índice único,
+     * y compara los números por valor: "C-9" va antes que "C-10".
+     *
+     * @param fromCode Primer código, o null/vacío para no limitar por abajo
+     * @param toCode Último código, o null/vacío para no limitar por arriba
+     */
+    public RosterExporter setCodeRange(String fromCode, String toCode) {
+        this.fromCode = isBlank(fromCode) ? null : codeKey(fromCode);
+        this.toCode = isBlank(toCode) ? null : codeKey(toCode);
+        return this;
+    }
+
+    /**
+     * Escribe los estudiantes en el flujo de salida y lo cierra
+     *
+     * @param output Destino del archivo
+     * @param listener Recibe el avance (puede ser null)
+     * @return Cantidad de estudiantes exportados
+     */
+    public int export(OutputStream output, ProgressListener listener) throws IOException {
+        OutputStream stream = new BufferedOutputStream(output, BUFFER_SIZE);
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return format == Format.JSON
+                    ? exportJson(writer, listener)
+                    : exportCsv(writer, listener);
+        } finally {
+            // Cerrar también termina el bloque gzip
+            writer.close();
+        }
+    }
+
+    private int exportCsv(Writer writer, ProgressListener listener) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow("nombre", "apellido", "email", "codigo");
+        int exported = 0;
+        int total = repository.size();
+        for (int from = 0; from < total; from += batchSize) {
+            List<Student> batch = repository.readDirect(from, Math.min(batchSize, total - from));
+            for (Student student : batch) {
+                if (matches(student)) {
+                    csv.writeRow(student.getName(), student.getLastName(), student.getEmail(), student.getStudentCode());
+                    exported++;
+                }
+            }
+            if (listener != null) {
+                listener.onProgress(from + batch.size(), total);
+            }
+        }
+        csv.flush();
+        return exported;
+    }
+
+    private int exportJson(Writer writer, ProgressListener listener) throws IOException {
+        TypeAdapter<Student> adapter = GsonProvider.get().getAdapter(Student.class);
+        JsonWriter json = new JsonWriter(writer);
+        json.beginArray();
+        int exported = 0;
+        int total = repository.size();
+        for (int from = 0; from < total; from += batchSize) {
+            List<Student> batch = repository.readDirect(from, Math.min(batchSize, total - from));
+            for (Student student : batch) {
+                if (matches(student)) {
+                    adapter.write(json, student);
+                    exported++;
+                }
+            }
+            if (listener != null) {
+                listener.onProgress(from + batch.size(), total);
+            }
+        }
+        json.endArray();
+        json.flush();
+        return exported;
+    }
+
+    /**
+     * @return true si el registro es legible y su código cae dentro del rango
+     */
+    private boolean matches(Student student) {
+        if (student == null) {
+            // Registro dañado: se omite
+            return false;
+        }
+        if (fromCode == null && toCode == null) {
+            return true;
+        }
+        if (student.getStudentCode() == null) {
+            return false;
+        }
+        String key = codeKey(student.getStudentCode());
+        return (fromCode == null || key.compareTo(fromCode) >= 0)
+                && (toCode == null || key.compareTo(toCode) <= 0);
+    }
+
+    // Clave de orden de TextNormalizer: sin mayúsculas y con los números por valor
+    private static String codeKey(String studentCode) {
+        StringBuilder key = new StringBuilder(studentCode.length() + 4);
+        TextNormalizer.appendSortKey(studentCode.trim(), key);
+        return key.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,282 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.search.TextNormalizer;
+import com.admarchivos.registrodeestudiantes.validation.StudentValidator;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Importación masiva de estudiantes desde un archivo CSV
+ * - Lee el archivo fila por fila, sin cargarlo completo en memoria
+ * - Valida cada fila con las mismas reglas que RegisterActivity
+ * - Descarta códigos y emails duplicados (ya registrados o repetidos en el archivo)
+ * - Guarda por lotes: una sola escritura al almacenamiento por lote
+ * - Con un ejecutor de escrituras, cada lote es una tarea aparte y el archivo
+ *   se sigue leyendo mientras se guarda el lote anterior; en memoria hay como
+ *   mucho el lote que se guarda y el que se está armando
+ *
+ * Columnas esperadas: nombre, apellido, email y código. Si la primera fila es
+ * un encabezado reconocible las columnas pueden venir en cualquier orden;
+ * si no, se toman en ese orden y la primera fila se importa como datos.
+ */
+public class RosterImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Recibe el avance de la importación después de cada lote
+     */
+    public interface ProgressListener {
+        void onProgress(int rowsRead, int imported);
+    }
+
+    private static final int NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int CODE = 3;
+
+    private final StudentRepository repository;
+    private final int batchSize;
+    private final Executor writeExecutor;
+
+    public RosterImporter(StudentRepository repository) {
+        this(repository, DEFAULT_BATCH_SIZE);
+    }
+
+    public RosterImporter(StudentRepository repository, int batchSize) {
+        this(repository, batchSize, Runnable::run);
+    }
+
+    /**
+     * @param writeExecutor Ejecuta la escritura de cada lote (por ejemplo
+     *                      {@code IoScheduler.writeExecutor()}); el archivo se lee en el hilo que llama
+     */
+    public RosterImporter(StudentRepository repository, int batchSize, Executor writeExecutor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize debe ser positivo");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Importa un CSV completo
+     *
+     * @param input Contenido del archivo; se cierra al terminar
+     * @param listener Recibe el avance (puede ser null)
+     * @return Resumen con cantidades y errores por fila
+     */
+    public ImportReport importCsv(Reader input, ProgressListener listener) throws IOException {
+        ImportReport report = new ImportReport();
+        List<Student> batch = new ArrayList<>(batchSize);
+        int[] batchLines = new int[batchSize];
+        PendingBatch pending = null;
+
+        try (CsvReader csv = new CsvReader(input)) {
+            List<String> row = csv.readRow();
+            int[] columns = row != null ? headerColumns(row) : null;
+            if (columns == null) {
+                // Sin encabezado: orden fijo y la primera fila son datos
+                columns = new int[]{0, 1, 2, 3};
+            } else {
+                row = csv.readRow();
+            }
+
+            for (; row != null; row = csv.readRow()) {
+                if (isBlank(row)) {
+                    continue;
+                }
+                report.rowRead();
+                int line = csv.getLineNumber();
+                String name = column(row, columns[NAME]);
+                String lastName = column(row, columns[LAST_NAME]);
+                String email = column(row, columns[EMAIL]);
+                String code = column(row, columns[CODE]);
+
+                String error = validate(name, lastName, email, code);
+                if (error != null) {
+                    report.reject(line, error);
+                    continue;
+                }
+
+                batchLines[batch.size()] = line;
+                batch.add(new Student(name, lastName, email, code));
+                if (batch.size() == batchSize) {
+                    pending = submit(pending, batch, batchLines, report, listener);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            pending = submit(pending, batch, batchLines, report, listener);
+        }
+        finish(pending, report, listener);
+        return report;
+    }
+
+    /**
+     * Espera el lote anterior y envía el actual a escribir
+     * El lote enviado se copia; batch queda vacío para seguir leyendo
+     */
+    private PendingBatch submit(PendingBatch previous, List<Student> batch, int[] batchLines,
+                                ImportReport report, ProgressListener listener) throws IOException {
+        finish(previous, report, listener);
+        List<Student> students = new ArrayList<>(batch);
+        PendingBatch pending = new PendingBatch(students, Arrays.copyOf(batchLines, students.size()),
+                new FutureTask<>(() -> repository.addAll(students)));
+        batch.clear();
+        writeExecutor.execute(pending.task);
+        return pending;
+    }
+
+    /**
+     * Espera la escritura de un lote y suma sus resultados al resumen
+     */
+    private void finish(PendingBatch pending, ImportReport report, ProgressListener listener) throws IOException {
+        if (pending == null) {
+            return;
+        }
+        StudentRepository.AddResult[] results;
+        try {
+            results = pending.task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importación interrumpida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("No se pudo guardar el lote", e.getCause());
+        }
+        int added = 0;
+        for (int i = 0; i < results.length; i++) {
+            switch (results[i]) {
+                case ADDED:
+                    added++;
+                    break;
+                case DUPLICATE_CODE:
+                    report.reject(pending.lines[i], "Ya existe un estudiante con el código " + pending.students.get(i).getStudentCode());
+                    break;
+                case DUPLICATE_EMAIL:
+                    report.reject(pending.lines[i], "Ya existe un estudiante con el email " + pending.students.get(i).getEmail());
+                    break;
+            }
+        }
+        report.imported(added);
+        if (listener != null) {
+            listener.onProgress(report.getRowsRead(), report.getImported());
+        }
+    }
+
+    /**
+     * Aplica las validaciones de RegisterActivity
+     *
+     * @return Mensaje de error, o null si la fila es válida
+     */
+    static String validate(String name, String lastName, String email, String code) {
+        if (name.isEmpty() || lastName.isEmpty() || email.isEmpty() || code.isEmpty()) {
+            return "Faltan campos";
+        }
+        if (!StudentValidator.isValidName(name)) {
+            return "Nombre inválido: solo se permiten letras y espacios";
+        }
+        if (!StudentValidator.isValidName(lastName)) {
+            return "Apellido inválido: solo se permiten letras y espacios";
+        }
+        if (!StudentValidator.isValidEmail(email)) {
+            return "Email inválido";
+        }
+        return null;
+    }
+
+    /**
+     * Reconoce un encabezado y devuelve la columna de cada campo
+     *
+     * @return Índices de nombre, apellido, email y código, o null si no es encabezado
+     */
+    private static int[] headerColumns(List<String> row) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < row.size(); i++) {
+            String header = fold(row.get(i));
+            switch (header) {
+                case "nombre":
+                case "nombres":
+                case "name":
+                    columns[NAME] = i;
+                    break;
+                case "apellido":
+                case "apellidos":
+                case "lastname":
+                    columns[LAST_NAME] = i;
+                    break;
+                case "email":
+                case "correo":
+                case "correoelectronico":
+                    columns[EMAIL] = i;
+                    break;
+                case "codigo":
+                case "codigodeestudiante":
+                case "studentcode":
+                    columns[CODE] = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (int column : columns) {
+            if (column < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    // Minúsculas, sin tildes y sin separadores: "Código de estudiante" -> "codigodeestudiante"
+    private static String fold(String header) {
+        StringBuilder folded = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (TextNormalizer.isWordChar(c)) {
+                folded.append(TextNormalizer.fold(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    private static String column(List<String> row, int index) {
+        return index < row.size() ? row.get(index).trim() : "";
+    }
+
+    /**
+     * Lote enviado a escribir, con la línea del archivo de cada estudiante
+     */
+    private static final class PendingBatch {
+        final List<Student> students;
+        final int[] lines;
+        final FutureTask<StudentRepository.AddResult[]> task;
+
+        PendingBatch(List<Student> students, int[] lines, FutureTask<StudentRepository.AddResult[]> task) {
+            this.students = students;
+            this.lines = lines;
+            this.task = task;
+        }
+    }
+
+    private static boolean isBlank(List<String> row) {
+        for (String value : row) {
+            if (!value.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.admarchivos.registrodeestudiantes.validation;
+
+import android.text.InputFilter;
+import android.text.Spanned;
+
+/**
+ * Filtro que permite SOLO letras y espacios (incluye caracteres acentuados)
+ * Si todo el texto ingresado es válido devuelve null, que para Android significa
+ * "aceptar sin cambios", así el caso normal no crea ningún objeto.
+ * Solo cuando hay caracteres no permitidos se construye el texto filtrado.
+ */
+public class LettersAndSpacesFilter implements InputFilter {
+
+    @Override
+    public CharSequence filter(CharSequence source, int start, int end, Spanned dest, int dstart, int dend) {
+        int firstRejected = -1;
+        for (int i = start; i < end; i++) {
+            if (!StudentValidator.isNameInputChar(source.charAt(i))) {
+                firstRejected = i;
+                break;
+            }
+        }
+        if (firstRejected == -1) {
+            return null;
+        }
+
+        // Los caracteres no permitidos se ignoran silenciosamente
+        StringBuilder filtered = new StringBuilder(end - start);
+        filtered.append(source, start, firstRejected);
+        for (int i = firstRejected + 1; i < end; i++) {
+            char c = source.charAt(i);
+            if (StudentValidator.isNameInputChar(c)) {
+                filtered.append(c);
+            }
+        }
+        return filtered.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.admarchivos.registrodeestudiantes.validation;
+
+/**
+ * Validaciones de los campos de un estudiante
+ * Son recorridos escritos a mano sobre clases de caracteres, sin expresiones
+ * regulares ni objetos temporales, por lo que sirven tanto para validar en cada
+ * pulsación de tecla como para validar listas importadas de miles de estudiantes.
+ * Aceptan CharSequence para poder validar directamente el Editable de un campo.
+ */
+public final class StudentValidator {
+
+    private StudentValidator() {
+    }
+
+    /**
+     * Verifica si un texto contiene SOLO letras y espacios
+     * Equivale a la expresión "^[a-zA-ZáéíóúÁÉÍÓÚñÑüÜ\\s]+$"
+     */
+    public static boolean isValidName(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isNameChar(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Valida formato de email
+     * Equivale a la expresión "[a-zA-Z0-9._-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,4}"
+     * aplicada al texto completo
+     */
+    public static boolean isValidEmail(CharSequence email) {
+        int length = email.length();
+        int at = -1;
+
+        // Parte local: uno o más de [a-zA-Z0-9._-] hasta la arroba
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        if (at <= 0) {
+            return false;
+        }
+
+        // Dominio: [a-zA-Z0-9.-]+ y luego "." con 2 a 4 letras.
+        // Como la extensión no admite puntos, debe empezar tras el último punto.
+        int lastDot = -1;
+        for (int i = at + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot <= at + 1) {
+            return false;
+        }
+        int extension = length - lastDot - 1;
+        if (extension < 2 || extension > 4) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Caracteres permitidos en nombre y apellido: letras ASCII, vocales con
+     * tilde, ñ, ü y espacios en blanco (como \s en Java)
+     */
+    public static boolean isNameChar(char c) {
+        if (isAsciiLetter(c)) {
+            return true;
+        }
+        switch (c) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\u000B':
+            case '\f':
+            case '\r':
+            case 'á': case 'é': case 'í': case 'ó': case 'ú':
+            case 'Á': case 'É': case 'Í': case 'Ó': case 'Ú':
+            case 'ñ': case 'Ñ': case 'ü': case 'Ü':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Caracteres que el filtro de escritura deja pasar en nombre y apellido:
+     * cualquier letra y el espacio
+     */
+    public static boolean isNameInputChar(char c) {
+        return c == ' ' || Character.isLetter(c);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,54 @@
+package com.admarchivos.registrodeestudiantes.adapters;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la identidad y el contenido con que DiffUtil compara las filas
+ */
+public class StudentDiffCallbackTest {
+
+    private final StudentDiffCallback callback = new StudentDiffCallback();
+
+    @Test
+    public void sameCode_isTheSameItem_ignoringCaseLikeTheStableId() {
+        Student lower = new Student("Ana", "Pérez", "ana@uni.edu", "2024-abc");
+        Student upper = new Student("Ana", "Pérez", "ana@uni.edu", " 2024-ABC ");
+        Student other = new Student("Ana", "Pérez", "ana@uni.edu", "2024-abd");
+
+        assertTrue(callback.areItemsTheSame(lower, upper));
+        assertEquals(StudentDiffCallback.stableIdOf(lower), StudentDiffCallback.stableIdOf(upper));
+        assertFalse(callback.areItemsTheSame(lower, other));
+        assertNotEquals(StudentDiffCallback.stableIdOf(lower), StudentDiffCallback.stableIdOf(other));
+    }
+
+    @Test
+    public void reloadedCopy_hasTheSameContent() {
+        // Objetos distintos con los mismos datos, como tras releer una página
+        Student shown = new Student("José", "Núñez", "jose@uni.edu", "A-1");
+        Student reloaded = new Student("José", "Núñez", "jose@uni.edu", "A-1");
+
+        assertNotSame(shown, reloaded);
+        assertTrue(callback.areItemsTheSame(shown, reloaded));
+        assertTrue(callback.areContentsTheSame(shown, reloaded));
+    }
+
+    @Test
+    public void changedField_changesTheContentOnly() {
+        Student shown = new Student("José", "Núñez", "jose@uni.edu", "A-1");
+
+        Student otherEmail = new Student("José", "Núñez", "otro@uni.edu", "A-1");
+        assertTrue(callback.areItemsTheSame(shown, otherEmail));
+        assertFalse(callback.areContentsTheSame(shown, otherEmail));
+
+        Student otherName = new Student("Jose", "Núñez", "jose@uni.edu", "A-1");
+        assertFalse(callback.areContentsTheSame(shown, otherName));
+
+        // Mismo estudiante, pero el código se muestra distinto
+        Student otherCase = new Student("José", "Núñez", "jose@uni.edu", "a-1");
+        assertTrue(callback.areItemsTheSame(shown, otherCase));
+        assertFalse(callback.areContentsTheSame(shown, otherCase));
+    }
+}
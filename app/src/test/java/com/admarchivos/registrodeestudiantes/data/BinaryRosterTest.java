@@ -0,0 +1,145 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de ida y vuelta del formato binario de estudiantes
+ */
+public class BinaryRosterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip_preservesEveryField() throws IOException {
+        List<Student> students = new ArrayList<>();
+        students.add(new Student("José María", "Núñez", "jose.nunez@uni.edu.ar", "2024-001"));
+        students.add(new Student("Ñandú", "Güemes", "nandu@uni.edu", "2024-002"));
+        students.add(new Student("", "O'Brien", "ob@x.io", "X"));
+        students.add(new Student("Emoji", "😀", null, "2024-003"));
+
+        File file = write(students);
+        BinaryRosterReader reader = new BinaryRosterReader(file);
+
+        assertEquals(students.size(), reader.size());
+        for (int i = 0; i < students.size(); i++) {
+            assertSameStudent(students.get(i), reader.get(i));
+        }
+    }
+
+    @Test
+    public void emptyRoster_roundTrips() throws IOException {
+        BinaryRosterReader reader = new BinaryRosterReader(write(new ArrayList<>()));
+        assertEquals(0, reader.size());
+        assertTrue(reader.loadAll().isEmpty());
+    }
+
+    @Test
+    public void read_decodesOnlyTheRequestedRange() throws IOException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            students.add(new Student("Nombre" + i, "Apellido" + i, "e" + i + "@uni.edu", "C-" + i));
+        }
+        BinaryRosterReader reader = new BinaryRosterReader(write(students));
+
+        List<Student> page = reader.read(4990, 10);
+        assertEquals(10, page.size());
+        assertEquals("C-4990", page.get(0).getStudentCode());
+        assertEquals("C-4999", page.get(9).getStudentCode());
+    }
+
+    @Test
+    public void pageLoader_pagesTheMappedFileNewestFirst() throws IOException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            students.add(new Student("Nombre" + i, "Apellido" + i, "e" + i + "@uni.edu", "C-" + i));
+        }
+        StudentPageLoader loader = new StudentPageLoader(new BinaryRosterReader(write(students)), 50);
+
+        assertEquals(120, loader.getInitialSize());
+        assertEquals("C-119", loader.loadNextPage().get(0).getStudentCode());
+        assertEquals("C-69", loader.loadNextPage().get(0).getStudentCode());
+        List<Student> last = loader.loadNextPage();
+        assertEquals(20, last.size());
+        assertEquals("C-0", last.get(19).getStudentCode());
+        assertFalse(loader.hasMore());
+    }
+
+    @Test
+    public void jsonToBinary_convertsExistingPreferencesData() throws IOException {
+        String json = "[{\"name\":\"Lucía\",\"lastName\":\"Pérez\",\"email\":\"lu@uni.edu\",\"studentCode\":\"A1\"},"
+                + "{\"name\":\"Juan\",\"lastName\":\"López\",\"email\":\"juan@uni.edu\",\"studentCode\":\"A2\"}]";
+        File file = folder.newFile("students.bin");
+
+        assertEquals(2, RosterConverter.jsonToBinary(new StringReader(json), file));
+
+        BinaryRosterReader reader = new BinaryRosterReader(file);
+        assertSameStudent(new Student("Lucía", "Pérez", "lu@uni.edu", "A1"), reader.get(0));
+        assertSameStudent(new Student("Juan", "López", "juan@uni.edu", "A2"), reader.get(1));
+    }
+
+    @Test
+    public void storeToBinary_copiesTheJournal() throws IOException {
+        JournalStudentStore journal = new JournalStudentStore(new File(folder.getRoot(), "students.journal"));
+        for (int i = 0; i < 3000; i++) {
+            journal.append(new Student("N" + i, "L" + i, "e" + i + "@uni.edu", "C" + i));
+        }
+        File file = new File(folder.getRoot(), "students.bin");
+
+        assertEquals(3000, RosterConverter.storeToBinary(journal, file));
+        assertSameStudent(journal.read(2999, 1).get(0), new BinaryRosterReader(file).get(2999));
+        journal.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void reader_rejectsUnknownFiles() throws IOException {
+        File file = write(new ArrayList<>());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0x12345678);
+        }
+        new BinaryRosterReader(file);
+    }
+
+    @Test
+    public void abortedWrite_keepsPreviousFile() throws IOException {
+        List<Student> students = new ArrayList<>();
+        students.add(new Student("A", "B", "a@b.co", "1"));
+        File file = write(students);
+
+        BinaryRosterWriter writer = new BinaryRosterWriter(file);
+        writer.write(new Student("C", "D", "c@d.co", "2"));
+        writer.abort();
+
+        BinaryRosterReader reader = new BinaryRosterReader(file);
+        assertEquals(1, reader.size());
+        assertEquals("1", reader.get(0).getStudentCode());
+    }
+
+    private File write(List<Student> students) throws IOException {
+        File file = new File(folder.getRoot(), "students.bin");
+        try (BinaryRosterWriter writer = new BinaryRosterWriter(file)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+        }
+        return file;
+    }
+
+    private static void assertSameStudent(Student expected, Student actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getStudentCode(), actual.getStudentCode());
+    }
+}
@@ -0,0 +1,146 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la lista compacta por columnas y del tamaño de su codificación
+ */
+public class CompactRosterTest {
+
+    private static final int ROWS = 100_000;
+
+    @Test
+    public void get_rebuildsEveryField() {
+        List<Student> students = new ArrayList<>();
+        students.add(new Student("José María", "Núñez", "jose.nunez@uni.edu.ar", "2024-001"));
+        students.add(new Student("Ana", "Núñez", "ana@uni.edu.ar", "2024-002"));
+        students.add(new Student("Sin", "Arroba", "sin-arroba", "X"));
+        students.add(new Student("", null, null, ""));
+        students.add(null);
+        students.add(new Student("Emoji", "😀", "a@b@c.io", "2024-003"));
+
+        CompactRoster roster = new CompactRoster();
+        roster.addAll(students);
+
+        assertEquals(students.size(), roster.size());
+        for (int i = 0; i < students.size(); i++) {
+            assertSameStudent(students.get(i), roster.get(i));
+        }
+        assertEquals("2024-002", roster.getStudentCode(1));
+        assertNull(roster.getStudentCode(4));
+    }
+
+    @Test
+    public void longFields_useMultiByteLengths() {
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            longName.append('ñ');
+        }
+        CompactRoster roster = new CompactRoster();
+        roster.add(new Student(longName.toString(), "Pérez", "x@y.z", "C-1"));
+        roster.add(new Student("Ana", "Pérez", "a@y.z", "C-2"));
+
+        assertEquals(longName.toString(), roster.get(0).getName());
+        assertEquals("C-1", roster.getStudentCode(0));
+        assertEquals("a@y.z", roster.get(1).getEmail());
+    }
+
+    @Test
+    public void snapshot_doesNotSeeLaterRows() {
+        CompactRoster roster = new CompactRoster();
+        roster.add(new Student("Ana", "Pérez", "ana@uni.edu", "A-1"));
+        List<Student> snapshot = roster.snapshot();
+
+        // Forzar el crecimiento de todos los arreglos y diccionarios
+        for (int i = 0; i < 1000; i++) {
+            roster.add(new Student("Nombre" + i, "Apellido" + i, "e" + i + "@dominio" + i + ".edu", "C-" + i));
+        }
+
+        assertEquals(1, snapshot.size());
+        assertEquals("ana@uni.edu", snapshot.get(0).getEmail());
+        assertEquals(1001, roster.size());
+        assertEquals("e999@dominio999.edu", roster.get(1000).getEmail());
+    }
+
+    @Test
+    public void insertInTheMiddle_leavesEarlierSnapshotsUntouched() {
+        CompactRoster roster = new CompactRoster();
+        for (int i = 0; i < 16; i++) {
+            roster.add(new Student("Nombre" + i, "Apellido", "e" + i + "@uni.edu", "C-" + i));
+        }
+        List<Student> snapshot = roster.snapshot();
+
+        roster.add(3, new Student("Nueva", "Fila", "nueva@uni.edu", "N-1"));
+        roster.add(0, null);
+
+        assertEquals(18, roster.size());
+        assertNull(roster.get(0));
+        assertEquals("C-2", roster.getStudentCode(3));
+        assertEquals("N-1", roster.getStudentCode(4));
+        assertEquals("nueva@uni.edu", roster.get(4).getEmail());
+        assertEquals("C-15", roster.getStudentCode(17));
+        assertEquals(16, snapshot.size());
+        assertEquals("C-3", snapshot.get(3).getStudentCode());
+    }
+
+    @Test
+    public void encoding_keepsRepeatedFieldsOutOfTheRows() {
+        CompactRoster roster = new CompactRoster();
+        long inlineBytes = 0;
+        long textBytes = 0;
+        for (int i = 0; i < ROWS; i++) {
+            Student student = generate(i);
+            roster.add(student);
+            String email = student.getEmail();
+            // Solo nombre, parte local del email y código van en línea, con un byte de largo
+            inlineBytes += fieldBytes(student.getName())
+                    + fieldBytes(email.substring(0, email.lastIndexOf('@')))
+                    + fieldBytes(student.getStudentCode());
+            textBytes += utf8Length(student.getName()) + utf8Length(student.getLastName())
+                    + utf8Length(email) + utf8Length(student.getStudentCode());
+        }
+
+        assertEquals(ROWS, roster.size());
+        assertEquals(inlineBytes + 12L * ROWS, roster.encodedSize());
+        // Con los índices incluidos, ocupa menos que el texto UTF-8 de los cuatro campos
+        assertTrue(roster.encodedSize() + " vs " + textBytes, roster.encodedSize() < textBytes);
+        assertSameStudent(generate(ROWS - 1), roster.get(ROWS - 1));
+    }
+
+    // Apellidos y dominios repetidos, como en una lista real
+    private static Student generate(int i) {
+        String[] lastNames = {"González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez"};
+        String[] domains = {"uni.edu.ar", "gmail.com", "hotmail.com"};
+        // new String(...) para que cada fila tenga su propia copia, como al leer JSON
+        return new Student(
+                "Nombre" + i,
+                new String(lastNames[i % lastNames.length] + " " + lastNames[(i / 8) % lastNames.length]),
+                "estudiante" + i + "@" + new String(domains[i % domains.length]),
+                "2024-" + i);
+    }
+
+    private static int fieldBytes(String value) {
+        return 1 + utf8Length(value);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void assertSameStudent(Student expected, Student actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getStudentCode(), actual.getStudentCode());
+    }
+}
@@ -0,0 +1,146 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la lista mostrada: páginas, cambios del flujo y repetición de cambios
+ */
+public class LiveRosterTest {
+
+    private static final long EPOCH = 1;
+
+    @Test
+    public void inserts_goOnTop_andSkipPositionsCoveredByPages() {
+        // Cargador creado con 3 estudiantes (posiciones 0 a 2); ya se vio la secuencia 3
+        LiveRoster roster = new LiveRoster(EPOCH, 3);
+        roster.setInitialSize(3);
+        roster.addPage(Arrays.asList(student(2), student(1), student(0)));
+
+        assertTrue(roster.apply(Arrays.asList(insert(4, 3), insert(5, 4))));
+        assertCodes(roster, "A-4", "A-3", "A-2", "A-1", "A-0");
+
+        // Un INSERT de una posición que ya cubren las páginas no duplica la fila
+        LiveRoster late = new LiveRoster(EPOCH, 0);
+        late.setInitialSize(3);
+        late.addPage(Arrays.asList(student(2), student(1), student(0)));
+        assertFalse(late.apply(Arrays.asList(insert(1, 0), insert(2, 1), insert(3, 2))));
+        assertTrue(late.apply(Collections.singletonList(insert(4, 3))));
+        assertCodes(late, "A-3", "A-2", "A-1", "A-0");
+        assertFalse(late.needsReload());
+    }
+
+    @Test
+    public void insertsBeforeInitialSize_waitForTheLoader() {
+        LiveRoster roster = new LiveRoster(EPOCH, 0);
+        // Llegan antes de saber cuántos cubre el cargador
+        roster.apply(Arrays.asList(insert(1, 0), insert(2, 1)));
+        assertEquals(0, roster.size());
+
+        // El cargador ya incluyó al primero
+        roster.setInitialSize(1);
+        roster.addPage(Collections.singletonList(student(0)));
+        assertCodes(roster, "A-1", "A-0");
+    }
+
+    @Test
+    public void replayedChanges_areIgnored() {
+        LiveRoster roster = new LiveRoster(EPOCH, 0);
+        roster.setInitialSize(0);
+        List<RosterChange> changes = Arrays.asList(insert(1, 0), insert(2, 1));
+
+        assertTrue(roster.apply(changes));
+        assertFalse(roster.apply(changes));
+        assertEquals(2, roster.getLastSequence());
+        assertCodes(roster, "A-1", "A-0");
+    }
+
+    @Test
+    public void updatesAndDeletes_overlayTheSnapshot() {
+        LiveRoster roster = new LiveRoster(EPOCH, 2);
+        roster.setInitialSize(2);
+        roster.addPage(Arrays.asList(student(1), student(0)));
+        roster.apply(Arrays.asList(insert(3, 2), insert(4, 3)));
+        List<Student> before = roster.snapshot();
+
+        Student renamed = new Student("Otro", "Nombre", "otro@uni.edu.ar", "A-1");
+        assertTrue(roster.apply(Arrays.asList(
+                new RosterChange(5, RosterChange.Type.UPDATE, 1, renamed),
+                new RosterChange(6, RosterChange.Type.DELETE, 3, student(3)),
+                new RosterChange(7, RosterChange.Type.DELETE, 0, student(0)))));
+
+        assertCodes(roster, "A-2", "A-1");
+        List<Student> after = roster.snapshot();
+        assertEquals(2, after.size());
+        assertEquals(2, roster.size());
+        assertEquals("A-2", after.get(0).getStudentCode());
+        assertSame(renamed, after.get(1));
+
+        // La vista anterior no cambia
+        assertEquals(4, before.size());
+        assertEquals("A-3", before.get(0).getStudentCode());
+
+        // Una baja repetida o la actualización de una baja no cambian nada
+        assertFalse(roster.apply(Arrays.asList(
+                new RosterChange(8, RosterChange.Type.DELETE, 3, student(3)),
+                new RosterChange(9, RosterChange.Type.UPDATE, 0, student(0)))));
+        assertEquals(2, roster.snapshot().size());
+    }
+
+    @Test
+    public void deletesBeyondLoadedPages_areAppliedWhenThePageArrives() {
+        LiveRoster roster = new LiveRoster(EPOCH, 0);
+        roster.setInitialSize(4);
+        roster.addPage(Arrays.asList(student(3), student(2)));
+        roster.apply(Collections.singletonList(new RosterChange(1, RosterChange.Type.DELETE, 0, student(0))));
+        assertEquals(2, roster.size());
+
+        roster.addPage(Arrays.asList(student(1), student(0)));
+        assertCodes(roster, "A-3", "A-2", "A-1");
+    }
+
+    @Test
+    public void gapOrTooManyPatches_needReload() {
+        LiveRoster gap = new LiveRoster(EPOCH, 0);
+        gap.setInitialSize(2);
+        gap.apply(Collections.singletonList(insert(1, 3)));
+        assertTrue(gap.needsReload());
+
+        LiveRoster patched = new LiveRoster(EPOCH, 0);
+        patched.setInitialSize(0);
+        List<RosterChange> changes = new ArrayList<>();
+        long sequence = 0;
+        for (int i = 0; i <= LiveRoster.MAX_PATCHES; i++) {
+            changes.add(new RosterChange(++sequence, RosterChange.Type.INSERT, i, student(i)));
+        }
+        for (int i = 0; i <= LiveRoster.MAX_PATCHES; i++) {
+            changes.add(new RosterChange(++sequence, RosterChange.Type.UPDATE, i, student(i)));
+        }
+        patched.apply(changes);
+        assertTrue(patched.needsReload());
+    }
+
+    private static RosterChange insert(long sequence, int position) {
+        return new RosterChange(sequence, RosterChange.Type.INSERT, position, student(position));
+    }
+
+    private static Student student(int i) {
+        return new Student("Nombre" + i, "Apellido" + i, "alumno" + i + "@uni.edu.ar", "A-" + i);
+    }
+
+    private static void assertCodes(LiveRoster roster, String... codes) {
+        List<Student> snapshot = roster.snapshot();
+        List<String> actual = new ArrayList<>();
+        for (Student student : snapshot) {
+            actual.add(student.getStudentCode());
+        }
+        assertEquals(Arrays.asList(codes), actual);
+        assertEquals(codes.length, roster.size());
+    }
+}
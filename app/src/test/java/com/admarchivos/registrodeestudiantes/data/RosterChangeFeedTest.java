@@ -0,0 +1,154 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del flujo de cambios: secuencias, cambios perdidos, reinicios y publicación del repositorio
+ */
+public class RosterChangeFeedTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void publish_assignsConsecutiveSequences() {
+        RosterChangeFeed feed = new RosterChangeFeed();
+        RecordingListener listener = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), feed.getLatestSequence(), listener);
+
+        feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(0), student(1)), 0);
+        feed.publish(RosterChange.Type.UPDATE, Arrays.asList(student(1)), 1);
+
+        assertEquals(3, feed.getLatestSequence());
+        assertEquals(3, listener.changes.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, listener.changes.get(i).sequence);
+        }
+        assertEquals(RosterChange.Type.UPDATE, listener.changes.get(2).type);
+        assertEquals(1, listener.changes.get(2).position);
+        assertEquals(0, listener.resets);
+    }
+
+    @Test
+    public void subscribe_replaysMissedChanges() {
+        RosterChangeFeed feed = new RosterChangeFeed();
+        for (int i = 0; i < 5; i++) {
+            feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(i)), i);
+        }
+
+        RecordingListener listener = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), 2, listener);
+        assertEquals(3, listener.changes.size());
+        assertEquals(3, listener.changes.get(0).sequence);
+        assertEquals("A-4", listener.changes.get(2).student.getStudentCode());
+
+        // Después de los perdidos llegan los nuevos
+        feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(5)), 5);
+        assertEquals(4, listener.changes.size());
+        assertEquals(6, listener.changes.get(3).sequence);
+        assertEquals(0, listener.resets);
+    }
+
+    @Test
+    public void subscribe_resetsWhenChangesLeftTheBuffer() {
+        RosterChangeFeed feed = new RosterChangeFeed(4);
+        for (int i = 0; i < 10; i++) {
+            feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(i)), i);
+        }
+
+        RecordingListener late = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), 5, late);
+        assertEquals(1, late.resets);
+        assertTrue(late.changes.isEmpty());
+
+        // Los últimos cuatro siguen en el buffer
+        RecordingListener recent = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), 6, recent);
+        assertEquals(0, recent.resets);
+        assertEquals(4, recent.changes.size());
+        assertEquals(7, recent.changes.get(0).sequence);
+    }
+
+    @Test
+    public void subscribe_resetsOnOtherEpochOrFutureSequence() {
+        RosterChangeFeed feed = new RosterChangeFeed();
+        RosterChangeFeed other = new RosterChangeFeed();
+        assertNotEquals(feed.getEpoch(), other.getEpoch());
+        feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(0)), 0);
+
+        RecordingListener wrongEpoch = new RecordingListener();
+        feed.subscribe(other.getEpoch(), 0, wrongEpoch);
+        assertEquals(1, wrongEpoch.resets);
+
+        RecordingListener future = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), 7, future);
+        assertEquals(1, future.resets);
+
+        // Aunque se reinicien, siguen suscritos a los cambios nuevos
+        feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(1)), 1);
+        assertEquals(1, wrongEpoch.changes.size());
+        assertEquals(1, future.changes.size());
+    }
+
+    @Test
+    public void unsubscribe_stopsDelivery() {
+        RosterChangeFeed feed = new RosterChangeFeed();
+        RecordingListener listener = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), 0, listener);
+        feed.unsubscribe(listener);
+
+        feed.publish(RosterChange.Type.INSERT, Arrays.asList(student(0)), 0);
+        assertTrue(listener.changes.isEmpty());
+    }
+
+    @Test
+    public void repository_publishesAcceptedInsertsWithPositions() throws Exception {
+        StudentRepository repository = new StudentRepository(
+                new JournalStudentStore(new File(folder.getRoot(), "students.journal")));
+        RosterChangeFeed feed = repository.getChangeFeed();
+        RecordingListener listener = new RecordingListener();
+        feed.subscribe(feed.getEpoch(), feed.getLatestSequence(), listener);
+
+        assertEquals(StudentRepository.AddResult.ADDED, repository.add(student(0)));
+        // El código repetido se rechaza y no se publica
+        repository.addAll(Arrays.asList(student(1), student(0), student(2)));
+
+        assertEquals(3, listener.changes.size());
+        for (int i = 0; i < 3; i++) {
+            RosterChange change = listener.changes.get(i);
+            assertEquals(i + 1, change.sequence);
+            assertEquals(RosterChange.Type.INSERT, change.type);
+            assertEquals(i, change.position);
+            assertEquals("A-" + i, change.student.getStudentCode());
+        }
+        repository.close();
+    }
+
+    private static Student student(int i) {
+        return new Student("Nombre" + i, "Apellido" + i, "alumno" + i + "@uni.edu.ar", "A-" + i);
+    }
+
+    private static final class RecordingListener implements RosterChangeFeed.Listener {
+        final List<RosterChange> changes = new ArrayList<>();
+        int resets;
+
+        @Override
+        public void onChanges(List<RosterChange> changes) {
+            this.changes.addAll(changes);
+        }
+
+        @Override
+        public void onReset() {
+            resets++;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import com.admarchivos.registrodeestudiantes.load.RosterGenerator;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del almacenamiento SQLite: índice único, FTS, paginación y migración
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SqliteStudentStoreTest {
+
+    private Context context;
+    private SqliteStudentStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        context = ApplicationProvider.getApplicationContext();
+        store = new SqliteStudentStore(context, SqliteStudentStore.DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void batchInsert_readsBackByPosition() throws IOException {
+        List<Student> students = RosterGenerator.generate(2_500);
+        store.appendAll(students.subList(0, 2_000));
+        store.append(students.get(2_000));
+        store.appendAll(students.subList(2_001, students.size()));
+
+        assertEquals(2_500, store.size());
+        List<Student> range = store.read(1_990, 20);
+        assertEquals(20, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            assertEquals(students.get(1_990 + i).getStudentCode(), range.get(i).getStudentCode());
+        }
+        assertEquals(students.get(2_499).getEmail(), store.loadAll().get(2_499).getEmail());
+    }
+
+    @Test
+    public void readAt_returnsScatteredPositionsInRequestOrder() throws IOException {
+        List<Student> students = RosterGenerator.generate(1_200);
+        store.appendAll(students);
+
+        // Más posiciones que las de una consulta, desordenadas y con una repetida
+        int[] positions = new int[600];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (i * 7919) % students.size();
+        }
+        positions[599] = positions[0];
+        List<Student> read = store.readAt(positions);
+        assertEquals(positions.length, read.size());
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(students.get(positions[i]).getStudentCode(), read.get(i).getStudentCode());
+        }
+    }
+
+    @Test
+    public void duplicateCode_rejectsTheWholeBatch() throws IOException {
+        store.append(new Student("Ana", "Pérez", "ana@uni.edu", "2024-001"));
+        try {
+            store.appendAll(Arrays.asList(
+                    new Student("Luis", "Gómez", "luis@uni.edu", "2024-002"),
+                    new Student("Otra", "Ana", "otra@uni.edu", "2024-001")));
+            fail("El índice único debía rechazar el código repetido");
+        } catch (IOException expected) {
+            // Esperado
+        }
+        assertEquals(1, store.size());
+        assertEquals(1, store.loadAll().size());
+    }
+
+    @Test
+    public void search_matchesPrefixesWithoutAccents_newestFirst() throws IOException {
+        store.appendAll(Arrays.asList(
+                new Student("José", "Núñez", "jose.nunez@uni.edu", "2024-001"),
+                new Student("Josefina", "Pérez", "jperez@gmail.com", "2024-002"),
+                new Student("Ana", "Nuñez Ortiz", "ana@uni.edu", "2024-003")));
+
+        assertCodes(store.search("jos", 10), "2024-002", "2024-001");
+        assertCodes(store.search("NUÑEZ", 10), "2024-003", "2024-001");
+        assertCodes(store.search("jose nun", 10), "2024-001");
+        assertCodes(store.search("gmail", 10), "2024-002");
+        assertCodes(store.search("jos", 1), "2024-002");
+        assertTrue(store.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void pageLoader_pagesNewestFirstThroughTheRepository() throws IOException {
+        List<Student> students = RosterGenerator.generate(120);
+        store.appendAll(students);
+
+        StudentRepository repository = new StudentRepository(store);
+        StudentPageLoader loader = new StudentPageLoader(repository, 50);
+        assertEquals(students.get(119).getStudentCode(), loader.loadNextPage().get(0).getStudentCode());
+        assertEquals(50, loader.loadNextPage().size());
+        List<Student> last = loader.loadNextPage();
+        assertEquals(20, last.size());
+        assertEquals(students.get(0).getStudentCode(), last.get(19).getStudentCode());
+        assertFalse(loader.hasMore());
+
+        // La búsqueda del repositorio usa la tabla FTS
+        Student newest = students.get(119);
+        assertEquals(newest.getStudentCode(),
+                repository.search(newest.getStudentCode(), 1).get(0).getStudentCode());
+    }
+
+    @Test
+    public void newDatabase_importsStudentPrefs() throws IOException {
+        store.close();
+        context.deleteDatabase(SqliteStudentStore.DATABASE_NAME);
+        context.getSharedPreferences(PrefsMigration.PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .putString(PrefsMigration.KEY_STUDENTS, "["
+                        + "{\"name\":\"José\",\"lastName\":\"Núñez\",\"email\":\"jose@uni.edu\",\"studentCode\":\"A-1\"},"
+                        + "{\"name\":\"Ana\",\"lastName\":\"Pérez\",\"email\":\"ana@uni.edu\",\"studentCode\":\"A-2\"},"
+                        + "{\"name\":\"Repetido\",\"lastName\":\"Pérez\",\"email\":\"r@uni.edu\",\"studentCode\":\"a-2\"}]")
+                .commit();
+
+        store = new SqliteStudentStore(context, SqliteStudentStore.DATABASE_NAME);
+
+        assertEquals(2, store.size());
+        assertCodes(store.search("nunez", 10), "A-1");
+        assertTrue(context.getSharedPreferences(PrefsMigration.PREFS_NAME, Context.MODE_PRIVATE)
+                .getBoolean(PrefsMigration.KEY_MIGRATED, false));
+        assertNull(context.getSharedPreferences(PrefsMigration.PREFS_NAME, Context.MODE_PRIVATE)
+                .getString(PrefsMigration.KEY_STUDENTS, null));
+    }
+
+    @Test
+    public void newDatabase_importsTheWalRoster() throws IOException {
+        store.close();
+        context.deleteDatabase(SqliteStudentStore.DATABASE_NAME);
+        List<Student> students = RosterGenerator.generate(600);
+        WalStudentStore wal = new WalStudentStore(
+                new File(context.getFilesDir(), WalStudentStore.CHECKPOINT_FILE_NAME),
+                new File(context.getFilesDir(), WalStudentStore.LOG_FILE_NAME));
+        wal.appendAll(students);
+        wal.close();
+
+        store = new SqliteStudentStore(context, SqliteStudentStore.DATABASE_NAME);
+
+        assertEquals(600, store.size());
+        StudentPageLoader loader = new StudentPageLoader(new StudentRepository(store), 250);
+        List<Student> first = loader.loadNextPage();
+        assertEquals(250, first.size());
+        assertEquals(students.get(599).getStudentCode(), first.get(0).getStudentCode());
+        assertEquals(250, loader.loadNextPage().size());
+        List<Student> last = loader.loadNextPage();
+        assertEquals(100, last.size());
+        assertEquals(students.get(0).getStudentCode(), last.get(99).getStudentCode());
+        assertFalse(loader.hasMore());
+
+        Student oldest = students.get(0);
+        assertCodes(store.search(oldest.getStudentCode(), 10), oldest.getStudentCode());
+    }
+
+    @Test
+    public void newDatabase_importsACheckpointWithoutCreatingALog() throws IOException {
+        store.close();
+        context.deleteDatabase(SqliteStudentStore.DATABASE_NAME);
+        File checkpoint = new File(context.getFilesDir(), WalStudentStore.CHECKPOINT_FILE_NAME);
+        File log = new File(context.getFilesDir(), WalStudentStore.LOG_FILE_NAME);
+        WalStudentStore wal = new WalStudentStore(checkpoint, log);
+        wal.appendAll(RosterGenerator.generate(50));
+        wal.checkpoint();
+        wal.close();
+        assertTrue(log.delete());
+
+        store = new SqliteStudentStore(context, SqliteStudentStore.DATABASE_NAME);
+
+        assertEquals(50, store.size());
+        assertFalse(log.exists());
+    }
+
+    private static void assertCodes(List<Student> students, String... codes) {
+        assertEquals(codes.length, students.size());
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals(codes[i], students.get(i).getStudentCode());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del índice único cuando no se puede guardar su instantánea
+ */
+public class StudentIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void failedSnapshot_doesNotFailTheAdd() throws Exception {
+        JournalStudentStore store = new JournalStudentStore(new File(folder.getRoot(), "students.journal"));
+        File indexDir = folder.newFolder("index");
+        StudentIndex index = StudentIndex.open(new File(indexDir, StudentIndex.INDEX_FILE_NAME), store);
+        // Sin la carpeta, la instantánea no se puede escribir
+        assertTrue(indexDir.delete());
+
+        int count = StudentIndex.SNAPSHOT_INTERVAL + 10;
+        for (int i = 0; i < count; i++) {
+            index.add(student(i), i);
+        }
+        assertEquals(count, index.size());
+        assertTrue(index.containsCode("a-" + (count - 1)));
+        store.close();
+    }
+
+    @Test
+    public void failedSnapshot_keepsBatchIndexedAndPublished() throws Exception {
+        File journal = new File(folder.getRoot(), "students.journal");
+        File indexDir = folder.newFolder("index");
+        StudentRepository repository = new StudentRepository(new JournalStudentStore(journal),
+                new File(indexDir, StudentIndex.INDEX_FILE_NAME));
+        assertEquals(StudentRepository.AddResult.ADDED, repository.add(student(0)));
+        assertTrue(indexDir.delete());
+
+        RosterChangeFeed feed = repository.getChangeFeed();
+        long before = feed.getLatestSequence();
+        List<Student> batch = new ArrayList<>();
+        for (int i = 1; i <= StudentIndex.SNAPSHOT_INTERVAL + 10; i++) {
+            batch.add(student(i));
+        }
+        // La instantánea falla a mitad del lote: todos quedan guardados, indexados y publicados
+        for (StudentRepository.AddResult result : repository.addAll(batch)) {
+            assertEquals(StudentRepository.AddResult.ADDED, result);
+        }
+        assertEquals(batch.size() + 1, repository.size());
+        assertEquals(before + batch.size(), feed.getLatestSequence());
+        assertTrue(repository.containsCode("A-" + batch.size()));
+        // Reintentar el lote no guarda duplicados
+        for (StudentRepository.AddResult result : repository.addAll(batch)) {
+            assertEquals(StudentRepository.AddResult.DUPLICATE_CODE, result);
+        }
+        repository.close();
+
+        JournalStudentStore reopened = new JournalStudentStore(journal);
+        assertEquals(batch.size() + 1, reopened.size());
+        reopened.close();
+    }
+
+    private static Student student(int i) {
+        return new Student("Nombre" + i, "Apellido" + i, "alumno" + i + "@uni.edu.ar", "A-" + i);
+    }
+}
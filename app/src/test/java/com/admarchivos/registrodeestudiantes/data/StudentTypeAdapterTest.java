@@ -0,0 +1,59 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que el adaptador escrito a mano es compatible con el Gson reflexivo
+ */
+public class StudentTypeAdapterTest {
+
+    private final Gson reflective = new Gson();
+    private final Gson shared = GsonProvider.get();
+
+    @Test
+    public void write_matchesReflectiveOutput() {
+        List<Student> students = sampleStudents();
+        assertEquals(reflective.toJson(students), shared.toJson(students, GsonProvider.STUDENT_LIST_TYPE));
+    }
+
+    @Test
+    public void read_acceptsReflectiveOutput() {
+        List<Student> students = sampleStudents();
+        String json = reflective.toJson(students);
+
+        List<Student> parsed = shared.fromJson(json, GsonProvider.STUDENT_LIST_TYPE);
+
+        assertEquals(students.size(), parsed.size());
+        for (int i = 0; i < students.size(); i++) {
+            assertEquals(students.get(i).getName(), parsed.get(i).getName());
+            assertEquals(students.get(i).getLastName(), parsed.get(i).getLastName());
+            assertEquals(students.get(i).getEmail(), parsed.get(i).getEmail());
+            assertEquals(students.get(i).getStudentCode(), parsed.get(i).getStudentCode());
+        }
+    }
+
+    @Test
+    public void read_ignoresUnknownFieldsAndNulls() {
+        Student student = shared.fromJson(
+                "{\"name\":\"Ana\",\"edad\":20,\"extra\":{\"a\":[1,2]},\"email\":null,\"studentCode\":\"X1\"}",
+                Student.class);
+        assertEquals("Ana", student.getName());
+        assertNull(student.getLastName());
+        assertNull(student.getEmail());
+        assertEquals("X1", student.getStudentCode());
+    }
+
+    private static List<Student> sampleStudents() {
+        List<Student> students = new ArrayList<>();
+        students.add(new Student("José", "Núñez", "jose@uni.edu", "2024-001"));
+        students.add(new Student("Ana \"la\" <b>", "O'Brien", "ana&b@uni.edu", "2024-002"));
+        students.add(new Student("Sin", "Email", null, "2024-003"));
+        return students;
+    }
+}
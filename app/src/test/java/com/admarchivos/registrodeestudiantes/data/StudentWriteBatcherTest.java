@@ -0,0 +1,272 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del agrupador de registros (group commit)
+ */
+public class StudentWriteBatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        writer.shutdownNow();
+    }
+
+    @Test
+    public void rapidSubmits_areWrittenInFewBatches() throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> {
+            batchSizes.add(students.size());
+            return addedResults(students.size());
+        }, writer, 10, TimeUnit.SECONDS.toMillis(30));
+
+        RecordingListener listener = new RecordingListener(25);
+        for (int i = 0; i < 25; i++) {
+            batcher.submit(student(i), listener);
+        }
+        batcher.flush();
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(25, listener.committed.get());
+        assertTrue("lotes: " + batchSizes, batchSizes.size() <= 3);
+        int total = 0;
+        for (int size : batchSizes) {
+            total += size;
+        }
+        assertEquals(25, total);
+        assertEquals(batchSizes.size(), batcher.getFlushCount());
+        assertEquals(25, batcher.getCommittedCount());
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    public void lonelySubmit_isWrittenAfterDelay() throws Exception {
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> addedResults(students.size()),
+                writer, 32, 20);
+
+        RecordingListener listener = new RecordingListener(1);
+        batcher.submit(student(1), listener);
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, batcher.getFlushCount());
+        assertEquals(1, batcher.getLargestBatchSize());
+    }
+
+    @Test
+    public void openBatch_doesNotHoldTheWriter() throws Exception {
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> addedResults(students.size()),
+                writer, 32, TimeUnit.SECONDS.toMillis(30));
+        RecordingListener listener = new RecordingListener(1);
+        batcher.submit(student(1), listener);
+
+        // Mientras el lote espera más estudiantes, el escritor atiende otras escrituras
+        CountDownLatch otherWrite = new CountDownLatch(1);
+        writer.execute(otherWrite::countDown);
+        assertTrue(otherWrite.await(1, TimeUnit.SECONDS));
+        assertEquals(1, batcher.getPendingCount());
+
+        batcher.flush();
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, batcher.getFlushCount());
+    }
+
+    @Test
+    public void flush_queuesTheOpenBatchBeforeReturning() throws Exception {
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> addedResults(students.size()),
+                writer, 32, TimeUnit.SECONDS.toMillis(30));
+        RecordingListener listener = new RecordingListener(1);
+        batcher.submit(student(1), listener);
+
+        batcher.flush();
+        // Como una lectura de IoScheduler encolada después del flush: el lote ya se escribió
+        AtomicInteger seen = new AtomicInteger(-1);
+        CountDownLatch read = new CountDownLatch(1);
+        writer.execute(() -> {
+            seen.set(listener.committed.get());
+            read.countDown();
+        });
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        assertEquals(1, seen.get());
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    public void listener_isCalledOnlyAfterWrite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return addedResults(students.size());
+        }, writer, 1, 0);
+
+        RecordingListener listener = new RecordingListener(1);
+        batcher.submit(student(1), listener);
+
+        assertFalse(listener.done.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedWrite_failsEveryStudentOfTheBatch() throws Exception {
+        StudentWriteBatcher batcher = new StudentWriteBatcher(students -> {
+            throw new IOException("disco lleno");
+        }, writer, 3, TimeUnit.SECONDS.toMillis(30));
+
+        RecordingListener listener = new RecordingListener(3);
+        for (int i = 0; i < 3; i++) {
+            batcher.submit(student(i), listener);
+        }
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, listener.failed.get());
+        assertEquals(0, batcher.getFlushCount());
+    }
+
+    @Test
+    public void acknowledgedStudents_survive_withoutClosingTheJournal() throws Exception {
+        File file = new File(folder.getRoot(), "students.journal");
+        StudentRepository repository = new StudentRepository(new JournalStudentStore(file));
+        StudentWriteBatcher batcher = new StudentWriteBatcher(repository::addAll, writer, 8, 20);
+
+        RecordingListener listener = new RecordingListener(21);
+        for (int i = 0; i < 20; i++) {
+            batcher.submit(student(i), listener);
+        }
+        // Código repetido dentro del mismo lote
+        batcher.submit(student(3), listener);
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(20, listener.added.get());
+        assertEquals(1, listener.committed.get() - listener.added.get());
+
+        // Otro proceso abre el archivo sin que el primero lo haya cerrado
+        JournalStudentStore reopened = new JournalStudentStore(file);
+        assertEquals(20, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    public void concurrentWriters_loseNoRegistrations() throws Exception {
+        final int writers = 12;
+        final int perWriter = 1_500;
+        final int contended = 200;
+        File checkpoint = new File(folder.getRoot(), "students.checkpoint");
+        File log = new File(folder.getRoot(), "students.wal");
+        StudentRepository repository = new StudentRepository(new WalStudentStore(checkpoint, log));
+        StudentWriteBatcher batcher = new StudentWriteBatcher(repository::addAll, writer, 32, 5);
+
+        // Cada hilo registra sus propios códigos y además todos compiten por los mismos 200
+        RecordingListener listener = new RecordingListener(writers * (perWriter + contended));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService producers = Executors.newFixedThreadPool(writers);
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            producers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perWriter; i++) {
+                    batcher.submit(new Student("Hilo", "Pérez", "h" + writer + "-" + i + "@uni.edu",
+                            "H" + writer + "-" + i), listener);
+                    if (i < contended) {
+                        batcher.submit(new Student("Común", "Núñez", "c" + i + "-" + writer + "@uni.edu",
+                                "C-" + i), listener);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(30, TimeUnit.SECONDS));
+        batcher.flush();
+
+        assertTrue(listener.done.await(30, TimeUnit.SECONDS));
+        int expected = writers * perWriter + contended;
+        assertEquals(0, listener.failed.get());
+        assertEquals(expected, listener.added.get());
+        assertEquals(expected, repository.size());
+        assertEquals(writers * (perWriter + contended), batcher.getCommittedCount());
+        assertTrue(batcher.getFlushCount() < writers * perWriter / 4);
+        assertEquals(0, batcher.getPendingCount());
+
+        // El archivo reabierto tiene cada código exactamente una vez
+        repository.close();
+        WalStudentStore reopened = new WalStudentStore(checkpoint, log);
+        List<Student> stored = reopened.loadAll();
+        reopened.close();
+        Set<String> codes = new HashSet<>();
+        for (Student student : stored) {
+            assertTrue("Código repetido: " + student.getStudentCode(), codes.add(student.getStudentCode()));
+        }
+        assertEquals(expected, codes.size());
+        for (int w = 0; w < writers; w++) {
+            assertTrue(codes.contains("H" + w + "-" + (perWriter - 1)));
+        }
+    }
+
+    private static Student student(int i) {
+        return new Student("Ana", "Pérez", "ana" + i + "@uni.edu", "2024-" + i);
+    }
+
+    private static StudentRepository.AddResult[] addedResults(int count) {
+        StudentRepository.AddResult[] results = new StudentRepository.AddResult[count];
+        Arrays.fill(results, StudentRepository.AddResult.ADDED);
+        return results;
+    }
+
+    private static final class RecordingListener implements StudentWriteBatcher.Listener {
+        final CountDownLatch done;
+        final AtomicInteger committed = new AtomicInteger();
+        final AtomicInteger added = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+
+        RecordingListener(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onCommitted(StudentRepository.AddResult result) {
+            committed.incrementAndGet();
+            if (result == StudentRepository.AddResult.ADDED) {
+                added.incrementAndGet();
+            }
+            done.countDown();
+        }
+
+        @Override
+        public void onFailed(Exception error) {
+            failed.incrementAndGet();
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.admarchivos.registrodeestudiantes.data;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del almacenamiento durable: log con checksums, checkpoints y recuperación
+ */
+public class WalStudentStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File checkpointFile;
+    private File logFile;
+
+    @Before
+    public void setUp() {
+        checkpointFile = new File(folder.getRoot(), WalStudentStore.CHECKPOINT_FILE_NAME);
+        logFile = new File(folder.getRoot(), WalStudentStore.LOG_FILE_NAME);
+    }
+
+    @Test
+    public void reopen_replaysOnlyTheLogTail() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 100));
+        store.checkpoint();
+        store.append(student(100));
+        store.appendAll(students(101, 5));
+        // Sin cerrar, como si el proceso muriera
+
+        WalStudentStore reopened = open();
+        assertEquals(106, reopened.size());
+        assertEquals(6, reopened.getRecoveredRecords());
+        assertStudents(reopened.loadAll(), 0, 106);
+        assertEquals("2024-50", reopened.read(50, 1).get(0).getStudentCode());
+        reopened.close();
+    }
+
+    @Test
+    public void tornOrCorruptTail_isDiscarded() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 3));
+        store.close();
+
+        // Registro final incompleto
+        try (FileOutputStream out = new FileOutputStream(logFile, true)) {
+            out.write(new byte[]{0, 0, 0, 40, 1, 2});
+        }
+        WalStudentStore reopened = open();
+        assertEquals(3, reopened.size());
+        reopened.append(student(3));
+        reopened.close();
+
+        // Un byte cambiado en el último registro invalida su checksum
+        try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('#');
+        }
+        WalStudentStore recovered = open();
+        assertEquals(3, recovered.size());
+        assertStudents(recovered.loadAll(), 0, 3);
+        recovered.close();
+    }
+
+    @Test
+    public void crashBetweenCheckpointAndLogSwap_skipsCoveredRecords() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 10));
+        byte[] oldLog = Files.readAllBytes(logFile.toPath());
+        store.checkpoint();
+        store.close();
+
+        // El checkpoint nuevo quedó publicado pero el log todavía es el anterior
+        Files.write(logFile.toPath(), oldLog);
+        WalStudentStore reopened = open();
+        assertEquals(10, reopened.size());
+        assertEquals(0, reopened.getRecoveredRecords());
+        assertStudents(reopened.loadAll(), 0, 10);
+        reopened.close();
+    }
+
+    @Test
+    public void checkpoint_keepsRecordsAppendedMeanwhileInTheLog() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 20));
+        store.checkpoint();
+        assertEquals(0, store.getLogRecordCount());
+        store.appendAll(students(20, 5));
+        assertEquals(5, store.getLogRecordCount());
+        assertStudents(store.read(15, 10), 15, 10);
+        store.close();
+
+        assertEquals(20, new BinaryRosterReader(checkpointFile).size());
+    }
+
+    @Test
+    public void logAheadOfTheCheckpoint_isSetAsideInsteadOfFailing() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 5));
+        store.checkpoint();
+        byte[] oldCheckpoint = Files.readAllBytes(checkpointFile.toPath());
+        store.appendAll(students(5, 5));
+        store.checkpoint();
+        store.appendAll(students(10, 3));
+        store.close();
+
+        // Checkpoint viejo con el log que continúa desde la posición 10
+        Files.write(checkpointFile.toPath(), oldCheckpoint);
+        WalStudentStore reopened = open();
+        assertTrue(reopened.isLogQuarantined());
+        assertTrue(new File(logFile.getPath() + WalStudentStore.CORRUPT_LOG_SUFFIX).exists());
+        assertEquals(5, reopened.size());
+        assertStudents(reopened.loadAll(), 0, 5);
+        reopened.append(student(5));
+        reopened.close();
+
+        WalStudentStore again = open();
+        assertFalse(again.isLogQuarantined());
+        assertStudents(again.loadAll(), 0, 6);
+        again.close();
+    }
+
+    @Test
+    public void damagedLogHeader_isSetAsideInsteadOfFailing() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 4));
+        store.checkpoint();
+        store.appendAll(students(4, 2));
+        store.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+            raf.seek(9);
+            raf.write(0x7F);
+        }
+        WalStudentStore reopened = open();
+        assertTrue(reopened.isLogQuarantined());
+        assertStudents(reopened.loadAll(), 0, 4);
+        reopened.close();
+    }
+
+    @Test
+    public void checkpoint_closesTheReplacedReader() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 10));
+        store.checkpoint();
+        BinaryRosterReader first = store.currentCheckpoint();
+        store.appendAll(students(10, 5));
+        store.checkpoint();
+
+        assertTrue(first.isClosed());
+        assertFalse(store.currentCheckpoint().isClosed());
+        assertStudents(store.loadAll(), 0, 15);
+        store.close();
+        assertTrue(store.currentCheckpoint().isClosed());
+    }
+
+    @Test
+    public void snapshot_readsWithoutCreatingOrTrimmingFiles() throws Exception {
+        WalStudentStore store = open();
+        store.appendAll(students(0, 8));
+        store.checkpoint();
+        store.appendAll(students(8, 2));
+        store.close();
+        try (FileOutputStream out = new FileOutputStream(logFile, true)) {
+            out.write(new byte[]{0, 0, 0, 40, 1, 2});
+        }
+        long logLength = logFile.length();
+
+        WalStudentStore.Snapshot snapshot = WalStudentStore.openSnapshot(checkpointFile, logFile);
+        assertEquals(10, snapshot.size());
+        assertStudents(snapshot.read(0, 10), 0, 10);
+        snapshot.close();
+        assertEquals(logLength, logFile.length());
+
+        // Solo el checkpoint: no aparece un log nuevo
+        assertTrue(logFile.delete());
+        snapshot = WalStudentStore.openSnapshot(checkpointFile, logFile);
+        assertEquals(8, snapshot.size());
+        snapshot.close();
+        assertFalse(logFile.exists());
+    }
+
+    private WalStudentStore open() throws Exception {
+        return new WalStudentStore(checkpointFile, logFile);
+    }
+
+    private static List<Student> students(int from, int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+
+    private static Student student(int i) {
+        return new Student("Ana", i % 2 == 0 ? "Núñez" : null, "ana" + i + "@uni.edu", "2024-" + i);
+    }
+
+    private static void assertStudents(List<Student> actual, int from, int count) {
+        assertEquals(count, actual.size());
+        for (int i = 0; i < count; i++) {
+            Student expected = student(from + i);
+            assertEquals(expected.getStudentCode(), actual.get(i).getStudentCode());
+            assertEquals(expected.getLastName(), actual.get(i).getLastName());
+            assertEquals(expected.getEmail(), actual.get(i).getEmail());
+        }
+    }
+}
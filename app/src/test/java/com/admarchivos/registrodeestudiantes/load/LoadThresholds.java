@@ -0,0 +1,81 @@
+package com.admarchivos.registrodeestudiantes.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Mediciones de una corrida de carga y sus umbrales de regresión
+ * Los umbrales se leen de loadtest-thresholds.properties; cada medición se
+ * compara con "métrica.tamaño" o, si no existe, con "métrica".
+ */
+final class LoadThresholds {
+
+    private static final String RESOURCE = "/loadtest-thresholds.properties";
+
+    private final Properties thresholds = new Properties();
+    private final String name;
+    private final int size;
+    private final StringBuilder report = new StringBuilder("métrica,valor,umbral\n");
+    private final List<String> violations = new ArrayList<>();
+
+    LoadThresholds(int size) throws IOException {
+        this("roster", size);
+    }
+
+    /**
+     * @param name Prefijo del informe (name-tamaño.csv)
+     */
+    LoadThresholds(String name, int size) throws IOException {
+        this.name = name;
+        this.size = size;
+        try (InputStream in = LoadThresholds.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Falta " + RESOURCE);
+            }
+            thresholds.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Registra una medición y la compara con su umbral, si tiene
+     */
+    void record(String metric, double value) {
+        String limit = thresholds.getProperty(metric + "." + size, thresholds.getProperty(metric));
+        report.append(metric).append(',')
+                .append(String.format(Locale.ROOT, "%.2f", value)).append(',')
+                .append(limit != null ? limit : "").append('\n');
+        if (limit != null && value > Double.parseDouble(limit)) {
+            violations.add(String.format(Locale.ROOT, "%s = %.2f supera %s", metric, value, limit));
+        }
+    }
+
+    /**
+     * @return Mediciones que superaron su umbral
+     */
+    List<String> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Escribe el informe como CSV en el directorio indicado
+     */
+    void writeReport(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("No se pudo crear " + directory);
+        }
+        File file = new File(directory, name + "-" + size + ".csv");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write(report.toString());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.admarchivos.registrodeestudiantes.load;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.search.TextNormalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador determinista de listas de estudiantes realistas
+ * - Nombres y apellidos en español con tildes, ñ y ü, simples o compuestos
+ * - Emails en dominios reales, con los proveedores comunes más frecuentes
+ * - Códigos y emails únicos, así la lista completa pasa el índice único
+ * Con la misma semilla produce siempre la misma secuencia, y todos los
+ * estudiantes pasan {@link com.admarchivos.registrodeestudiantes.validation.StudentValidator}.
+ */
+public final class RosterGenerator {
+
+    public static final long DEFAULT_SEED = 20240301L;
+
+    private static final String[] FIRST_NAMES = {
+            "José", "María", "Lucía", "Martín", "Sofía", "Tomás", "Valentina", "Joaquín",
+            "Camila", "Sebastián", "Ángela", "Nicolás", "Inés", "Agustín", "Belén", "Ramón",
+            "Raúl", "Mónica", "Óscar", "Íñigo", "Begoña", "Julián", "Verónica", "Andrés",
+            "Ana", "Pablo", "Elena", "Diego", "Carmen", "Lautaro", "Úrsula", "Matías",
+            "Florencia", "Benjamín", "Paula", "Germán", "Noemí", "Iván", "Rocío", "Simón"};
+
+    private static final String[] LAST_NAMES = {
+            "González", "Rodríguez", "Fernández", "López", "Martínez", "Sánchez", "Pérez", "Gómez",
+            "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez",
+            "Romero", "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos",
+            "Gil", "Ramírez", "Serrano", "Blanco", "Suárez", "Molina", "Castro", "Ortiz",
+            "Rubio", "Marín", "Sanz", "Núñez", "Iglesias", "Medina", "Garrido", "Cortés",
+            "Castillo", "Santos", "Lozano", "Guerrero", "Cano", "Prieto", "Méndez", "Peña",
+            "Ibáñez", "Argüello", "Mejía", "Quiñones"};
+
+    // Dominios con su peso relativo: los proveedores comunes dominan
+    private static final String[] DOMAINS = {
+            "gmail.com", "hotmail.com", "outlook.com", "yahoo.com.ar", "live.com",
+            "uba.edu.ar", "unam.mx", "uc.cl", "udelar.edu.uy", "unal.edu.co", "ucm.es"};
+    private static final int[] DOMAIN_WEIGHTS = {40, 18, 10, 6, 4, 5, 5, 3, 3, 3, 3};
+
+    private final Random random;
+    private final int domainWeightTotal;
+    private int next;
+
+    public RosterGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public RosterGenerator(long seed) {
+        this.random = new Random(seed);
+        int total = 0;
+        for (int weight : DOMAIN_WEIGHTS) {
+            total += weight;
+        }
+        this.domainWeightTotal = total;
+    }
+
+    /**
+     * @return El siguiente estudiante de la secuencia
+     */
+    public Student next() {
+        int index = next++;
+        String firstName = pick(FIRST_NAMES);
+        String name = random.nextInt(100) < 30 ? firstName + " " + pick(FIRST_NAMES) : firstName;
+        String firstLastName = pick(LAST_NAMES);
+        String lastName = random.nextInt(100) < 50 ? firstLastName + " " + pick(LAST_NAMES) : firstLastName;
+
+        // El índice hace únicos al email y al código
+        StringBuilder email = new StringBuilder(40);
+        appendAscii(firstName, email);
+        email.append(random.nextBoolean() ? '.' : '_');
+        appendAscii(firstLastName, email);
+        email.append(index).append('@').append(pickDomain());
+
+        String code = (2015 + random.nextInt(11)) + "-" + String.format("%07d", index);
+        return new Student(name, lastName, email.toString(), code);
+    }
+
+    /**
+     * @return Los siguientes count estudiantes de la secuencia
+     */
+    public List<Student> next(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(next());
+        }
+        return students;
+    }
+
+    /**
+     * @return Lista de count estudiantes con la semilla por defecto
+     */
+    public static List<Student> generate(int count) {
+        return new RosterGenerator().next(count);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pickDomain() {
+        int value = random.nextInt(domainWeightTotal);
+        for (int i = 0; i < DOMAINS.length; i++) {
+            value -= DOMAIN_WEIGHTS[i];
+            if (value < 0) {
+                return DOMAINS[i];
+            }
+        }
+        return DOMAINS[0];
+    }
+
+    // Minúsculas sin tildes ni espacios, como escribiría el email un estudiante
+    private static void appendAscii(String text, StringBuilder target) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = TextNormalizer.fold(text.charAt(i));
+            if (c != ' ') {
+                target.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.admarchivos.registrodeestudiantes.load;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.validation.StudentValidator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del generador de listas sintéticas
+ */
+public class RosterGeneratorTest {
+
+    @Test
+    public void sameSeed_producesSameRoster() {
+        List<Student> first = new RosterGenerator(7).next(500);
+        List<Student> second = new RosterGenerator(7).next(500);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getFullName(), second.get(i).getFullName());
+            assertEquals(first.get(i).getEmail(), second.get(i).getEmail());
+            assertEquals(first.get(i).getStudentCode(), second.get(i).getStudentCode());
+        }
+    }
+
+    @Test
+    public void students_areValidAndUnique() {
+        Set<String> codes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        boolean sawAccent = false;
+        for (Student student : RosterGenerator.generate(20_000)) {
+            assertTrue(student.getName(), StudentValidator.isValidName(student.getName()));
+            assertTrue(student.getLastName(), StudentValidator.isValidName(student.getLastName()));
+            assertTrue(student.getEmail(), StudentValidator.isValidEmail(student.getEmail()));
+            assertTrue(codes.add(student.getStudentCode()));
+            assertTrue(emails.add(student.getEmail()));
+            sawAccent |= !student.getLastName().matches("[A-Za-z ]+");
+        }
+        assertTrue(sawAccent);
+    }
+}
@@ -0,0 +1,233 @@
+package com.admarchivos.registrodeestudiantes.load;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.adapters.StudentAdapter;
+import com.admarchivos.registrodeestudiantes.data.CompactRoster;
+import com.admarchivos.registrodeestudiantes.data.StudentPageLoader;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.data.WalStudentStore;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de carga con listas sintéticas de 1 mil a 1 millón de estudiantes
+ * Para cada tamaño recorre los caminos de la app sin emulador:
+ * - Persistencia: anexar por lotes al log, checkpoint y reapertura
+ * - Carga: primera página y recorrido completo como lo hace la lista
+ * - Adapter: crear y enlazar filas de item_student (Robolectric)
+ * y mide la latencia de cada paso y el pico de memoria. Falla si alguna
+ * medición supera su umbral en loadtest-thresholds.properties; el detalle queda
+ * en build/reports/loadtest/.
+ *
+ * Por defecto solo corre con 1 mil y 10 mil estudiantes. Los tamaños grandes se
+ * piden con la propiedad loadtest.sizes (la build también sube el heap a 2 GB):
+ *   ./gradlew :app:testDebugUnitTest --tests '*RosterLoadTest' -PloadTestSizes=1000,10000,100000,1000000
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class RosterLoadTest {
+
+    private static final String DEFAULT_SIZES = "1000,10000";
+
+    // Estudiantes por anexado, como una importación
+    private static final int APPEND_BATCH = 1000;
+
+    // Estudiantes anexados después del checkpoint, que la reapertura reproduce
+    private static final int LOG_TAIL = 100;
+
+    // Filas enlazadas, repartidas por toda la lista, y ViewHolders reciclados entre ellas
+    private static final int BIND_SAMPLES = 2000;
+    private static final int RECYCLED_HOLDERS = 12;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final int size;
+
+    public RosterLoadTest(int size) {
+        this.size = size;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0} estudiantes")
+    public static Collection<Object[]> sizes() {
+        List<Object[]> sizes = new ArrayList<>();
+        for (String value : System.getProperty("loadtest.sizes", DEFAULT_SIZES).split(",")) {
+            if (!value.trim().isEmpty()) {
+                sizes.add(new Object[]{Integer.parseInt(value.trim())});
+            }
+        }
+        return sizes;
+    }
+
+    @Test
+    public void scaledRoster_staysWithinThresholds() throws Exception {
+        LoadThresholds results = new LoadThresholds(size);
+        HeapSampler heap = new HeapSampler();
+        long baseline = heap.start();
+
+        File checkpointFile = new File(folder.getRoot(), WalStudentStore.CHECKPOINT_FILE_NAME);
+        File logFile = new File(folder.getRoot(), WalStudentStore.LOG_FILE_NAME);
+
+        // Persistencia
+        WalStudentStore store = new WalStudentStore(checkpointFile, logFile);
+        RosterGenerator generator = new RosterGenerator();
+        long start = System.nanoTime();
+        for (int written = 0; written < size; written += APPEND_BATCH) {
+            store.appendAll(generator.next(Math.min(APPEND_BATCH, size - written)));
+        }
+        results.record("persist.append_us_per_student", micros(System.nanoTime() - start) / size);
+
+        start = System.nanoTime();
+        store.checkpoint();
+        results.record("persist.checkpoint_ms", millis(System.nanoTime() - start));
+        store.appendAll(generator.next(LOG_TAIL));
+        store.close();
+
+        start = System.nanoTime();
+        store = new WalStudentStore(checkpointFile, logFile);
+        results.record("persist.recover_ms", millis(System.nanoTime() - start));
+        int total = size + LOG_TAIL;
+        assertEquals(total, store.size());
+        assertEquals(LOG_TAIL, store.getRecoveredRecords());
+
+        // Carga por páginas, del más reciente al más antiguo, como StudentListActivity
+        StudentRepository repository = new StudentRepository(store);
+        StudentPageLoader loader = new StudentPageLoader(repository);
+        CompactRoster displayed = new CompactRoster();
+        start = System.nanoTime();
+        displayed.addAll(loader.loadNextPage());
+        results.record("load.first_page_ms", millis(System.nanoTime() - start));
+        start = System.nanoTime();
+        while (loader.hasMore()) {
+            displayed.addAll(loader.loadNextPage());
+        }
+        results.record("load.scan_us_per_student", micros(System.nanoTime() - start) / total);
+        assertEquals(total, displayed.size());
+
+        // Adapter
+        results.record("adapter.bind_us_per_row", bindRows(displayed.snapshot()));
+
+        long retained = heap.retained();
+        results.record("heap.peak_mb", (heap.stop() - baseline) / (1024.0 * 1024.0));
+        results.record("heap.retained_bytes_per_student", (double) (retained - baseline) / total);
+        assertEquals(total, displayed.size());
+        store.close();
+
+        results.writeReport(new File(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+        assertTrue(String.join("\n", results.getViolations()), results.getViolations().isEmpty());
+    }
+
+    /**
+     * Envía la lista al adapter y enlaza filas repartidas por toda la lista
+     *
+     * @return Microsegundos por fila enlazada
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private double bindRows(List<Student> students) {
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                R.style.Theme_RegistroDeEstudiantes);
+        RecyclerView parent = new RecyclerView(context);
+        parent.setLayoutManager(new LinearLayoutManager(context));
+        StudentAdapter studentAdapter = new StudentAdapter();
+        // La primera lista se aplica sin diff, de forma síncrona
+        studentAdapter.submitList(students);
+        assertEquals(students.size(), studentAdapter.getItemCount());
+
+        RecyclerView.Adapter adapter = studentAdapter;
+        RecyclerView.ViewHolder[] holders = new RecyclerView.ViewHolder[RECYCLED_HOLDERS];
+        int samples = Math.min(BIND_SAMPLES, students.size());
+        long step = Math.max(1, students.size() / samples);
+        long start = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            int slot = i % holders.length;
+            if (holders[slot] == null) {
+                holders[slot] = adapter.onCreateViewHolder(parent, 0);
+            }
+            adapter.onBindViewHolder(holders[slot], (int) (i * step));
+        }
+        return micros(System.nanoTime() - start) / samples;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Muestrea la memoria usada en un hilo aparte para estimar el pico
+     */
+    private static final class HeapSampler implements Runnable {
+
+        private static final long INTERVAL_MILLIS = 5;
+
+        private final Runtime runtime = Runtime.getRuntime();
+        private volatile boolean running;
+        private volatile long peak;
+        private Thread thread;
+
+        /**
+         * @return Memoria usada tras una recolección, antes de empezar
+         */
+        long start() {
+            long baseline = retained();
+            peak = baseline;
+            running = true;
+            thread = new Thread(this, "heap-sampler");
+            thread.setDaemon(true);
+            thread.start();
+            return baseline;
+        }
+
+        /**
+         * @return Pico de memoria usada observado
+         */
+        long stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            return peak;
+        }
+
+        /**
+         * @return Memoria usada por los objetos vivos, tras forzar recolecciones
+         */
+        long retained() {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return used();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                peak = Math.max(peak, used());
+                try {
+                    Thread.sleep(INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private long used() {
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
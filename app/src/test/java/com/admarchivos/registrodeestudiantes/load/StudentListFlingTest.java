@@ -0,0 +1,145 @@
+package com.admarchivos.registrodeestudiantes.load;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.admarchivos.registrodeestudiantes.R;
+import com.admarchivos.registrodeestudiantes.adapters.StudentAdapter;
+import com.admarchivos.registrodeestudiantes.data.CompactRoster;
+import java.io.File;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Medición de cuadros lentos al desplazar rápido (fling) una lista de 50 mil estudiantes
+ * Monta StudentAdapter en un RecyclerView como StudentListActivity y lanza flings
+ * desde distintos puntos de la lista. Cada cuadro avanza el reloj 16 ms y mide el
+ * trabajo del hilo principal (desplazar, enlazar filas y el prefetch de RecyclerView);
+ * el resto del cuadro se espera de verdad, así el hilo de fondo de StudentRowCache
+ * tiene el mismo tiempo que en un teléfono para preparar las filas siguientes.
+ * Un cuadro es lento si su trabajo supera los 16,7 ms de un cuadro a 60 Hz.
+ * Los tiempos de Robolectric dependen de la máquina, así que las métricas fling.*
+ * solo se informan en build/reports/loadtest/ y no tienen umbral; el presupuesto
+ * de cuadro real se mide en el teléfono.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(qualifiers = "w411dp-h891dp-xxhdpi")
+public class StudentListFlingTest {
+
+    private static final int ROWS = 50_000;
+    private static final int FLINGS = 8;
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+    private static final long JANK_NANOS = 16_667_000L;
+
+    // Un fling a la velocidad máxima termina bastante antes de este límite
+    private static final int MAX_FRAMES_PER_FLING = 600;
+
+    private Duration originalFrameDelay;
+
+    @Before
+    public void setUp() {
+        originalFrameDelay = ShadowChoreographer.getFrameDelay();
+        ShadowChoreographer.setFrameDelay(Duration.ofNanos(FRAME_NANOS));
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setFrameDelay(originalFrameDelay);
+    }
+
+    @Test
+    public void flingThrough50kRows_reportsFrameTimes() throws Exception {
+        CompactRoster roster = new CompactRoster();
+        roster.addAll(RosterGenerator.generate(ROWS));
+
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        RecyclerView recyclerView = new RecyclerView(
+                new ContextThemeWrapper(activity, R.style.Theme_RegistroDeEstudiantes));
+        recyclerView.setHasFixedSize(true);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        StudentAdapter adapter = new StudentAdapter();
+        recyclerView.setAdapter(adapter);
+        activity.setContentView(recyclerView);
+        // La primera lista se aplica sin diff, de forma síncrona
+        adapter.submitList(roster.snapshot());
+        idleFrame();
+
+        // Primer fling para crear las filas y calentar el JIT; no se cuenta
+        fling(recyclerView, 0, new long[MAX_FRAMES_PER_FLING]);
+
+        long[] frames = new long[FLINGS * MAX_FRAMES_PER_FLING];
+        int count = 0;
+        for (int i = 0; i < FLINGS; i++) {
+            int start = (int) ((long) ROWS * i / FLINGS);
+            long[] flingFrames = new long[MAX_FRAMES_PER_FLING];
+            int flingCount = fling(recyclerView, start, flingFrames);
+            System.arraycopy(flingFrames, 0, frames, count, flingCount);
+            count += flingCount;
+        }
+        assertTrue("El fling no desplazó la lista", count > FLINGS);
+
+        long[] sorted = Arrays.copyOf(frames, count);
+        Arrays.sort(sorted);
+        int janky = 0;
+        for (long frame : sorted) {
+            if (frame > JANK_NANOS) {
+                janky++;
+            }
+        }
+
+        LoadThresholds results = new LoadThresholds("fling", ROWS);
+        results.record("fling.frames", count);
+        results.record("fling.jank_percent", 100.0 * janky / count);
+        results.record("fling.frame_p50_ms", millis(sorted[count / 2]));
+        results.record("fling.frame_p95_ms", millis(sorted[(int) (count * 0.95)]));
+        results.record("fling.frame_max_ms", millis(sorted[count - 1]));
+        results.writeReport(new File(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+    }
+
+    /**
+     * Lanza un fling hacia abajo desde una posición y mide cada cuadro hasta que se detiene
+     *
+     * @return Cantidad de cuadros medidos
+     */
+    private static int fling(RecyclerView recyclerView, int position, long[] frames) throws InterruptedException {
+        recyclerView.scrollToPosition(position);
+        idleFrame();
+        assertTrue(recyclerView.fling(0, recyclerView.getMaxFlingVelocity()));
+
+        int count = 0;
+        while (count < frames.length && recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            long start = System.nanoTime();
+            idleFrame();
+            long work = System.nanoTime() - start;
+            frames[count++] = work;
+            // El resto del cuadro pasa de verdad, como en el teléfono
+            long remaining = FRAME_NANOS - work;
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        }
+        return count;
+    }
+
+    private static void idleFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofNanos(FRAME_NANOS));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
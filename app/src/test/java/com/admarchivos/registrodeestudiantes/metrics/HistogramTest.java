@@ -0,0 +1,57 @@
+package com.admarchivos.registrodeestudiantes.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de las cubetas y percentiles del histograma
+ */
+public class HistogramTest {
+
+    @Test
+    public void buckets_coverEveryValueContiguously() {
+        for (int bucket = 0; bucket < Histogram.BUCKET_COUNT - 1; bucket++) {
+            long lower = Histogram.lowerBound(bucket);
+            long upper = Histogram.upperBound(bucket);
+            assertTrue(lower <= upper);
+            assertEquals(bucket, Histogram.bucketOf(lower));
+            assertEquals(bucket, Histogram.bucketOf(upper));
+            assertEquals(bucket + 1, Histogram.bucketOf(upper + 1));
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void buckets_errorIsBelowQuarter() {
+        for (int bucket = 4; bucket < Histogram.BUCKET_COUNT - 1; bucket++) {
+            long lower = Histogram.lowerBound(bucket);
+            long upper = Histogram.upperBound(bucket);
+            assertTrue(upper - lower < lower / 4);
+        }
+    }
+
+    @Test
+    public void percentiles_areApproximatedFromBuckets() {
+        Histogram histogram = new Histogram("prueba");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordValue(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean());
+        assertWithin(500_000, histogram.getPercentile(50));
+        assertWithin(990_000, histogram.getPercentile(99));
+        assertEquals(1_000_000, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("esperado ~" + expected + " pero fue " + actual,
+                actual >= expected && actual < expected * 1.25);
+    }
+}
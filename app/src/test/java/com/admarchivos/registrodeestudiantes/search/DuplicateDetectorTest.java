@@ -0,0 +1,198 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.load.RosterGenerator;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del detector de estudiantes casi repetidos
+ */
+public class DuplicateDetectorTest {
+
+    @Test
+    public void phonetic_unifiesSpanishSpellings() {
+        assertEquals(DuplicateDetector.phonetic("Vázquez"), DuplicateDetector.phonetic("Basques"));
+        assertEquals(DuplicateDetector.phonetic("Núñez"), DuplicateDetector.phonetic("nunes"));
+        assertEquals(DuplicateDetector.phonetic("Hernández"), DuplicateDetector.phonetic("Ernandes"));
+        assertEquals(DuplicateDetector.phonetic("Guillermo"), DuplicateDetector.phonetic("Guiyermo"));
+        assertEquals(DuplicateDetector.phonetic("Cecilia"), DuplicateDetector.phonetic("Sesilia"));
+        assertEquals("jose peres", DuplicateDetector.phonetic("José  Pérez"));
+        assertNotEquals(DuplicateDetector.phonetic("López"), DuplicateDetector.phonetic("Lozano"));
+    }
+
+    @Test
+    public void findMatches_accentsAndEmailTypos() throws IOException {
+        List<Student> roster = Arrays.asList(
+                new Student("José", "Pérez", "jose.perez@uni.edu", "2024-001"),
+                new Student("Ana", "López", "ana.lopez@gmail.com", "2024-002"),
+                new Student("Ana", "Lozano", "ana.lozano@gmail.com", "2024-003"),
+                new Student("María", "Núñez", "maria.nunez@gmail.com", "2024-004"));
+        DuplicateDetector detector = detectorFor(roster);
+
+        List<DuplicateDetector.Match> matches = detector.findMatches(
+                new Student("Jose", "Perez", "jose.perez@uni.edu", "2024-100"), roster::get, 0.8, 5);
+        assertEquals(1, matches.size());
+        assertEquals(0, matches.get(0).position);
+        assertEquals(1.0, matches.get(0).score, 1e-9);
+
+        // Letras invertidas y cambiadas en el email
+        matches = detector.findMatches(
+                new Student("Ana", "López", "ana.lopes@gmial.com", "2024-101"), roster::get, 0.8, 5);
+        assertEquals(1, matches.size());
+        assertEquals("2024-002", matches.get(0).student.getStudentCode());
+
+        // Apellido con s en vez de z y el mismo email
+        matches = detector.findMatches(
+                new Student("Maria", "Nuñes", "maria.nunez@gmail.com", "2024-102"), roster::get, 0.8, 5);
+        assertEquals(1, matches.size());
+        assertEquals(3, matches.get(0).position);
+
+        // Otra persona: no comparte bloque con nadie
+        assertTrue(detector.findMatches(
+                new Student("Tomás", "Ruiz", "truiz@uba.edu.ar", "2024-103"), roster::get, 0.8, 5).isEmpty());
+    }
+
+    @Test
+    public void typoInName_isFoundThroughTheEmailBlock() throws IOException {
+        List<Student> roster = Arrays.asList(
+                new Student("José", "Pérez", "jose.perez@uni.edu", "2024-001"));
+        DuplicateDetector detector = detectorFor(roster);
+
+        // "Joes" no da la misma clave fonética, pero el email sí coincide
+        List<DuplicateDetector.Match> matches = detector.findMatches(
+                new Student("Joes", "Perez", "jose.perez@uni.edu", "2024-100"), roster::get, 0.8, 5);
+        assertEquals(1, matches.size());
+    }
+
+    @Test
+    public void candidates_areLimitedToRecentStudentsOfTheBlocks() {
+        DuplicateDetector detector = new DuplicateDetector();
+        for (int i = 0; i < 500; i++) {
+            detector.add(new Student("José", "Pérez", "jp" + i + "@uni.edu", "2024-" + i), i);
+        }
+        detector.add(new Student("Ana", "López", "ana@uni.edu", "2024-500"), 500);
+
+        int[] candidates = detector.candidates(new Student("Jose", "Peres", "x@uni.edu", "2024-900"));
+        assertEquals(DuplicateDetector.MAX_BLOCK_CANDIDATES, candidates.length);
+        assertEquals(499 - DuplicateDetector.MAX_BLOCK_CANDIDATES + 1, candidates[0]);
+        assertEquals(499, candidates[candidates.length - 1]);
+    }
+
+    @Test
+    public void report_findsPlantedDuplicatesInALargeRoster() throws IOException {
+        List<Student> roster = new ArrayList<>(RosterGenerator.generate(20_000));
+        // Repetidos con variaciones, agregados al final de la lista
+        Student original = roster.get(1_234);
+        roster.add(new Student(strip(original.getName()), strip(original.getLastName()),
+                original.getEmail(), "DUP-1"));
+        Student other = roster.get(17_000);
+        roster.add(new Student(other.getName(), other.getLastName(),
+                other.getEmail().replaceFirst("@", "x@"), "DUP-2"));
+
+        long start = System.nanoTime();
+        List<DuplicateDetector.Pair> pairs = DuplicateDetector.report(roster::get, roster.size(),
+                DuplicateDetector.DEFAULT_MIN_SCORE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(containsPair(pairs, 1_234, 20_000));
+        assertTrue(containsPair(pairs, 17_000, 20_001));
+        assertTrue("reporte en " + elapsedMillis + " ms", elapsedMillis < 10_000);
+        for (int i = 1; i < pairs.size(); i++) {
+            assertTrue(pairs.get(i - 1).score >= pairs.get(i).score);
+        }
+    }
+
+    @Test
+    public void registrationCheck_staysFastOnALargeRoster() throws IOException {
+        List<Student> roster = RosterGenerator.generate(100_000);
+        DuplicateDetector detector = detectorFor(roster);
+        RosterGenerator newcomers = new RosterGenerator(7L);
+
+        // Calentar el JIT antes de medir
+        for (int i = 0; i < 200; i++) {
+            detector.findMatches(newcomers.next(), roster::get, DuplicateDetector.DEFAULT_MIN_SCORE, 3);
+        }
+        int checks = 1_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            detector.findMatches(newcomers.next(), roster::get, DuplicateDetector.DEFAULT_MIN_SCORE, 3);
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / checks;
+        assertTrue("promedio " + averageMillis + " ms", averageMillis < 5);
+    }
+
+    @Test
+    public void repository_readsOutsideTheLock_andBatchesCandidates() throws IOException {
+        List<Student> roster = new ArrayList<>(RosterGenerator.generate(5_000));
+        // Un bloque grande y disperso: uno de cada 10 es "José Pérez"
+        for (int i = 0; i < roster.size(); i += 10) {
+            roster.set(i, new Student("José", "Pérez", "jp" + i + "@uni.edu", "JP-" + i));
+        }
+        LockCheckingStore store = new LockCheckingStore(roster);
+        StudentRepository repository = new StudentRepository(store);
+        store.repository = repository;
+
+        repository.getDuplicateDetector();
+        assertFalse("Se leyó con el lock al construir", store.readUnderLock);
+
+        store.reads = 0;
+        List<DuplicateDetector.Match> matches = repository.findPossibleDuplicates(
+                new Student("Jose", "Perez", "jp4990@uni.edu", "JP-NEW"), 3);
+        assertEquals("JP-4990", matches.get(0).student.getStudentCode());
+        assertFalse("Se leyó con el lock al buscar", store.readUnderLock);
+        // Los candidatos cercanos se leen juntos, no de a uno
+        assertTrue("Lecturas: " + store.reads, store.reads <= 2);
+    }
+
+    @Test
+    public void repository_detectorCatchesUpWithAddsDuringTheBuild() throws IOException {
+        LockCheckingStore store = new LockCheckingStore(RosterGenerator.generate(3_000));
+        StudentRepository repository = new StudentRepository(store);
+        store.repository = repository;
+        Student late = new Student("Tardío", "Registro", "tardio.registro@uni.edu", "LATE-1");
+        // Se registra mientras el detector lee el primer lote
+        store.onFirstRead = () -> repository.add(late);
+
+        repository.getDuplicateDetector();
+
+        List<DuplicateDetector.Match> matches = repository.findPossibleDuplicates(
+                new Student("Tardio", "Registro", "tardio.registro@uni.edu", "LATE-2"), 3);
+        assertEquals(1, matches.size());
+        assertEquals(3_000, matches.get(0).position);
+    }
+
+    private static DuplicateDetector detectorFor(List<Student> roster) {
+        DuplicateDetector detector = new DuplicateDetector();
+        for (int i = 0; i < roster.size(); i++) {
+            detector.add(roster.get(i), i);
+        }
+        return detector;
+    }
+
+    private static boolean containsPair(List<DuplicateDetector.Pair> pairs, int first, int second) {
+        for (DuplicateDetector.Pair pair : pairs) {
+            if (pair.first == first && pair.second == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita tildes y mayúsculas como lo escribiría alguien apurado
+     */
+    private static String strip(String text) {
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            plain.append(TextNormalizer.fold(text.charAt(i)));
+        }
+        return plain.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.data.StudentStore;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Almacenamiento en memoria que anota si se lee con el lock del repositorio tomado
+ * Permite además registrar estudiantes en medio de la primera lectura, como
+ * haría otro hilo mientras se construye un índice.
+ */
+final class LockCheckingStore implements StudentStore {
+
+    /**
+     * Acción que se ejecuta antes de la primera lectura
+     */
+    interface IoAction {
+        void run() throws IOException;
+    }
+
+    final List<Student> students;
+    StudentRepository repository;
+    IoAction onFirstRead;
+    int reads;
+    boolean readUnderLock;
+
+    LockCheckingStore(List<Student> students) {
+        this.students = new ArrayList<>(students);
+    }
+
+    @Override
+    public void append(Student student) {
+        students.add(student);
+    }
+
+    @Override
+    public void appendAll(List<Student> students) {
+        this.students.addAll(students);
+    }
+
+    @Override
+    public List<Student> loadAll() {
+        return new ArrayList<>(students);
+    }
+
+    @Override
+    public List<Student> read(int from, int count) throws IOException {
+        if (onFirstRead != null) {
+            IoAction action = onFirstRead;
+            onFirstRead = null;
+            action.run();
+        }
+        reads++;
+        readUnderLock |= repository != null && Thread.holdsLock(repository);
+        return new ArrayList<>(students.subList(from, from + count));
+    }
+
+    @Override
+    public int size() {
+        return students.size();
+    }
+
+    @Override
+    public void close() {
+    }
+}
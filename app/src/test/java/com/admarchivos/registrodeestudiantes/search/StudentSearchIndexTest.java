@@ -0,0 +1,167 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.data.StudentStore;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del índice de búsqueda por prefijos y de la búsqueda del repositorio
+ */
+public class StudentSearchIndexTest {
+
+    @Test
+    public void search_ignoresAccentsAndCase() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        index.add(new Student("José", "Núñez", "jose.nunez@uni.edu.ar", "2024-001"), 0);
+        index.add(new Student("Ana", "Pérez", "ana@uni.edu.ar", "2024-002"), 1);
+
+        assertArrayEquals(new int[]{0}, index.search("NUÑEZ", 10));
+        assertArrayEquals(new int[]{0}, index.search("nunez", 10));
+        assertArrayEquals(new int[]{0}, index.search("JOSÉ", 10));
+        assertArrayEquals(new int[]{1}, index.search("perez", 10));
+    }
+
+    @Test
+    public void search_matchesEveryTermAsPrefix() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        index.add(new Student("José", "Pérez", "jp@uni.edu.ar", "A-1"), 0);
+        index.add(new Student("Josefina", "Paz", "jpaz@uni.edu.ar", "A-2"), 1);
+        index.add(new Student("María", "Pereyra", "mp@uni.edu.ar", "A-3"), 2);
+
+        assertArrayEquals(new int[]{1, 0}, index.search("jos", 10));
+        assertArrayEquals(new int[]{0}, index.search("jos per", 10));
+        assertArrayEquals(new int[]{2, 0}, index.search("per", 10));
+        // El email y el código también se dividen en palabras
+        assertArrayEquals(new int[]{1}, index.search("jpaz", 10));
+        assertArrayEquals(new int[]{2, 1, 0}, index.search("a", 10));
+        // Un prefijo debe estar al principio de una palabra
+        assertEquals(0, index.search("erez", 10).length);
+        assertEquals(0, index.search("  ", 10).length);
+    }
+
+    @Test
+    public void search_returnsNewestFirst_upToTheLimit() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 0; i < 500; i++) {
+            index.add(new Student("Lucía", "Gómez" + i, "lucia" + i + "@uni.edu.ar", "C-" + i), i);
+        }
+
+        int[] result = index.search("lucia", 200);
+        assertEquals(200, result.length);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(499 - i, result[i]);
+        }
+        assertEquals(0, index.search("lucia", 0).length);
+        assertEquals(500, index.search("lucia", 1000).length);
+    }
+
+    @Test
+    public void repositorySearch_readsHitsInBatches() throws Exception {
+        CountingStore store = new CountingStore();
+        for (int i = 0; i < 4_000; i++) {
+            // Uno de cada 20 coincide: 200 resultados dispersos
+            String name = i % 20 == 0 ? "Ramón" : "Nombre";
+            store.students.add(new Student(name, "Apellido", "alumno" + i + "@uni.edu.ar", "C-" + i));
+        }
+        StudentRepository repository = new StudentRepository(store);
+        repository.getSearchIndex();
+        store.reads = 0;
+        store.lastFrom = -1;
+
+        List<Student> result = repository.search("ramon", 200);
+        assertEquals(200, result.size());
+        assertEquals("C-3980", result.get(0).getStudentCode());
+        assertEquals("C-0", result.get(199).getStudentCode());
+        // Los aciertos cercanos se leen juntos, en una pasada de la más antigua a la más reciente
+        assertTrue("Lecturas: " + store.reads, store.reads <= 4);
+        assertFalse(store.outOfOrder);
+    }
+
+    @Test
+    public void repositorySearch_buildsTheIndexOutsideTheLock() throws Exception {
+        CountingStore store = new CountingStore();
+        for (int i = 0; i < 5_000; i++) {
+            store.students.add(new Student("Nombre", "Apellido" + i, "alumno" + i + "@uni.edu.ar", "C-" + i));
+        }
+        StudentRepository repository = new StudentRepository(store);
+        store.repository = repository;
+
+        assertEquals("C-4999", repository.search("apellido4999", 10).get(0).getStudentCode());
+        assertFalse("Se leyó con el lock del repositorio", store.readUnderLock);
+    }
+
+    @Test
+    public void repositorySearch_damagedRowInACachedPage() throws Exception {
+        CountingStore store = new CountingStore();
+        for (int i = 0; i < 3 * StudentRepository.PAGE_SIZE; i++) {
+            String name = i == 5 || i == 2 * StudentRepository.PAGE_SIZE ? "Ramón" : "Nombre";
+            store.students.add(new Student(name, "Apellido", "alumno" + i + "@uni.edu.ar", "C-" + i));
+        }
+        StudentRepository repository = new StudentRepository(store);
+        repository.getSearchIndex();
+        // La fila 5 se daña después de indexarla y su página queda en memoria
+        store.damaged = 5;
+        repository.read(0, 10);
+
+        List<Student> result = repository.search("ramon", 10);
+        assertEquals(1, result.size());
+        assertEquals("C-" + 2 * StudentRepository.PAGE_SIZE, result.get(0).getStudentCode());
+    }
+
+    /**
+     * Almacenamiento en memoria que cuenta las lecturas de rango
+     */
+    private static final class CountingStore implements StudentStore {
+        final List<Student> students = new ArrayList<>();
+        int reads;
+        int lastFrom = -1;
+        boolean outOfOrder;
+        // Posición que se lee como registro dañado (null), o -1
+        int damaged = -1;
+        StudentRepository repository;
+        boolean readUnderLock;
+
+        @Override
+        public void append(Student student) {
+            students.add(student);
+        }
+
+        @Override
+        public void appendAll(List<Student> students) {
+            this.students.addAll(students);
+        }
+
+        @Override
+        public List<Student> loadAll() {
+            return new ArrayList<>(students);
+        }
+
+        @Override
+        public List<Student> read(int from, int count) throws IOException {
+            reads++;
+            outOfOrder |= from <= lastFrom;
+            lastFrom = from;
+            readUnderLock |= repository != null && Thread.holdsLock(repository);
+            List<Student> range = new ArrayList<>(students.subList(from, from + count));
+            if (damaged >= from && damaged < from + count) {
+                range.set(damaged - from, null);
+            }
+            return range;
+        }
+
+        @Override
+        public int size() {
+            return students.size();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
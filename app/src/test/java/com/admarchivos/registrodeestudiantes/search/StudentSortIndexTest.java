@@ -0,0 +1,137 @@
+package com.admarchivos.registrodeestudiantes.search;
+
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de las claves de orden y de las vistas ordenadas
+ */
+public class StudentSortIndexTest {
+
+    @Test
+    public void sortKey_followsSpanishOrder() {
+        assertTrue(key("Álvarez").equals(key("alvarez")));
+        assertTrue(key("Nuñez").compareTo(key("Nunziata")) > 0);
+        assertTrue(key("Nuñez").compareTo(key("Nuova")) < 0);
+        assertTrue(key("Ñandú").compareTo(key("Nube")) > 0);
+        assertTrue(key("Ñandú").compareTo(key("Oca")) < 0);
+    }
+
+    @Test
+    public void sortKey_comparesNumbersByValue() {
+        assertTrue(key("2024-9").compareTo(key("2024-10")) < 0);
+        assertTrue(key("A-007").compareTo(key("A-12")) < 0);
+        assertTrue(key("A-7").equals(key("A-007")));
+    }
+
+    @Test
+    public void lastNameOrder_breaksTiesByFirstNameThenCode() throws Exception {
+        List<Student> students = Arrays.asList(
+                new Student("Luis", "Pérez", "l@a.io", "2024-10"),
+                new Student("Ana", "Núñez", "a@a.io", "2024-3"),
+                new Student("Luis", "Perez", "l2@a.io", "2024-9"),
+                new Student("Beto", "Nunez", "b@a.io", "2024-1"),
+                null,
+                new Student("Ana", "Pérez", "a2@a.io", "2024-2"));
+
+        StudentSortIndex index = new StudentSortIndex();
+        index.build(SortOrder.LAST_NAME, students::get, students.size());
+
+        assertArrayEquals(new int[]{3, 1, 5, 2, 0}, index.range(SortOrder.LAST_NAME, 0, 10));
+        assertArrayEquals(new int[]{5, 2}, index.range(SortOrder.LAST_NAME, 2, 2));
+        assertEquals(0, index.range(SortOrder.LAST_NAME, 5, 10).length);
+    }
+
+    @Test
+    public void incrementalAdds_matchFullBuild() throws Exception {
+        Random random = new Random(7);
+        String[] names = {"Ana", "Álvaro", "Ñeco", "Nora", "Oscar", "Zoe", "José"};
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            students.add(new Student(names[random.nextInt(names.length)],
+                    names[random.nextInt(names.length)] + "ez",
+                    "e" + i + "@a.io", "C-" + random.nextInt(500)));
+        }
+
+        // La vista se construye con la primera mitad y recibe el resto de a uno
+        StudentSortIndex incremental = new StudentSortIndex();
+        int half = students.size() / 2;
+        for (SortOrder order : new SortOrder[]{SortOrder.LAST_NAME, SortOrder.FIRST_NAME, SortOrder.CODE}) {
+            incremental.build(order, students::get, half);
+        }
+        for (int i = half; i < students.size(); i++) {
+            incremental.add(students.get(i), i);
+        }
+
+        StudentSortIndex full = new StudentSortIndex();
+        for (SortOrder order : new SortOrder[]{SortOrder.LAST_NAME, SortOrder.FIRST_NAME, SortOrder.CODE}) {
+            full.build(order, students::get, students.size());
+            assertArrayEquals(order.name(), full.range(order, 0, students.size()),
+                    incremental.range(order, 0, students.size()));
+        }
+    }
+
+    @Test
+    public void sortKey_placesNewStudentWhereTheViewInsertsIt() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            students.add(new Student("Nombre", "Apellido" + (i * 7 % 300), "e" + i + "@a.io", "C-" + i));
+        }
+        StudentSortIndex index = new StudentSortIndex();
+        index.build(SortOrder.LAST_NAME, students::get, students.size());
+        int[] before = index.range(SortOrder.LAST_NAME, 0, students.size());
+
+        // Como StudentListActivity: búsqueda binaria por clave sobre la lista ya ordenada
+        Student added = new Student("Nombre", "Apellido42", "nuevo@a.io", "C-1000");
+        String key = StudentSortIndex.sortKey(added, SortOrder.LAST_NAME);
+        int low = 0;
+        int high = before.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (StudentSortIndex.sortKey(students.get(before[mid]), SortOrder.LAST_NAME).compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        index.add(added, students.size());
+
+        assertArrayEquals(new int[]{students.size()}, index.range(SortOrder.LAST_NAME, low, 1));
+    }
+
+    @Test
+    public void repositoryReadSorted_buildsOutsideTheLock_andCatchesUp() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            students.add(new Student("Nombre", "Apellido" + (i * 7 % 3000), "e" + i + "@a.io", "C-" + i));
+        }
+        LockCheckingStore store = new LockCheckingStore(students);
+        StudentRepository repository = new StudentRepository(store);
+        // El índice único se abre antes: el alta no necesita leer
+        assertFalse(repository.containsCode("C-LATE"));
+        store.repository = repository;
+        // Se registra mientras la vista lee el primer lote
+        Student late = new Student("Nombre", "Aaa", "late@a.io", "C-LATE");
+        store.onFirstRead = () -> repository.add(late);
+
+        List<Student> first = repository.readSorted(SortOrder.LAST_NAME, 0, 2);
+
+        assertFalse("Se leyó con el lock del repositorio", store.readUnderLock);
+        assertEquals("C-LATE", first.get(0).getStudentCode());
+        assertEquals("Apellido0", first.get(1).getLastName());
+        assertEquals(3001, repository.readSorted(SortOrder.LAST_NAME, 0, 4000).size());
+    }
+
+    private static String key(String text) {
+        StringBuilder key = new StringBuilder();
+        TextNormalizer.appendSortKey(text, key);
+        return key.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import com.admarchivos.registrodeestudiantes.data.GsonProvider;
+import com.admarchivos.registrodeestudiantes.data.JournalStudentStore;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la exportación de estudiantes a CSV y JSON
+ */
+public class RosterExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StudentRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new StudentRepository(new JournalStudentStore(new File(folder.getRoot(), "students.journal")));
+        repository.add(new Student("Ana", "Pérez", "ana@uni.edu", "A-1"));
+        repository.add(new Student("José María", "De la Fuente", "jose@uni.edu", "B-2"));
+        repository.add(new Student("Carla", "Ruiz", "carla@uni.edu", "C-3"));
+    }
+
+    @After
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    public void csv_roundTripsThroughImporter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = new RosterExporter(repository, 2).export(out, null);
+        assertEquals(3, exported);
+
+        StudentRepository copy = new StudentRepository(new JournalStudentStore(folder.newFile("copy.journal")));
+        ImportReport report = new RosterImporter(copy)
+                .importCsv(new StringReader(out.toString(StandardCharsets.UTF_8.name())), null);
+        assertEquals(0, report.getRejected());
+        assertEquals(3, copy.size());
+        assertEquals("De la Fuente", copy.get(1).getLastName());
+        copy.close();
+    }
+
+    @Test
+    public void csvWriter_quotesOnlyWhenNeeded() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow("simple", "con, coma", "con \"comillas\"", "dos\nlíneas", null);
+        writer.flush();
+        assertEquals("simple,\"con, coma\",\"con \"\"comillas\"\"\",\"dos\nlíneas\",\n", out.toString());
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        assertEquals(Arrays.asList("simple", "con, coma", "con \"comillas\"", "dos\nlíneas", ""), reader.readRow());
+    }
+
+    @Test
+    public void json_isReadableByGson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new RosterExporter(repository).setFormat(RosterExporter.Format.JSON).export(out, null);
+
+        List<Student> students = GsonProvider.get().fromJson(
+                out.toString(StandardCharsets.UTF_8.name()), GsonProvider.STUDENT_LIST_TYPE);
+        assertEquals(3, students.size());
+        assertEquals("José María", students.get(1).getName());
+    }
+
+    @Test
+    public void gzip_andCodeRange() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = new RosterExporter(repository)
+                .setFormat(RosterExporter.Format.JSON)
+                .setGzip(true)
+                .setCodeRange(" b-1", "c-3")
+                .export(out, null);
+        assertEquals(2, exported);
+
+        InputStreamReader reader = new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8);
+        List<Student> students = GsonProvider.get().fromJson(reader, GsonProvider.STUDENT_LIST_TYPE);
+        assertEquals(2, students.size());
+        assertEquals("B-2", students.get(0).getStudentCode());
+        assertEquals("C-3", students.get(1).getStudentCode());
+    }
+
+    @Test
+    public void codeRange_comparesNumbersByValue() throws IOException {
+        for (String code : new String[]{"C-9", "C-10", "C-11", "C-100", "c-2"}) {
+            repository.add(new Student("Nombre", "Apellido", code.toLowerCase() + "@uni.edu", code));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = new RosterExporter(repository)
+                .setFormat(RosterExporter.Format.JSON)
+                .setCodeRange("C-3", "C-10")
+                .export(out, null);
+
+        // Como texto "C-10" < "C-3" y el rango quedaría vacío; "C-100" no entra
+        List<Student> students = GsonProvider.get().fromJson(out.toString("UTF-8"), GsonProvider.STUDENT_LIST_TYPE);
+        assertEquals(3, exported);
+        assertEquals("C-3", students.get(0).getStudentCode());
+        assertEquals("C-9", students.get(1).getStudentCode());
+        assertEquals("C-10", students.get(2).getStudentCode());
+    }
+}
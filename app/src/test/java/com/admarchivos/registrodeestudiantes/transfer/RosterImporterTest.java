@@ -0,0 +1,189 @@
+package com.admarchivos.registrodeestudiantes.transfer;
+
+import com.admarchivos.registrodeestudiantes.data.JournalStudentStore;
+import com.admarchivos.registrodeestudiantes.data.StudentRepository;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la importación de estudiantes desde CSV
+ */
+public class RosterImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StudentRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new StudentRepository(new JournalStudentStore(new File(folder.getRoot(), "students.journal")));
+    }
+
+    @After
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    public void header_mapsColumnsInAnyOrder() throws IOException {
+        String csv = "Código;Email;Apellido;Nombre\n"
+                + "A-1;ana@uni.edu;Pérez;Ana\n"
+                + "B-2;\"beto@uni.edu\";\"Gómez\";Beto\n";
+
+        ImportReport report = new RosterImporter(repository).importCsv(new StringReader(csv), null);
+
+        assertEquals(2, report.getRowsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getRejected());
+        Student first = repository.get(0);
+        assertEquals("Ana", first.getName());
+        assertEquals("Pérez", first.getLastName());
+        assertEquals("ana@uni.edu", first.getEmail());
+        assertEquals("A-1", first.getStudentCode());
+    }
+
+    @Test
+    public void withoutHeader_firstRowIsData() throws IOException {
+        String csv = "Ana,Pérez,ana@uni.edu,A-1\n";
+
+        ImportReport report = new RosterImporter(repository).importCsv(new StringReader(csv), null);
+
+        assertEquals(1, report.getImported());
+        assertEquals("A-1", repository.get(0).getStudentCode());
+    }
+
+    @Test
+    public void invalidAndDuplicateRows_areReportedWithLineNumbers() throws IOException {
+        repository.add(new Student("Ya", "Existe", "ya@uni.edu", "OLD-1"));
+        String csv = "nombre,apellido,email,codigo\n"
+                + "Ana,Pérez,ana@uni.edu,A-1\n"
+                + "Ana2,Pérez,ana2@uni.edu,A-2\n"
+                + "Beto,Gómez,no-es-email,B-1\n"
+                + "Carla,Ruiz,carla@uni.edu,old-1\n"
+                + "\n"
+                + "Dora,Sosa,ANA@uni.edu,D-1\n"
+                + "Eva,Luna,eva@uni.edu,A-1\n"
+                + "Fede,Paz,fede@uni.edu\n";
+
+        ImportReport report = new RosterImporter(repository, 2).importCsv(new StringReader(csv), null);
+
+        assertEquals(7, report.getRowsRead());
+        assertEquals(1, report.getImported());
+        assertEquals(6, report.getRejected());
+        List<Integer> lines = new ArrayList<>();
+        for (ImportReport.RowError error : report.getErrors()) {
+            lines.add(error.getLine());
+        }
+        assertTrue(lines.contains(3));
+        assertTrue(lines.contains(4));
+        assertTrue(lines.contains(5));
+        assertTrue(lines.contains(7));
+        assertTrue(lines.contains(8));
+        assertTrue(lines.contains(9));
+        assertEquals(2, repository.size());
+    }
+
+    @Test
+    public void progress_isReportedOncePerBatch() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            csv.append("Nombre,Apellido,e").append(i).append("@uni.edu,C-").append(i).append('\n');
+        }
+        List<Integer> progress = new ArrayList<>();
+
+        ImportReport report = new RosterImporter(repository, 10)
+                .importCsv(new StringReader(csv.toString()), (rowsRead, imported) -> progress.add(imported));
+
+        assertEquals(25, report.getImported());
+        assertEquals(3, progress.size());
+        assertEquals(Integer.valueOf(10), progress.get(0));
+        assertEquals(Integer.valueOf(25), progress.get(2));
+        assertEquals(25, repository.size());
+    }
+
+    @Test
+    public void largeFile_keepsAtMostTwoBatchesInMemory() throws Exception {
+        int rows = 100_000;
+        int batchSize = 1000;
+        GeneratedCsv csv = new GeneratedCsv(rows);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        List<Future<?>> submitted = new ArrayList<>();
+        boolean[] overlapped = new boolean[1];
+        int[] maxRowsAhead = new int[1];
+        int[] committedRows = new int[1];
+
+        RosterImporter importer = new RosterImporter(repository, batchSize, task -> {
+            // El lote anterior ya debe estar guardado
+            overlapped[0] |= !submitted.isEmpty() && !submitted.get(submitted.size() - 1).isDone();
+            submitted.add((Future<?>) task);
+            // Filas leídas del archivo que todavía no están guardadas
+            maxRowsAhead[0] = Math.max(maxRowsAhead[0], csv.generated - committedRows[0]);
+            writer.execute(task);
+        });
+        ImportReport report = importer.importCsv(csv, (rowsRead, imported) -> committedRows[0] = imported);
+        writer.shutdown();
+        assertTrue(writer.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(rows, report.getImported());
+        assertEquals(rows, repository.size());
+        assertEquals("C-99999", repository.get(rows - 1).getStudentCode());
+        // Un lote escribiéndose a la vez y, como mucho, otro armándose (más el búfer del lector)
+        assertEquals(rows / batchSize, submitted.size());
+        assertFalse(overlapped[0]);
+        assertTrue("Filas pendientes: " + maxRowsAhead[0], maxRowsAhead[0] <= 2 * batchSize + GeneratedCsv.SLACK_ROWS);
+    }
+
+    /**
+     * CSV que se genera a medida que se lee, sin existir completo en memoria
+     */
+    private static final class GeneratedCsv extends Reader {
+        // Filas que el lector CSV puede tener adelantadas en su búfer
+        static final int SLACK_ROWS = 1000;
+
+        private final int rows;
+        private String current = "";
+        private int offset;
+        volatile int generated;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            if (offset == current.length()) {
+                if (generated == rows) {
+                    return -1;
+                }
+                int i = generated++;
+                current = "Nombre,Apellido,alumno" + i + "@uni.edu,C-" + i + "\n";
+                offset = 0;
+            }
+            int count = Math.min(len, current.length() - offset);
+            current.getChars(offset, offset + count, buffer, off);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
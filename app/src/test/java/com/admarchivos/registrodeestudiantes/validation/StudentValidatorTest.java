@@ -0,0 +1,40 @@
+package com.admarchivos.registrodeestudiantes.validation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que los validadores escritos a mano aceptan exactamente lo mismo
+ * que las expresiones regulares que usaba RegisterActivity
+ */
+public class StudentValidatorTest {
+
+    private static final String NAME_REGEX = "^[a-zA-ZáéíóúÁÉÍÓÚñÑüÜ\\s]+$";
+    private static final String EMAIL_REGEX = "[a-zA-Z0-9._-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,4}";
+
+    private static final String[] NAMES = {
+            "", " ", "José", "María José", "Ñandú", "Güemes", "O'Brien", "Ana2",
+            "Ana-María", "Zoë", "Ça", "\tLuis\n", "ÁÉÍÓÚ áéíóú", "Jean-Luc", "À"
+    };
+
+    private static final String[] EMAILS = {
+            "", "a@b.co", "a@b.com", "a@b.info", "a@b.museum", "a@b.c", "@b.com",
+            "a@.com", "a@b", "a@b.c0m", "a.b_c-d@e-f.g.com", "a@b@c.com", "á@b.com",
+            "a@b..com", "a@-.com", "a b@c.com", "a@b.com ", "a@b.COM", ".@..io"
+    };
+
+    @Test
+    public void isValidName_matchesRegex() {
+        for (String name : NAMES) {
+            assertEquals(name, name.matches(NAME_REGEX), StudentValidator.isValidName(name));
+        }
+    }
+
+    @Test
+    public void isValidEmail_matchesRegex() {
+        for (String email : EMAILS) {
+            assertEquals(email, email.matches(EMAIL_REGEX), StudentValidator.isValidEmail(email));
+        }
+    }
+}
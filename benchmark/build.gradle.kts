@@ -0,0 +1,50 @@
+// Benchmarks JMH de los caminos críticos, en la JVM (sin emulador ni dispositivo)
+//
+//   ./gradlew :benchmark:jmh
+//   ./gradlew :benchmark:jmh -PjmhIncludes=Validator
+//
+// Los resultados quedan en build/results/jmh/results.json para comparar entre commits.
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// La app es un módulo Android, así que aquí se compilan directamente sus
+// clases que no dependen del framework
+val appSources = "../app/src/main/java"
+val appPackage = "com/admarchivos/registrodeestudiantes"
+
+sourceSets {
+    main {
+        java {
+            srcDir(appSources)
+            include("$appPackage/models/**")
+            include("$appPackage/validation/StudentValidator.java")
+            include("$appPackage/search/**")
+            include("$appPackage/data/**")
+            exclude("$appPackage/data/IoScheduler.java")
+            exclude("$appPackage/data/StudentWriteBatcher.java")
+        }
+    }
+}
+
+dependencies {
+    implementation("com.google.code.gson:gson:2.10.1")
+    // Solo para compilar las firmas que reciben Context; los benchmarks no lo usan
+    compileOnly("com.google.android:android:4.1.1.4")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
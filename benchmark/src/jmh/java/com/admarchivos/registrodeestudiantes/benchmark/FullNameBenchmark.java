@@ -0,0 +1,47 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Armado de textos de cada fila: Student.getFullName() y la etiqueta del código
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FullNameBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = Rosters.generate(size);
+    }
+
+    @Benchmark
+    public void fullName(Blackhole blackhole) {
+        for (int i = 0; i < students.size(); i++) {
+            blackhole.consume(students.get(i).getFullName());
+        }
+    }
+
+    @Benchmark
+    public void codeLabel(Blackhole blackhole) {
+        for (int i = 0; i < students.size(); i++) {
+            blackhole.consume("Código: " + students.get(i).getStudentCode());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.data.GsonProvider;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ciclo de guardado/carga de "students_list": toda la lista como un solo JSON
+ * Compara el camino original (Gson y TypeToken nuevos en cada operación, por
+ * reflexión) con el Gson compartido y {@code StudentTypeAdapter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonRosterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private List<Student> students;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        students = Rosters.generate(size);
+        json = GsonProvider.get().toJson(students, GsonProvider.STUDENT_LIST_TYPE);
+    }
+
+    @Benchmark
+    public String saveReflective() {
+        return new Gson().toJson(students);
+    }
+
+    @Benchmark
+    public List<Student> loadReflective() {
+        Type type = new TypeToken<List<Student>>(){}.getType();
+        return new Gson().fromJson(json, type);
+    }
+
+    @Benchmark
+    public String saveShared() {
+        return GsonProvider.get().toJson(students, GsonProvider.STUDENT_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Student> loadShared() {
+        return GsonProvider.get().fromJson(json, GsonProvider.STUDENT_LIST_TYPE);
+    }
+}
@@ -0,0 +1,35 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listas de estudiantes sintéticas para los benchmarks
+ * Usa apellidos y dominios repetidos y nombres con tildes, como una lista real.
+ */
+final class Rosters {
+
+    private static final String[] NAMES = {"José", "María", "Ana", "Lucía", "Martín", "Ñandú", "Sofía", "Tomás"};
+    private static final String[] LAST_NAMES = {"González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Pérez", "Núñez"};
+    private static final String[] DOMAINS = {"uni.edu.ar", "gmail.com", "hotmail.com"};
+
+    private Rosters() {
+    }
+
+    static List<Student> generate(int size) {
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+
+    static Student student(int i) {
+        return new Student(
+                NAMES[i % NAMES.length] + " " + NAMES[(i / 8) % NAMES.length],
+                LAST_NAMES[i % LAST_NAMES.length] + " " + LAST_NAMES[(i / 64) % LAST_NAMES.length],
+                "alumno" + i + "@" + DOMAINS[i % DOMAINS.length],
+                "2024-" + i);
+    }
+}
@@ -0,0 +1,104 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.data.BinaryRosterReader;
+import com.admarchivos.registrodeestudiantes.data.JournalStudentStore;
+import com.admarchivos.registrodeestudiantes.data.RosterConverter;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Persistencia actual: journal JSON por líneas y formato binario
+ * - Carga completa y lectura de una página (la que pide la lista al abrirse)
+ * - Registro de un estudiante (un append con flush)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StoreBenchmark {
+
+    // Igual que StudentPageLoader.DEFAULT_PAGE_SIZE
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private File directory;
+    private JournalStudentStore journal;
+    private BinaryRosterReader binary;
+    private JournalStudentStore appendJournal;
+    private int appended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("student-bench").toFile();
+        journal = new JournalStudentStore(new File(directory, "students.journal"));
+        journal.appendAll(Rosters.generate(size));
+        File binaryFile = new File(directory, "students.roster");
+        RosterConverter.storeToBinary(journal, binaryFile);
+        binary = new BinaryRosterReader(binaryFile);
+    }
+
+    @Setup(Level.Iteration)
+    public void openAppendJournal() throws IOException {
+        File file = new File(directory, "append.journal");
+        file.delete();
+        appendJournal = new JournalStudentStore(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAppendJournal() {
+        appendJournal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        journal.close();
+        binary.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public List<Student> journalLoadAll() throws IOException {
+        return journal.loadAll();
+    }
+
+    @Benchmark
+    public List<Student> journalNewestPage() throws IOException {
+        return journal.read(size - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Student> binaryLoadAll() {
+        return binary.loadAll();
+    }
+
+    @Benchmark
+    public List<Student> binaryNewestPage() {
+        return binary.read(size - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void journalAppend() throws IOException {
+        appendJournal.append(Rosters.student(appended++));
+    }
+}
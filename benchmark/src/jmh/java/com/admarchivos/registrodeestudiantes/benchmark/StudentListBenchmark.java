@@ -0,0 +1,79 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.data.CompactRoster;
+import com.admarchivos.registrodeestudiantes.models.Student;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Preparación de la lista que recibe el adapter en StudentListActivity
+ * - Original: invertir la lista cargada y copiarla a la lista del adapter
+ * - Actual: vista fija de CompactRoster, sin copiar estudiantes
+ * - Enlace: recorrer las filas visibles como en onBindViewHolder
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentListBenchmark {
+
+    // Filas que caben aproximadamente en una pantalla
+    private static final int VISIBLE_ROWS = 12;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Student> loaded;
+    private CompactRoster roster;
+
+    @Setup
+    public void setUp() {
+        loaded = Rosters.generate(size);
+        roster = new CompactRoster();
+        roster.addAll(loaded);
+    }
+
+    @Benchmark
+    public List<Student> reverseAndCopy() {
+        List<Student> reversed = new ArrayList<>(loaded);
+        Collections.reverse(reversed);
+        List<Student> adapterList = new ArrayList<>();
+        adapterList.addAll(reversed);
+        return adapterList;
+    }
+
+    @Benchmark
+    public List<Student> copyForSubmit() {
+        return new ArrayList<>(loaded);
+    }
+
+    @Benchmark
+    public List<Student> compactSnapshot() {
+        return roster.snapshot();
+    }
+
+    @Benchmark
+    public void bindVisibleFromList(Blackhole blackhole) {
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(loaded.get(i).getFullName());
+        }
+    }
+
+    @Benchmark
+    public void bindVisibleFromCompact(Blackhole blackhole) {
+        List<Student> snapshot = roster.snapshot();
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(snapshot.get(i).getFullName());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.admarchivos.registrodeestudiantes.benchmark;
+
+import com.admarchivos.registrodeestudiantes.models.Student;
+import com.admarchivos.registrodeestudiantes.validation.StudentValidator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validaciones de RegisterActivity aplicadas a una lista completa (como en una importación)
+ * Compara las expresiones regulares originales con {@link StudentValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidatorBenchmark {
+
+    // Expresiones que usaba RegisterActivity con String.matches
+    private static final String NAME_REGEX = "^[a-zA-ZáéíóúÁÉÍÓÚñÑüÜ\\s]+$";
+    private static final String EMAIL_REGEX = "[a-zA-Z0-9._-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,4}";
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = Rosters.generate(size);
+    }
+
+    @Benchmark
+    public int regexValidation() {
+        int valid = 0;
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            if (student.getName().matches(NAME_REGEX)
+                    && student.getLastName().matches(NAME_REGEX)
+                    && student.getEmail().matches(EMAIL_REGEX)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int validatorValidation() {
+        int valid = 0;
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            if (StudentValidator.isValidName(student.getName())
+                    && StudentValidator.isValidName(student.getLastName())
+                    && StudentValidator.isValidEmail(student.getEmail())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Mide el tiempo hasta el primer cuadro de MainActivity en inicio en frío,
+# con la carga síncrona anterior de la animación y con la carga asíncrona.
+#
+# Requiere la app debug instalada y un dispositivo conectado:
+#   ./gradlew :app:installDebug
+#   ./benchmark/startup-timing.sh [repeticiones] > startup.csv
+#
+# Salida CSV: modo,repeticion,total_ms (am start -W),primer_cuadro_ms (StartupTiming)
+set -e
+
+PACKAGE=com.admarchivos.registrodeestudiantes
+ACTIVITY=$PACKAGE/.activities.MainActivity
+RUNS=${1:-10}
+
+echo "modo,repeticion,total_ms,primer_cuadro_ms"
+for mode in sync async; do
+    sync_extra=false
+    [ "$mode" = sync ] && sync_extra=true
+    run=1
+    while [ "$run" -le "$RUNS" ]; do
+        adb shell am force-stop "$PACKAGE"
+        adb logcat -c
+        total=$(adb shell am start -W -n "$ACTIVITY" --ez sync_animation "$sync_extra" \
+            | tr -d '\r' | sed -n 's/^TotalTime: //p')
+        # Dar tiempo a que se dibuje y se escriba el registro
+        sleep 2
+        first_frame=$(adb logcat -d -s StartupTiming:I | tr -d '\r' \
+            | sed -n 's/.*primer_cuadro_ms=\([0-9]*\).*/\1/p' | tail -n 1)
+        echo "$mode,$run,$total,$first_frame"
+        run=$((run + 1))
+    done
+done
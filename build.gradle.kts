@@ -1,6 +1,7 @@
 plugins {
     id("com.android.application") version "8.7.2" apply false
     id("org.jetbrains.kotlin.android") version "1.8.22" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
 tasks.register("clean", Delete::class) {